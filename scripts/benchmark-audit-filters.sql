@@ -0,0 +1,100 @@
+-- Audit Filter Benchmark
+-- ========================================================================
+-- Compares the old catch-all filter query ("(:x IS NULL OR a.x = :x)" for every
+-- parameter) with the predicate-only queries now emitted by
+-- EmployeeAuditTrailSpecifications, on a seeded 10M-row audit table.
+--
+-- Run against a scratch copy of the database after the application has started
+-- once (so the table, partitions and indexes exist):
+--   psql -d employee_management_bench -f scripts/benchmark-audit-filters.sql
+--
+-- Seeding takes several minutes and needs ~4 GB of disk. Record the "Execution Time"
+-- lines of each pair; plans should show an Index Scan on the composite index for the
+-- new form and a Seq Scan / generic plan for the catch-all form.
+
+\timing on
+
+-- 1. Seed 10M events spread over the last 12 months across the existing users
+INSERT INTO employee_audit_trail (
+    employee_id, performed_by, action, category, description, performed_at,
+    severity, risk_level, approval_required, approval_status,
+    retention_period_days, is_sensitive_data, gdpr_relevant, created_at)
+SELECT
+    u.ids[1 + (g % array_length(u.ids, 1))],
+    u.ids[1 + ((g / 7) % array_length(u.ids, 1))],
+    (ARRAY['EMPLOYEE_UPDATED', 'PERSONAL_INFO_UPDATED', 'CONTACT_INFO_UPDATED',
+           'STATUS_CHANGED', 'LOGIN_SUCCESSFUL', 'DOCUMENT_ACCESSED'])[1 + g % 6],
+    (ARRAY['EMPLOYEE_MANAGEMENT', 'PERSONAL_DATA', 'EMPLOYMENT_STATUS',
+           'SECURITY', 'COMPLIANCE'])[1 + g % 5],
+    'Benchmark event ' || g,
+    NOW() - (g % 525600) * INTERVAL '1 minute',
+    (ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[1 + g % 4],
+    (ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[1 + (g / 3) % 4],
+    false, 'NOT_REQUIRED', 2555, false, false, NOW()
+FROM generate_series(1, 10000000) AS g,
+     (SELECT array_agg(id) AS ids FROM users) AS u;
+
+ANALYZE employee_audit_trail;
+
+-- Pick a concrete employee and performer for the filters below
+SELECT MIN(id) AS bench_user FROM users \gset
+
+-- 2. Employee + date range (idx_audit_employee_performed_at)
+PREPARE catch_all_employee(bigint, timestamp, timestamp) AS
+SELECT * FROM employee_audit_trail a
+WHERE ($1 IS NULL OR a.employee_id = $1)
+  AND (NULL::bigint IS NULL OR a.performed_by = NULL::bigint)
+  AND (NULL::varchar IS NULL OR a.category = NULL::varchar)
+  AND ($2 IS NULL OR a.performed_at >= $2)
+  AND ($3 IS NULL OR a.performed_at <= $3)
+ORDER BY a.performed_at DESC LIMIT 20;
+
+-- Force the generic plan Postgres settles on after repeated executions
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE catch_all_employee(:bench_user, NOW() - INTERVAL '30 days', NOW());
+RESET plan_cache_mode;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM employee_audit_trail a
+WHERE a.employee_id = :bench_user
+  AND a.performed_at >= NOW() - INTERVAL '30 days' AND a.performed_at <= NOW()
+ORDER BY a.performed_at DESC LIMIT 20;
+
+-- 3. Performer + date range (idx_audit_performer_performed_at)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM employee_audit_trail a
+WHERE (NULL::bigint IS NULL OR a.employee_id = NULL::bigint)
+  AND (:bench_user IS NULL OR a.performed_by = :bench_user)
+  AND (NOW() - INTERVAL '30 days' IS NULL OR a.performed_at >= NOW() - INTERVAL '30 days')
+ORDER BY a.performed_at DESC LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM employee_audit_trail a
+WHERE a.performed_by = :bench_user
+  AND a.performed_at >= NOW() - INTERVAL '30 days'
+ORDER BY a.performed_at DESC LIMIT 20;
+
+-- 4. Category + date range (idx_audit_category_performed_at)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM employee_audit_trail a
+WHERE ('SECURITY' IS NULL OR a.category = 'SECURITY')
+  AND (NULL::bigint IS NULL OR a.employee_id = NULL::bigint)
+  AND (NOW() - INTERVAL '7 days' IS NULL OR a.performed_at >= NOW() - INTERVAL '7 days')
+ORDER BY a.performed_at DESC LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM employee_audit_trail a
+WHERE a.category = 'SECURITY'
+  AND a.performed_at >= NOW() - INTERVAL '7 days'
+ORDER BY a.performed_at DESC LIMIT 20;
+
+-- 5. Page count query for the same filters
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM employee_audit_trail a
+WHERE a.employee_id = :bench_user
+  AND a.performed_at >= NOW() - INTERVAL '30 days';
+
+DEALLOCATE catch_all_employee;
+
+-- 6. Clean up the seeded rows (or drop the scratch database)
+-- DELETE FROM employee_audit_trail WHERE description LIKE 'Benchmark event %';
@@ -6,11 +6,14 @@ import com.blackdot.ems.shared.entity.Question;
 import com.blackdot.ems.shared.entity.Quarter;
 import com.blackdot.ems.shared.util.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -73,13 +76,29 @@ public class AssessmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(question);
     }
     
-    // Get assessment questions (for taking assessment)
+    // Get assessment questions with correct answers (for editing, HR and ADMIN only)
     @GetMapping("/{id}/questions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public ResponseEntity<List<Question>> getAssessmentQuestions(@PathVariable Long id) {
         List<Question> questions = assessmentService.getAssessmentQuestions(id);
         return ResponseEntity.ok(questions);
     }
     
+    // Get assessment questions without correct answers (for taking assessment), revalidated by ETag
+    @GetMapping("/{id}/questions/delivery")
+    public ResponseEntity<byte[]> getQuestionPayload(@PathVariable Long id, WebRequest webRequest) {
+        QuestionPayload payload = assessmentService.getQuestionPayload(id);
+        if (webRequest.checkNotModified(payload.getEtag())) {
+            // 304 with the ETag has already been prepared
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(payload.getEtag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.getJson());
+    }
+    
     // Delete question (HR and ADMIN only)
     @DeleteMapping("/questions/{questionId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
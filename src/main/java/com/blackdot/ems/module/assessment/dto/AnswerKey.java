@@ -0,0 +1,53 @@
+package com.blackdot.ems.module.assessment.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answer Key
+ * Immutable grading data of one assessment at one content version: for every question,
+ * in question order, its points and the ids of its options and of its correct options
+ */
+public final class AnswerKey {
+
+    /**
+     * Grading data of one question
+     *
+     * @param optionBased whether answers are graded by selected option (multiple choice, true/false)
+     */
+    public record QuestionKey(int points, boolean optionBased, Set<Long> optionIds, Set<Long> correctOptionIds) {
+
+        public boolean hasOption(Long optionId) {
+            return optionId != null && optionIds.contains(optionId);
+        }
+
+        public boolean isCorrect(Long optionId) {
+            return optionId != null && correctOptionIds.contains(optionId);
+        }
+    }
+
+    private final Long assessmentId;
+    private final long version;
+    private final Map<Long, QuestionKey> questions;
+    private final int totalPoints;
+
+    public AnswerKey(Long assessmentId, long version, LinkedHashMap<Long, QuestionKey> questions) {
+        this.assessmentId = assessmentId;
+        this.version = version;
+        this.questions = Collections.unmodifiableMap(new LinkedHashMap<>(questions));
+        this.totalPoints = questions.values().stream().mapToInt(QuestionKey::points).sum();
+    }
+
+    public Long getAssessmentId() { return assessmentId; }
+
+    public long getVersion() { return version; }
+
+    /**
+     * Question keys by question id, in question order
+     */
+    public Map<Long, QuestionKey> getQuestions() { return questions; }
+
+    public int getTotalPoints() { return totalPoints; }
+}
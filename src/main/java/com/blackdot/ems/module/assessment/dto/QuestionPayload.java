@@ -0,0 +1,35 @@
+package com.blackdot.ems.module.assessment.dto;
+
+/**
+ * Question Payload
+ * Questions of one assessment at one content version, serialized once for delivery to
+ * assessment takers (options without their correct flag), with the ETag it is served under
+ */
+public final class QuestionPayload {
+
+    private final Long assessmentId;
+    private final long version;
+    private final byte[] json;
+
+    public QuestionPayload(Long assessmentId, long version, byte[] json) {
+        this.assessmentId = assessmentId;
+        this.version = version;
+        this.json = json;
+    }
+
+    /**
+     * ETag of an assessment's questions at a content version
+     */
+    public static String etag(Long assessmentId, long version) {
+        return "\"assessment-" + assessmentId + "-v" + version + "\"";
+    }
+
+    public Long getAssessmentId() { return assessmentId; }
+
+    public long getVersion() { return version; }
+
+    public String getEtag() { return etag(assessmentId, version); }
+
+    // Shared, never modified after construction
+    public byte[] getJson() { return json; }
+}
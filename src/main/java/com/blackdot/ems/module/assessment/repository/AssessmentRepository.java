@@ -2,6 +2,9 @@ package com.blackdot.ems.module.assessment.repository;
 
 import com.blackdot.ems.shared.entity.Assessment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,8 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     List<Assessment> findByIsActiveTrue();
     
     List<Assessment> findByIsActiveTrueOrderByCreatedAtDesc();
+    
+    @Modifying
+    @Query("UPDATE Assessment a SET a.contentVersion = COALESCE(a.contentVersion, 0) + 1 WHERE a.id = :assessmentId")
+    int incrementContentVersion(@Param("assessmentId") Long assessmentId);
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ public interface AssessmentResultRepository extends JpaRepository<AssessmentResu
     
     List<AssessmentResult> findByAssessmentIdOrderByCreatedAtDesc(Long assessmentId);
     
+    boolean existsByUserIdAndAssessmentId(Long userId, Long assessmentId);
+    
     Optional<AssessmentResult> findByUserIdAndAssessmentIdAndQuarterAndYear(
             Long userId, Long assessmentId, Quarter quarter, Integer year);
     
@@ -34,13 +36,4 @@ public interface AssessmentResultRepository extends JpaRepository<AssessmentResu
     
     @Query("SELECT COUNT(ar) FROM AssessmentResult ar WHERE ar.quarter = :quarter AND ar.year = :year")
     Long countTotalByQuarterAndYear(@Param("quarter") Quarter quarter, @Param("year") Integer year);
-    
-    @Query("SELECT COUNT(DISTINCT ar.user.id) FROM AssessmentResult ar WHERE ar.assessment.id = :assessmentId")
-    Long countDistinctUsersByAssessmentId(@Param("assessmentId") Long assessmentId);
-    
-    @Query("SELECT COUNT(ar) FROM AssessmentResult ar WHERE ar.assessment.id = :assessmentId AND ar.completedAt IS NULL")
-    Long countPendingByAssessmentId(@Param("assessmentId") Long assessmentId);
-    
-    @Query("SELECT COUNT(ar) FROM AssessmentResult ar WHERE ar.assessment.id = :assessmentId AND ar.completedAt IS NOT NULL")
-    Long countCompletedByAssessmentId(@Param("assessmentId") Long assessmentId);
 }
\ No newline at end of file
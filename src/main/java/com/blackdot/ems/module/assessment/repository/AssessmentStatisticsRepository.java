@@ -0,0 +1,12 @@
+package com.blackdot.ems.module.assessment.repository;
+
+import com.blackdot.ems.shared.entity.AssessmentStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-assessment statistics counters
+ */
+@Repository
+public interface AssessmentStatisticsRepository extends JpaRepository<AssessmentStatistics, Long> {
+}
@@ -13,6 +13,9 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     
     List<Question> findByAssessmentIdOrderByCreatedAtAsc(Long assessmentId);
     
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.options WHERE q.assessment.id = :assessmentId ORDER BY q.createdAt ASC")
+    List<Question> findWithOptionsByAssessmentId(@Param("assessmentId") Long assessmentId);
+    
     @Query("SELECT COUNT(q) FROM Question q WHERE q.assessment.id = :assessmentId")
     Long countByAssessmentId(@Param("assessmentId") Long assessmentId);
     
@@ -0,0 +1,128 @@
+package com.blackdot.ems.module.assessment.scheduler;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Assessment Statistics Reconciliation Job
+ * Recounts each assessment's questions and results and corrects its assessment_statistics
+ * row where the running counters have drifted. Each assessment is checked in its own short
+ * transaction that locks the statistics row before counting, so increments from concurrent
+ * starts and submits either are already in the recount or are applied on top of it.
+ */
+@Component
+public class AssessmentStatisticsReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssessmentStatisticsReconciliationJob.class);
+
+    private static final String ENSURE_ROWS_SQL = "INSERT INTO assessment_statistics " +
+            "(assessment_id, question_count, total_attempts, passed_attempts, completed_attempts, pending_attempts, " +
+            " employees_taken, updated_at) " +
+            "SELECT a.id, 0, 0, 0, 0, 0, 0, now() FROM assessments a ON CONFLICT (assessment_id) DO NOTHING";
+
+    private static final String LOCK_SQL = "SELECT assessment_id FROM assessment_statistics WHERE assessment_id = ? FOR UPDATE";
+
+    // Only rows that differ from the recount are written
+    private static final String RECONCILE_SQL = "UPDATE assessment_statistics s SET " +
+            "question_count = c.question_count, total_attempts = c.total_attempts, passed_attempts = c.passed_attempts, " +
+            "completed_attempts = c.completed_attempts, pending_attempts = c.pending_attempts, " +
+            "employees_taken = c.employees_taken, updated_at = now() " +
+            "FROM (SELECT (SELECT COUNT(*) FROM questions q WHERE q.assessment_id = ?) AS question_count," +
+            "             COUNT(*) AS total_attempts," +
+            "             COUNT(*) FILTER (WHERE r.passed) AS passed_attempts," +
+            "             COUNT(r.completed_at) AS completed_attempts," +
+            "             COUNT(*) FILTER (WHERE r.completed_at IS NULL) AS pending_attempts," +
+            "             COUNT(DISTINCT r.user_id) AS employees_taken" +
+            "        FROM assessment_results r WHERE r.assessment_id = ?) c " +
+            "WHERE s.assessment_id = ? AND (s.question_count, s.total_attempts, s.passed_attempts, s.completed_attempts, " +
+            "      s.pending_attempts, s.employees_taken) IS DISTINCT FROM (c.question_count, c.total_attempts, " +
+            "      c.passed_attempts, c.completed_attempts, c.pending_attempts, c.employees_taken)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.assessment.statistics.reconcile-enabled:true}")
+    private boolean enabled;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Fill the statistics once when they are introduced on existing assessments
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            Boolean hasAssessments = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM assessments)", Boolean.class);
+            Boolean hasStatistics = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM assessment_statistics)", Boolean.class);
+            if (Boolean.TRUE.equals(hasAssessments) && !Boolean.TRUE.equals(hasStatistics)) {
+                logger.info("Assessment statistics are empty, backfilling from assessment_results");
+                reconcile();
+            }
+        } catch (Exception e) {
+            // The scheduled run fills them later; never block startup on it
+            logger.error("Error occurred while backfilling assessment statistics", e);
+        }
+    }
+
+    // Run daily at 3:15 AM
+    @Scheduled(cron = "${app.assessment.statistics.reconcile-cron:0 15 3 * * ?}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Error occurred while reconciling assessment statistics", e);
+        }
+    }
+
+    /**
+     * Recount every assessment and correct drifted rows. Returns the number of rows corrected.
+     */
+    public synchronized int reconcile() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(ENSURE_ROWS_SQL));
+        List<Long> assessmentIds = jdbcTemplate.queryForList(
+                "SELECT assessment_id FROM assessment_statistics ORDER BY assessment_id", Long.class);
+
+        int corrected = 0;
+        for (Long assessmentId : assessmentIds) {
+            Integer updated = transactionTemplate.execute(status -> {
+                // Separate statement, so the recount's snapshot is taken after the lock is held
+                jdbcTemplate.queryForList(LOCK_SQL, Long.class, assessmentId);
+                return jdbcTemplate.update(RECONCILE_SQL, assessmentId, assessmentId, assessmentId);
+            });
+            if (updated != null && updated > 0) {
+                corrected++;
+                logger.warn("Corrected drifted statistics for assessment {}", assessmentId);
+            }
+        }
+
+        logger.info("Reconciled statistics of {} assessments, {} corrected", assessmentIds.size(), corrected);
+        return corrected;
+    }
+}
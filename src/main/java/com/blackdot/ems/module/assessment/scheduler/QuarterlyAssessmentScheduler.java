@@ -4,7 +4,9 @@ import com.blackdot.ems.shared.entity.*;
 import com.blackdot.ems.module.assessment.repository.AssessmentRepository;
 import com.blackdot.ems.module.assessment.repository.AssessmentResultRepository;
 import com.blackdot.ems.module.assessment.repository.QuestionRepository;
+import com.blackdot.ems.module.assessment.service.AssessmentStatisticsService;
 import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.service.EmployeeTimelineService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +15,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -34,6 +38,12 @@ public class QuarterlyAssessmentScheduler {
     @Autowired
     private QuestionRepository questionRepository;
     
+    @Autowired
+    private AssessmentStatisticsService statisticsService;
+    
+    @Autowired
+    private EmployeeTimelineService timelineService;
+    
     // Run every day at 9:00 AM to check for quarterly assessments
     @Scheduled(cron = "0 0 9 * * ?")
     public void scheduleQuarterlyAssessments() {
@@ -65,6 +75,9 @@ public class QuarterlyAssessmentScheduler {
                                     currentYear);
                     
                     if (existingResult.isEmpty()) {
+                        boolean firstForUser = !assessmentResultRepository
+                                .existsByUserIdAndAssessmentId(dataCapturer.getId(), assessment.getId());
+                        
                         // Create new assessment assignment
                         AssessmentResult newAssignment = new AssessmentResult();
                         newAssignment.setUser(dataCapturer);
@@ -74,6 +87,7 @@ public class QuarterlyAssessmentScheduler {
                         newAssignment.setTotalQuestions(getQuestionCount(assessment.getId()));
                         
                         assessmentResultRepository.save(newAssignment);
+                        statisticsService.recordAttemptCreated(assessment.getId(), firstForUser);
                         assignedCount++;
                         
                         logger.debug("Assigned assessment '{}' to user '{}' for {} {}", 
@@ -146,6 +160,7 @@ public class QuarterlyAssessmentScheduler {
         logger.warn("Found {} incomplete assessments at quarter end", incompleteAssessments.size());
         
         // Mark incomplete assessments as failed
+        Map<Long, Integer> failedByAssessment = new HashMap<>();
         for (AssessmentResult result : incompleteAssessments) {
             result.setCompletedAt(LocalDateTime.now());
             result.setScore(0);
@@ -153,12 +168,15 @@ public class QuarterlyAssessmentScheduler {
             result.setTimeTakenMinutes(0);
             result.setCorrectAnswers(0);
             assessmentResultRepository.save(result);
+            timelineService.recordAssessmentResult(result);
+            failedByAssessment.merge(result.getAssessment().getId(), 1, Integer::sum);
             
             logger.warn("Marked assessment as failed for user '{}' - assessment '{}'", 
                        result.getUser().getUsername(), 
                        result.getAssessment().getTitle());
         }
         
+        statisticsService.recordAttemptsFailed(failedByAssessment);
         logger.info("Quarter finalization completed");
     }
     
@@ -0,0 +1,89 @@
+package com.blackdot.ems.module.assessment.service;
+
+import com.blackdot.ems.module.assessment.dto.AnswerKey;
+import com.blackdot.ems.module.assessment.repository.QuestionRepository;
+import com.blackdot.ems.shared.entity.Assessment;
+import com.blackdot.ems.shared.entity.Question;
+import com.blackdot.ems.shared.entity.QuestionOption;
+import com.blackdot.ems.shared.entity.QuestionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answer Key Cache
+ * Compiles and caches the answer key of each assessment, so grading a submission needs
+ * no question or option queries. Keys are tagged with the assessment's content version;
+ * a key older than the version the caller has loaded is recompiled, so keys stay correct
+ * across application instances, and local copies are dropped after a question change commits.
+ */
+@Service
+public class AnswerKeyCache {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private final Map<Long, AnswerKey> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Answer key of an assessment at (at least) the assessment's loaded content version
+     */
+    public AnswerKey getAnswerKey(Assessment assessment) {
+        long version = assessment.getContentVersion() != null ? assessment.getContentVersion() : 0L;
+        AnswerKey cached = keys.get(assessment.getId());
+        if (cached != null && cached.getVersion() >= version) {
+            return cached;
+        }
+
+        AnswerKey compiled = compile(assessment.getId(), version);
+        // Never replace a key compiled from a newer version
+        keys.merge(assessment.getId(), compiled,
+                (existing, fresh) -> fresh.getVersion() >= existing.getVersion() ? fresh : existing);
+        return compiled;
+    }
+
+    /**
+     * Drop the cached key of an assessment once the current transaction commits
+     */
+    public void evict(Long assessmentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.remove(assessmentId);
+                }
+            });
+        } else {
+            keys.remove(assessmentId);
+        }
+    }
+
+    // Helper methods
+
+    private AnswerKey compile(Long assessmentId, long version) {
+        LinkedHashMap<Long, AnswerKey.QuestionKey> questions = new LinkedHashMap<>();
+        for (Question question : questionRepository.findWithOptionsByAssessmentId(assessmentId)) {
+            Set<Long> optionIds = new HashSet<>();
+            Set<Long> correctOptionIds = new HashSet<>();
+            for (QuestionOption option : question.getOptions()) {
+                optionIds.add(option.getId());
+                if (Boolean.TRUE.equals(option.getIsCorrect())) {
+                    correctOptionIds.add(option.getId());
+                }
+            }
+            boolean optionBased = question.getQuestionType() == QuestionType.MULTIPLE_CHOICE
+                    || question.getQuestionType() == QuestionType.TRUE_FALSE;
+            questions.put(question.getId(), new AnswerKey.QuestionKey(
+                    question.getPoints() != null ? question.getPoints() : 0,
+                    optionBased, Set.copyOf(optionIds), Set.copyOf(correctOptionIds)));
+        }
+        return new AnswerKey(assessmentId, version, questions);
+    }
+}
@@ -4,16 +4,22 @@ import com.blackdot.ems.shared.entity.*;
 import com.blackdot.ems.module.assessment.dto.*;
 import com.blackdot.ems.module.assessment.repository.*;
 import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.service.EmployeeTimelineService;
 import com.blackdot.ems.shared.exception.ResourceNotFoundException;
 import com.blackdot.ems.shared.exception.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,6 +27,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class AssessmentService {
     
+    private static final String INSERT_ANSWER_SQL = "INSERT INTO user_answers " +
+            "(assessment_result_id, question_id, selected_option_id, is_correct, answered_at) VALUES (?, ?, ?, ?, ?)";
+    
     @Autowired
     private AssessmentRepository assessmentRepository;
     
@@ -34,20 +43,37 @@ public class AssessmentService {
     private AssessmentResultRepository assessmentResultRepository;
     
     @Autowired
-    private UserAnswerRepository userAnswerRepository;
+    private AnswerKeyCache answerKeyCache;
+    
+    @Autowired
+    private QuestionPayloadCache questionPayloadCache;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private EmployeeTimelineService timelineService;
+    
+    @Autowired
+    private AssessmentStatisticsService statisticsService;
+    
     public List<AssessmentResponse> getAllAssessments() {
         List<Assessment> assessments = assessmentRepository.findByIsActiveTrueOrderByCreatedAtDesc();
-        return assessments.stream().map(this::convertToResponse).collect(Collectors.toList());
+        Map<Long, AssessmentStatistics> statistics = statisticsService.getStatistics(
+                assessments.stream().map(Assessment::getId).collect(Collectors.toList()));
+        return assessments.stream()
+                .map(assessment -> convertToResponse(assessment,
+                        statistics.getOrDefault(assessment.getId(), new AssessmentStatistics(assessment.getId()))))
+                .collect(Collectors.toList());
     }
     
     public AssessmentResponse getAssessmentById(Long id) {
         Assessment assessment = assessmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assessment", "id", id));
-        return convertToResponse(assessment);
+        return convertToResponse(assessment, statisticsService.getStatistics(id));
     }
     
     public AssessmentResponse createAssessment(CreateAssessmentRequest request) {
@@ -67,7 +93,7 @@ public class AssessmentService {
         }
         
         Assessment savedAssessment = assessmentRepository.save(assessment);
-        return convertToResponse(savedAssessment);
+        return convertToResponse(savedAssessment, new AssessmentStatistics(savedAssessment.getId()));
     }
     
     public AssessmentResponse updateAssessment(Long id, CreateAssessmentRequest request) {
@@ -89,7 +115,7 @@ public class AssessmentService {
         }
         
         Assessment updatedAssessment = assessmentRepository.save(assessment);
-        return convertToResponse(updatedAssessment);
+        return convertToResponse(updatedAssessment, statisticsService.getStatistics(id));
     }
     
     public void deleteAssessment(Long id) {
@@ -120,6 +146,8 @@ public class AssessmentService {
         question.setAssessment(assessment);
         
         Question savedQuestion = questionRepository.save(question);
+        statisticsService.recordQuestionAdded(assessmentId);
+        questionsChanged(assessmentId);
         
         // Add options for multiple choice and true/false questions
         if ((questionType == QuestionType.MULTIPLE_CHOICE || questionType == QuestionType.TRUE_FALSE) 
@@ -145,10 +173,23 @@ public class AssessmentService {
         return questionRepository.findByAssessmentIdOrderByCreatedAtAsc(assessmentId);
     }
     
+    /**
+     * Questions of an assessment as served to takers: serialized once per content version,
+     * without the correct-option flags
+     */
+    @Transactional(readOnly = true)
+    public QuestionPayload getQuestionPayload(Long assessmentId) {
+        Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment", "id", assessmentId));
+        return questionPayloadCache.getPayload(assessment);
+    }
+    
     public void deleteQuestion(Long questionId) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionId));
         questionRepository.delete(question);
+        statisticsService.recordQuestionRemoved(question.getAssessment().getId());
+        questionsChanged(question.getAssessment().getId());
     }
     
     public AssessmentResultResponse startAssessment(Long assessmentId, Long userId) {
@@ -171,6 +212,8 @@ public class AssessmentService {
             throw new BadRequestException("Assessment already completed for this quarter");
         }
         
+        boolean firstForUser = !assessmentResultRepository.existsByUserIdAndAssessmentId(userId, assessmentId);
+        
         // Create new assessment result
         AssessmentResult result = new AssessmentResult();
         result.setUser(user);
@@ -181,6 +224,7 @@ public class AssessmentService {
         result.setTotalQuestions(questionRepository.countByAssessmentId(assessmentId).intValue());
         
         AssessmentResult savedResult = assessmentResultRepository.save(result);
+        statisticsService.recordAttemptCreated(assessmentId, firstForUser);
         return convertToResultResponse(savedResult);
     }
     
@@ -209,47 +253,43 @@ public class AssessmentService {
             throw new BadRequestException("Assessment time limit exceeded");
         }
         
-        // Process answers and calculate score
-        List<Question> questions = questionRepository.findByAssessmentIdOrderByCreatedAtAsc(assessmentId);
+        // Grade in memory against the compiled answer key
+        AnswerKey answerKey = answerKeyCache.getAnswerKey(assessment);
+        Map<Long, TakeAssessmentRequest.AnswerRequest> answers =
+                request.getAnswers() != null ? request.getAnswers() : Map.of();
         int correctAnswers = 0;
-        int totalPoints = 0;
+        int totalPoints = answerKey.getTotalPoints();
         int earnedPoints = 0;
         
-        Set<UserAnswer> userAnswers = new HashSet<>();
+        List<Object[]> answerRows = new ArrayList<>();
+        Timestamp answeredAt = Timestamp.valueOf(LocalDateTime.now());
         
-        for (Question question : questions) {
-            totalPoints += question.getPoints();
-            
-            TakeAssessmentRequest.AnswerRequest answerReq = request.getAnswers().get(question.getId());
+        for (Map.Entry<Long, AnswerKey.QuestionKey> entry : answerKey.getQuestions().entrySet()) {
+            AnswerKey.QuestionKey questionKey = entry.getValue();
+            TakeAssessmentRequest.AnswerRequest answerReq = answers.get(entry.getKey());
             if (answerReq != null) {
-                UserAnswer userAnswer = new UserAnswer();
-                userAnswer.setAssessmentResult(result);
-                userAnswer.setQuestion(question);
-                
+                Long selectedOptionId = null;
                 boolean isCorrect = false;
                 
-                if ((question.getQuestionType() == QuestionType.MULTIPLE_CHOICE || 
-                     question.getQuestionType() == QuestionType.TRUE_FALSE) && 
-                     answerReq.getSelectedOptionId() != null) {
-                    // Handle both MULTIPLE_CHOICE and TRUE_FALSE as option-based questions
-                    QuestionOption selectedOption = questionOptionRepository.findById(answerReq.getSelectedOptionId())
-                            .orElse(null);
-                    if (selectedOption != null && selectedOption.getQuestion().getId().equals(question.getId())) {
-                        userAnswer.setSelectedOption(selectedOption);
-                        isCorrect = selectedOption.getIsCorrect();
-                    }
+                // Handle both MULTIPLE_CHOICE and TRUE_FALSE as option-based questions
+                if (questionKey.optionBased() && questionKey.hasOption(answerReq.getSelectedOptionId())) {
+                    selectedOptionId = answerReq.getSelectedOptionId();
+                    isCorrect = questionKey.isCorrect(selectedOptionId);
                 }
                 
-                userAnswer.setIsCorrect(isCorrect);
-                userAnswers.add(userAnswerRepository.save(userAnswer));
+                answerRows.add(new Object[] {result.getId(), entry.getKey(), selectedOptionId, isCorrect, answeredAt});
                 
                 if (isCorrect) {
                     correctAnswers++;
-                    earnedPoints += question.getPoints();
+                    earnedPoints += questionKey.points();
                 }
             }
         }
         
+        // All answers in one batch insert
+        jdbcTemplate.batchUpdate(INSERT_ANSWER_SQL, answerRows,
+                new int[] {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BOOLEAN, Types.TIMESTAMP});
+        
         // Calculate final score as percentage
         int score = totalPoints > 0 ? (earnedPoints * 100) / totalPoints : 0;
         boolean passed = score >= assessment.getPassingScore();
@@ -260,9 +300,10 @@ public class AssessmentService {
         result.setCorrectAnswers(correctAnswers);
         result.setScore(score);
         result.setPassed(passed);
-        result.setUserAnswers(userAnswers);
         
         AssessmentResult savedResult = assessmentResultRepository.save(result);
+        statisticsService.recordAttemptCompleted(assessmentId, passed);
+        timelineService.recordAssessmentResult(savedResult);
         return convertToResultResponse(savedResult);
     }
     
@@ -281,6 +322,16 @@ public class AssessmentService {
         return results.stream().map(this::convertToResultResponse).collect(Collectors.toList());
     }
     
+    /**
+     * Move an assessment to a new content version so cached answer keys and question
+     * payloads are rebuilt
+     */
+    private void questionsChanged(Long assessmentId) {
+        assessmentRepository.incrementContentVersion(assessmentId);
+        answerKeyCache.evict(assessmentId);
+        questionPayloadCache.evict(assessmentId);
+    }
+    
     private Quarter getCurrentQuarter() {
         int month = LocalDateTime.now().getMonthValue();
         if (month <= 3) return Quarter.Q1;
@@ -289,22 +340,7 @@ public class AssessmentService {
         else return Quarter.Q4;
     }
     
-    private AssessmentResponse convertToResponse(Assessment assessment) {
-        Integer questionCount = questionRepository.countByAssessmentId(assessment.getId()).intValue();
-        
-        // Calculate total attempts and pass rate
-        List<AssessmentResult> results = assessmentResultRepository.findByAssessmentIdOrderByCreatedAtDesc(assessment.getId());
-        Integer totalAttempts = results.size();
-        long passedCount = results.stream().filter(r -> r.getPassed() != null && r.getPassed()).count();
-        Double passRate = totalAttempts > 0 ? (passedCount * 100.0) / totalAttempts : 0.0;
-        
-        // Count unique employees who took this assessment
-        Long employeesTaken = assessmentResultRepository.countDistinctUsersByAssessmentId(assessment.getId());
-        
-        // Count pending and completed attempts
-        Long pendingAttempts = assessmentResultRepository.countPendingByAssessmentId(assessment.getId());
-        Long completedAttempts = assessmentResultRepository.countCompletedByAssessmentId(assessment.getId());
-        
+    private AssessmentResponse convertToResponse(Assessment assessment, AssessmentStatistics stats) {
         AssessmentResponse response = new AssessmentResponse();
         response.setId(assessment.getId());
         response.setTitle(assessment.getTitle());
@@ -312,16 +348,16 @@ public class AssessmentService {
         response.setPassingScore(assessment.getPassingScore());
         response.setTimeLimitMinutes(assessment.getTimeLimitMinutes());
         response.setIsActive(assessment.getIsActive());
-        response.setQuestionCount(questionCount);
+        response.setQuestionCount(stats.getQuestionCount().intValue());
         response.setQuarter(assessment.getQuarter());
         response.setYear(assessment.getYear());
         response.setMaxAttempts(assessment.getMaxAttempts());
         response.setDeadline(assessment.getDeadline());
-        response.setTotalAttempts(totalAttempts);
-        response.setPassRate(passRate);
-        response.setEmployeesTaken(employeesTaken);
-        response.setPendingAttempts(pendingAttempts);
-        response.setCompletedAttempts(completedAttempts);
+        response.setTotalAttempts(stats.getTotalAttempts().intValue());
+        response.setPassRate(stats.getPassRate());
+        response.setEmployeesTaken(stats.getEmployeesTaken());
+        response.setPendingAttempts(stats.getPendingAttempts());
+        response.setCompletedAttempts(stats.getCompletedAttempts());
         response.setCreatedAt(assessment.getCreatedAt());
         response.setUpdatedAt(assessment.getUpdatedAt());
         
@@ -0,0 +1,124 @@
+package com.blackdot.ems.module.assessment.service;
+
+import com.blackdot.ems.module.assessment.repository.AssessmentStatisticsRepository;
+import com.blackdot.ems.shared.entity.AssessmentStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assessment Statistics Service
+ * Keeps the per-assessment counters in assessment_statistics up to date with atomic
+ * increments, in the same transaction as the question or result change they count,
+ * so reading an assessment's statistics is a primary-key lookup
+ */
+@Service
+@Transactional
+public class AssessmentStatisticsService {
+
+    private static final String COUNTER_COLUMNS = "question_count, total_attempts, passed_attempts, " +
+            "completed_attempts, pending_attempts, employees_taken";
+
+    private static final String INCREMENT_SQL = "INSERT INTO assessment_statistics " +
+            "(assessment_id, " + COUNTER_COLUMNS + ", updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (assessment_id) DO UPDATE SET " +
+            "question_count = assessment_statistics.question_count + EXCLUDED.question_count, " +
+            "total_attempts = assessment_statistics.total_attempts + EXCLUDED.total_attempts, " +
+            "passed_attempts = assessment_statistics.passed_attempts + EXCLUDED.passed_attempts, " +
+            "completed_attempts = assessment_statistics.completed_attempts + EXCLUDED.completed_attempts, " +
+            "pending_attempts = assessment_statistics.pending_attempts + EXCLUDED.pending_attempts, " +
+            "employees_taken = assessment_statistics.employees_taken + EXCLUDED.employees_taken, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AssessmentStatisticsRepository statisticsRepository;
+
+    private record Increment(long questions, long attempts, long passed, long completed, long pending, long takers) {
+    }
+
+    /**
+     * Statistics of one assessment (all zero when nothing has been counted yet)
+     */
+    @Transactional(readOnly = true)
+    public AssessmentStatistics getStatistics(Long assessmentId) {
+        return statisticsRepository.findById(assessmentId).orElseGet(() -> new AssessmentStatistics(assessmentId));
+    }
+
+    /**
+     * Statistics of several assessments in one lookup, keyed by assessment id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, AssessmentStatistics> getStatistics(Collection<Long> assessmentIds) {
+        Map<Long, AssessmentStatistics> statistics = new HashMap<>();
+        for (AssessmentStatistics row : statisticsRepository.findAllById(assessmentIds)) {
+            statistics.put(row.getAssessmentId(), row);
+        }
+        return statistics;
+    }
+
+    public void recordQuestionAdded(Long assessmentId) {
+        apply(Map.of(assessmentId, new Increment(1, 0, 0, 0, 0, 0)));
+    }
+
+    public void recordQuestionRemoved(Long assessmentId) {
+        apply(Map.of(assessmentId, new Increment(-1, 0, 0, 0, 0, 0)));
+    }
+
+    /**
+     * Count a new result row (started or assigned, not completed yet)
+     *
+     * @param firstForUser whether this is the user's first result for the assessment
+     */
+    public void recordAttemptCreated(Long assessmentId, boolean firstForUser) {
+        apply(Map.of(assessmentId, new Increment(0, 1, 0, 0, 1, firstForUser ? 1 : 0)));
+    }
+
+    /**
+     * Move a pending result to completed
+     */
+    public void recordAttemptCompleted(Long assessmentId, boolean passed) {
+        apply(Map.of(assessmentId, new Increment(0, 0, passed ? 1 : 0, 1, -1, 0)));
+    }
+
+    /**
+     * Move pending results that were closed as failed to completed, as counts per assessment id
+     */
+    public void recordAttemptsFailed(Map<Long, Integer> failedByAssessment) {
+        Map<Long, Increment> increments = new HashMap<>();
+        failedByAssessment.forEach((assessmentId, count) ->
+                increments.put(assessmentId, new Increment(0, 0, 0, count, -count, 0)));
+        apply(increments);
+    }
+
+    // Helper methods
+
+    private void apply(Map<Long, Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        // Fixed order so concurrent writers lock statistics rows in the same sequence
+        List<Map.Entry<Long, Increment>> entries = new ArrayList<>(increments.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, entries, entries.size(), (ps, entry) -> {
+            Increment increment = entry.getValue();
+            ps.setLong(1, entry.getKey());
+            ps.setLong(2, increment.questions());
+            ps.setLong(3, increment.attempts());
+            ps.setLong(4, increment.passed());
+            ps.setLong(5, increment.completed());
+            ps.setLong(6, increment.pending());
+            ps.setLong(7, increment.takers());
+        });
+    }
+}
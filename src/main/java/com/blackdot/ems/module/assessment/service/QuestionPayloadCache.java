@@ -0,0 +1,100 @@
+package com.blackdot.ems.module.assessment.service;
+
+import com.blackdot.ems.module.assessment.dto.QuestionPayload;
+import com.blackdot.ems.module.assessment.repository.QuestionRepository;
+import com.blackdot.ems.shared.entity.Assessment;
+import com.blackdot.ems.shared.entity.Question;
+import com.blackdot.ems.shared.entity.QuestionOption;
+import com.blackdot.ems.shared.entity.QuestionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Question Payload Cache
+ * Serializes the questions of each assessment once per content version for delivery to
+ * assessment takers, leaving out which options are correct. Like the answer key cache,
+ * a payload older than the version the caller has loaded is rebuilt, and local copies
+ * are dropped after a question change commits.
+ */
+@Service
+public class QuestionPayloadCache {
+
+    // Delivery view: what the take-assessment page needs, nothing that reveals the answers
+    record DeliveredOption(Long id, String optionText) {
+    }
+
+    record DeliveredQuestion(Long id, String questionText, QuestionType questionType, Integer points,
+                             List<DeliveredOption> options) {
+    }
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Long, QuestionPayload> payloads = new ConcurrentHashMap<>();
+
+    /**
+     * Question payload of an assessment at (at least) the assessment's loaded content version
+     */
+    public QuestionPayload getPayload(Assessment assessment) {
+        long version = assessment.getContentVersion() != null ? assessment.getContentVersion() : 0L;
+        QuestionPayload cached = payloads.get(assessment.getId());
+        if (cached != null && cached.getVersion() >= version) {
+            return cached;
+        }
+
+        QuestionPayload built = build(assessment.getId(), version);
+        // Never replace a payload built from a newer version
+        payloads.merge(assessment.getId(), built,
+                (existing, fresh) -> fresh.getVersion() >= existing.getVersion() ? fresh : existing);
+        return built;
+    }
+
+    /**
+     * Drop the cached payload of an assessment once the current transaction commits
+     */
+    public void evict(Long assessmentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    payloads.remove(assessmentId);
+                }
+            });
+        } else {
+            payloads.remove(assessmentId);
+        }
+    }
+
+    // Helper methods
+
+    private QuestionPayload build(Long assessmentId, long version) {
+        List<DeliveredQuestion> questions = new ArrayList<>();
+        for (Question question : questionRepository.findWithOptionsByAssessmentId(assessmentId)) {
+            // Options are a set; order them so the same version always serializes the same way
+            List<DeliveredOption> options = question.getOptions().stream()
+                    .sorted(Comparator.comparing(QuestionOption::getId))
+                    .map(option -> new DeliveredOption(option.getId(), option.getOptionText()))
+                    .toList();
+            questions.add(new DeliveredQuestion(question.getId(), question.getQuestionText(),
+                    question.getQuestionType(), question.getPoints(), options));
+        }
+        try {
+            return new QuestionPayload(assessmentId, version, objectMapper.writeValueAsBytes(questions));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize questions of assessment " + assessmentId, e);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.blackdot.ems.module.employee.controller;
 
 import com.blackdot.ems.shared.entity.*;
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.module.employee.dto.AuditTrailResponse;
+import com.blackdot.ems.module.employee.service.AuditEventBuffer;
 import com.blackdot.ems.module.employee.service.EmployeeAuditService;
+import com.blackdot.ems.module.employee.service.GdprExportService;
 import com.blackdot.ems.shared.exception.BadRequestException;
+import com.blackdot.ems.shared.util.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +36,12 @@ public class EmployeeAuditController {
     @Autowired
     private EmployeeAuditService auditService;
     
+    @Autowired
+    private AuditEventBuffer eventBuffer;
+    
+    @Autowired
+    private GdprExportService gdprExportService;
+    
     // Audit Trail Queries
     
     /**
@@ -33,8 +49,8 @@ public class EmployeeAuditController {
      */
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR') or (#employeeId == authentication.principal.id)")
-    public ResponseEntity<List<EmployeeAuditTrail>> getEmployeeAuditTrail(@PathVariable Long employeeId) {
-        List<EmployeeAuditTrail> auditTrail = auditService.getEmployeeAuditTrail(employeeId);
+    public ResponseEntity<List<AuditTrailResponse>> getEmployeeAuditTrail(@PathVariable Long employeeId) {
+        List<AuditTrailResponse> auditTrail = auditService.getEmployeeAuditTrail(employeeId);
         return ResponseEntity.ok(auditTrail);
     }
     
@@ -43,11 +59,11 @@ public class EmployeeAuditController {
      */
     @GetMapping("/employee/{employeeId}/paginated")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR') or (#employeeId == authentication.principal.id)")
-    public ResponseEntity<Page<EmployeeAuditTrail>> getEmployeeAuditTrailPaginated(
+    public ResponseEntity<Page<AuditTrailResponse>> getEmployeeAuditTrailPaginated(
             @PathVariable Long employeeId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Page<EmployeeAuditTrail> auditTrail = auditService.getEmployeeAuditTrail(employeeId, page, size);
+        Page<AuditTrailResponse> auditTrail = auditService.getEmployeeAuditTrail(employeeId, page, size);
         return ResponseEntity.ok(auditTrail);
     }
     
@@ -56,20 +72,25 @@ public class EmployeeAuditController {
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<Page<EmployeeAuditTrail>> getAllAuditEntries(
+    public ResponseEntity<Page<AuditTrailResponse>> getAllAuditEntries(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Page<EmployeeAuditTrail> auditEntries = auditService.getAllAuditEntries(page, size);
+        Page<AuditTrailResponse> auditEntries = auditService.getAllAuditEntries(page, size);
         return ResponseEntity.ok(auditEntries);
     }
     
     /**
-     * Search audit entries
+     * Search audit entries (ranked; defaults to the last year when no startDate is given)
      */
     @GetMapping("/search")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeAuditTrail>> searchAuditEntries(@RequestParam String searchTerm) {
-        List<EmployeeAuditTrail> results = auditService.searchAuditEntries(searchTerm);
+    public ResponseEntity<Page<AuditTrailResponse>> searchAuditEntries(
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<AuditTrailResponse> results = auditService.searchAuditEntries(searchTerm, startDate, endDate, page, size);
         return ResponseEntity.ok(results);
     }
     
@@ -78,7 +99,7 @@ public class EmployeeAuditController {
      */
     @GetMapping("/filtered")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<Page<EmployeeAuditTrail>> getFilteredAuditEntries(
+    public ResponseEntity<Page<AuditTrailResponse>> getFilteredAuditEntries(
             @RequestParam(required = false) Long employeeId,
             @RequestParam(required = false) Long performedById,
             @RequestParam(required = false) AuditCategory category,
@@ -91,7 +112,7 @@ public class EmployeeAuditController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
-        Page<EmployeeAuditTrail> results = auditService.getFilteredAuditEntries(
+        Page<AuditTrailResponse> results = auditService.getFilteredAuditEntries(
                 employeeId, performedById, category, action, severity, riskLevel,
                 approvalStatus, startDate, endDate, page, size);
         return ResponseEntity.ok(results);
@@ -104,19 +125,33 @@ public class EmployeeAuditController {
      */
     @GetMapping("/recent")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getRecentActivity(
-            @RequestParam(defaultValue = "7") int days) {
-        List<EmployeeAuditTrail> recentActivity = auditService.getRecentActivity(days);
+    public ResponseEntity<List<AuditFeedEvent>> getRecentActivity(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<AuditFeedEvent> recentActivity = auditService.getRecentActivity(days, limit);
         return ResponseEntity.ok(recentActivity);
     }
     
+    /**
+     * Live audit event stream (Server-Sent Events), optionally filtered
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public SseEmitter streamAuditEvents(
+            @RequestParam(required = false) List<AuditCategory> category,
+            @RequestParam(required = false) List<AuditSeverity> severity,
+            @RequestParam(required = false) List<RiskLevel> riskLevel,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventBuffer.subscribe(category, severity, riskLevel, lastEventId);
+    }
+    
     /**
      * Get high-risk events
      */
     @GetMapping("/high-risk")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getHighRiskEvents() {
-        List<EmployeeAuditTrail> highRiskEvents = auditService.getHighRiskEvents();
+    public ResponseEntity<List<AuditTrailResponse>> getHighRiskEvents() {
+        List<AuditTrailResponse> highRiskEvents = auditService.getHighRiskEvents();
         return ResponseEntity.ok(highRiskEvents);
     }
     
@@ -125,8 +160,8 @@ public class EmployeeAuditController {
      */
     @GetMapping("/security-incidents")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getSecurityIncidents() {
-        List<EmployeeAuditTrail> securityIncidents = auditService.getSecurityIncidents();
+    public ResponseEntity<List<AuditTrailResponse>> getSecurityIncidents() {
+        List<AuditTrailResponse> securityIncidents = auditService.getSecurityIncidents();
         return ResponseEntity.ok(securityIncidents);
     }
     
@@ -135,8 +170,8 @@ public class EmployeeAuditController {
      */
     @GetMapping("/pending-approvals")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getPendingApprovals() {
-        List<EmployeeAuditTrail> pendingApprovals = auditService.getPendingApprovals();
+    public ResponseEntity<List<AuditTrailResponse>> getPendingApprovals() {
+        List<AuditTrailResponse> pendingApprovals = auditService.getPendingApprovals();
         return ResponseEntity.ok(pendingApprovals);
     }
     
@@ -145,18 +180,34 @@ public class EmployeeAuditController {
      */
     @GetMapping("/gdpr-events")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getGdprRelevantEvents() {
-        List<EmployeeAuditTrail> gdprEvents = auditService.getGdprRelevantEvents();
+    public ResponseEntity<List<AuditTrailResponse>> getGdprRelevantEvents() {
+        List<AuditTrailResponse> gdprEvents = auditService.getGdprRelevantEvents();
         return ResponseEntity.ok(gdprEvents);
     }
     
+    /**
+     * Stream a GDPR data-subject export for one employee as NDJSON
+     */
+    @GetMapping(value = "/employee/{employeeId}/gdpr-export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEmployeeData(
+            @PathVariable Long employeeId,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        StreamingResponseBody body = gdprExportService.exportEmployee(employeeId, currentUser.getId());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"gdpr-export-employee-" + employeeId + ".ndjson\"")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     /**
      * Get sensitive data events
      */
     @GetMapping("/sensitive-data")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getSensitiveDataEvents() {
-        List<EmployeeAuditTrail> sensitiveEvents = auditService.getSensitiveDataEvents();
+    public ResponseEntity<List<AuditTrailResponse>> getSensitiveDataEvents() {
+        List<AuditTrailResponse> sensitiveEvents = auditService.getSensitiveDataEvents();
         return ResponseEntity.ok(sensitiveEvents);
     }
     
@@ -165,13 +216,47 @@ public class EmployeeAuditController {
      */
     @GetMapping("/compliance")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeAuditTrail>> getComplianceEvents() {
-        List<EmployeeAuditTrail> complianceEvents = auditService.getComplianceEvents();
+    public ResponseEntity<List<AuditTrailResponse>> getComplianceEvents() {
+        List<AuditTrailResponse> complianceEvents = auditService.getComplianceEvents();
         return ResponseEntity.ok(complianceEvents);
     }
     
     // Approval Management
     
+    /**
+     * Get the approval queue with pagination, oldest first
+     */
+    @GetMapping("/approvals")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Page<AuditTrailResponse>> getApprovalQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<AuditTrailResponse> queue = auditService.getApprovalQueue(page, size);
+        return ResponseEntity.ok(queue);
+    }
+    
+    /**
+     * Bulk approve audit events; returns an outcome per audit id
+     */
+    @PostMapping("/approvals/approve")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> approveEvents(@RequestBody Map<String, Object> request) {
+        Map<String, Object> result = auditService.approveEvents(
+                parseAuditIds(request), parseApproverId(request), request.getOrDefault("notes", "").toString());
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Bulk reject audit events; returns an outcome per audit id
+     */
+    @PostMapping("/approvals/reject")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rejectEvents(@RequestBody Map<String, Object> request) {
+        Map<String, Object> result = auditService.rejectEvents(
+                parseAuditIds(request), parseApproverId(request), request.getOrDefault("notes", "").toString());
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Approve audit event
      */
@@ -213,27 +298,32 @@ public class EmployeeAuditController {
     // Manual Audit Entry Creation
     
     /**
-     * Create manual audit entry
+     * Create manual audit entry (written asynchronously by the audit writer)
      */
     @PostMapping("/create")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<EmployeeAuditTrail> createAuditEntry(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> createAuditEntry(@RequestBody Map<String, Object> request) {
+        Long employeeId;
+        AuditAction action;
+        String description;
+        Long performedBy;
         try {
-            Long employeeId = Long.valueOf(request.get("employeeId").toString());
-            AuditAction action = AuditAction.valueOf(request.get("action").toString());
-            String description = request.get("description").toString();
-            Long performedBy = Long.valueOf(request.get("performedBy").toString());
-            String ipAddress = request.getOrDefault("ipAddress", "").toString();
-            String userAgent = request.getOrDefault("userAgent", "").toString();
-            String sessionId = request.getOrDefault("sessionId", "").toString();
-            
-            EmployeeAuditTrail audit = auditService.logEmployeeAction(
-                    employeeId, action, description, performedBy, ipAddress, userAgent, sessionId);
-            
-            return ResponseEntity.ok(audit);
+            employeeId = Long.valueOf(request.get("employeeId").toString());
+            action = AuditAction.valueOf(request.get("action").toString());
+            description = request.get("description").toString();
+            performedBy = Long.valueOf(request.get("performedBy").toString());
         } catch (Exception e) {
             throw new BadRequestException("Failed to create audit entry: " + e.getMessage());
         }
+        String ipAddress = request.getOrDefault("ipAddress", "").toString();
+        String userAgent = request.getOrDefault("userAgent", "").toString();
+        String sessionId = request.getOrDefault("sessionId", "").toString();
+        
+        // Unknown employee or performer ids are rejected here (404), before anything is queued
+        auditService.recordEmployeeAction(
+                employeeId, action, description, performedBy, ipAddress, userAgent, sessionId);
+        
+        return ResponseEntity.accepted().body(Map.of("message", "Audit entry queued"));
     }
     
     // Statistics and Reporting
@@ -248,6 +338,16 @@ public class EmployeeAuditController {
         return ResponseEntity.ok(statistics);
     }
     
+    /**
+     * Rebuild audit statistics rollups from the audit table
+     */
+    @PostMapping("/statistics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildAuditStatistics() {
+        auditService.rebuildAuditStatistics();
+        return ResponseEntity.ok(Map.of("message", "Audit statistics rollups rebuilt"));
+    }
+    
     /**
      * Get employee-specific audit statistics
      */
@@ -266,7 +366,7 @@ public class EmployeeAuditController {
     @PostMapping("/cleanup")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> cleanupExpiredEvents() {
-        int deletedCount = auditService.cleanupExpiredEvents();
+        long deletedCount = auditService.cleanupExpiredEvents();
         Map<String, Object> result = Map.of(
                 "deletedCount", deletedCount,
                 "message", "Successfully cleaned up " + deletedCount + " expired audit events"
@@ -274,6 +374,20 @@ public class EmployeeAuditController {
         return ResponseEntity.ok(result);
     }
     
+    /**
+     * Move audit events past the hot window into cold-archive segments
+     */
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> archiveAgedEvents() {
+        long archivedCount = auditService.archiveAgedEvents();
+        Map<String, Object> result = Map.of(
+                "archivedCount", archivedCount,
+                "message", "Successfully archived " + archivedCount + " audit events"
+        );
+        return ResponseEntity.ok(result);
+    }
+    
     // Enum Information Endpoints
     
     /**
@@ -384,4 +498,29 @@ public class EmployeeAuditController {
         }
         return ResponseEntity.ok(approvalStatuses);
     }
-}
\ No newline at end of file
+    
+    // Helper methods
+    
+    private List<Long> parseAuditIds(Map<String, Object> request) {
+        if (!(request.get("auditIds") instanceof List<?> values)) {
+            throw new BadRequestException("auditIds must be a list of audit entry ids");
+        }
+        try {
+            return values.stream().map(value -> Long.valueOf(value.toString())).toList();
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("auditIds must be a list of audit entry ids");
+        }
+    }
+    
+    private Long parseApproverId(Map<String, Object> request) {
+        Object approverId = request.get("approverId");
+        if (approverId == null) {
+            throw new BadRequestException("approverId is required");
+        }
+        try {
+            return Long.valueOf(approverId.toString());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("approverId must be a number");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.blackdot.ems.module.employee.controller;
 
 import com.blackdot.ems.module.employee.dto.*;
+import com.blackdot.ems.module.employee.service.EmployeeHistoryService;
 import com.blackdot.ems.module.employee.service.EmployeeService;
 import com.blackdot.ems.shared.dto.MessageResponse;
 import com.blackdot.ems.shared.entity.EmployeeStatus;
@@ -9,11 +10,13 @@ import com.blackdot.ems.shared.entity.ClearanceLevel;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +29,9 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
     
+    @Autowired
+    private EmployeeHistoryService historyService;
+    
     @GetMapping
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
     public ResponseEntity<Page<EmployeeResponse>> getAllEmployees(
@@ -138,6 +144,19 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
     
+    /**
+     * Employee record as it was at the given time, rebuilt from the nearest state
+     * snapshot and the field-change audit trail
+     */
+    @GetMapping("/{id}/as-of")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<EmployeeResponse> getEmployeeAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        EmployeeResponse employee = historyService.getEmployeeAsOf(id, at);
+        return ResponseEntity.ok(employee);
+    }
+    
     @GetMapping("/employee-id/{employeeId}")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
     public ResponseEntity<EmployeeResponse> getEmployeeByEmployeeId(@PathVariable String employeeId) {
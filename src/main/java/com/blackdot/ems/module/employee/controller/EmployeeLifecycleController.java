@@ -1,7 +1,11 @@
 package com.blackdot.ems.module.employee.controller;
 
 import com.blackdot.ems.shared.entity.*;
+import com.blackdot.ems.module.employee.dto.LifecycleEventSummary;
+import com.blackdot.ems.module.employee.dto.TimelineEntry;
 import com.blackdot.ems.module.employee.service.EmployeeLifecycleService;
+import com.blackdot.ems.module.employee.service.EmployeeTimelineService;
+import com.blackdot.ems.module.employee.service.WorkflowTemplateService;
 import com.blackdot.ems.shared.exception.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -11,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +31,12 @@ public class EmployeeLifecycleController {
     @Autowired
     private EmployeeLifecycleService lifecycleService;
     
+    @Autowired
+    private WorkflowTemplateService workflowTemplateService;
+    
+    @Autowired
+    private EmployeeTimelineService timelineService;
+    
     // Employee Lifecycle Event Management
     
     /**
@@ -89,6 +100,26 @@ public class EmployeeLifecycleController {
         }
     }
     
+    /**
+     * Reschedule lifecycle event (move its due date)
+     */
+    @PutMapping("/events/{eventId}/due-date")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<EmployeeLifecycleEvent> rescheduleEvent(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, Object> request) {
+        try {
+            LocalDate dueDate = LocalDate.parse(request.get("dueDate").toString());
+            String notes = request.getOrDefault("notes", "").toString();
+            Long updatedBy = Long.valueOf(request.get("updatedBy").toString());
+            
+            EmployeeLifecycleEvent event = lifecycleService.rescheduleEvent(eventId, dueDate, notes, updatedBy);
+            return ResponseEntity.ok(event);
+        } catch (Exception e) {
+            throw new BadRequestException("Failed to reschedule event: " + e.getMessage());
+        }
+    }
+    
     /**
      * Get all lifecycle events for an employee
      */
@@ -109,6 +140,16 @@ public class EmployeeLifecycleController {
         return ResponseEntity.ok(events);
     }
     
+    /**
+     * Get an employee's timeline: lifecycle events, status changes, assessments and
+     * completed tasks, newest first
+     */
+    @GetMapping("/employee/{employeeId}/timeline")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<List<TimelineEntry>> getEmployeeTimeline(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(timelineService.getTimeline(employeeId));
+    }
+    
     // Onboarding Workflows
     
     /**
@@ -173,11 +214,89 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/probation/attention-required")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> getProbationEventsRequiringAttention() {
-        List<EmployeeLifecycleEvent> events = lifecycleService.getProbationEventsRequiringAttention();
+    public ResponseEntity<Page<LifecycleEventSummary>> getProbationEventsRequiringAttention(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.getProbationEventsRequiringAttention(page, size);
         return ResponseEntity.ok(events);
     }
     
+    // Workflow Templates
+    
+    /**
+     * Get all workflow templates
+     */
+    @GetMapping("/workflows")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<List<WorkflowTemplate>> getWorkflowTemplates() {
+        return ResponseEntity.ok(workflowTemplateService.getAllTemplates());
+    }
+    
+    /**
+     * Get a workflow template
+     */
+    @GetMapping("/workflows/{code}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<WorkflowTemplate> getWorkflowTemplate(@PathVariable String code) {
+        return ResponseEntity.ok(workflowTemplateService.getTemplate(code));
+    }
+    
+    /**
+     * Create or replace a workflow template
+     */
+    @PutMapping("/workflows/{code}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<WorkflowTemplate> saveWorkflowTemplate(
+            @PathVariable String code,
+            @RequestBody Map<String, Object> request) {
+        try {
+            String name = request.get("name").toString();
+            String description = request.get("description") != null ? request.get("description").toString() : null;
+            LifecycleCategory category = LifecycleCategory.valueOf(request.get("category").toString());
+            Boolean isActive = request.get("isActive") != null ? Boolean.valueOf(request.get("isActive").toString()) : null;
+            
+            List<WorkflowTemplateStep> steps = new ArrayList<>();
+            for (Map<String, Object> step : (List<Map<String, Object>>) request.get("steps")) {
+                steps.add(new WorkflowTemplateStep(
+                        LifecycleEventType.valueOf(step.get("eventType").toString()),
+                        Integer.parseInt(step.get("offsetDays").toString()),
+                        step.get("dueOffsetDays") != null ? Integer.valueOf(step.get("dueOffsetDays").toString()) : null,
+                        step.get("priority") != null ? Integer.valueOf(step.get("priority").toString()) : null,
+                        step.get("description") != null ? step.get("description").toString() : null));
+            }
+            
+            WorkflowTemplate template = workflowTemplateService.saveTemplate(code, name, description, category, isActive, steps);
+            return ResponseEntity.ok(template);
+        } catch (Exception e) {
+            throw new BadRequestException("Failed to save workflow template: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Instantiate a workflow template for a cohort of employees in one batch
+     */
+    @PostMapping("/workflows/{code}/cohort")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> instantiateWorkflowForCohort(
+            @PathVariable String code,
+            @RequestBody Map<String, Object> request) {
+        try {
+            List<Long> employeeIds = new ArrayList<>();
+            for (Object id : (List<Object>) request.get("employeeIds")) {
+                employeeIds.add(Long.valueOf(id.toString()));
+            }
+            LocalDate anchorDate = request.get("anchorDate") != null ? LocalDate.parse(request.get("anchorDate").toString()) : null;
+            Long createdBy = Long.valueOf(request.get("createdBy").toString());
+            
+            Map<String, Object> result = lifecycleService.instantiateWorkflowForCohort(code, employeeIds, anchorDate, createdBy);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            throw new BadRequestException("Failed to instantiate workflow: " + e.getMessage());
+        }
+    }
+    
     // Performance Management
     
     /**
@@ -199,29 +318,40 @@ public class EmployeeLifecycleController {
     }
     
     /**
-     * Create annual performance review cycle
+     * Start the annual performance review cycle (runs in the background)
      */
     @PostMapping("/performance/annual-cycle")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> createAnnualPerformanceReviewCycle(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> createAnnualPerformanceReviewCycle(@RequestBody Map<String, Object> request) {
         try {
             LocalDate reviewPeriodStart = LocalDate.parse(request.get("reviewPeriodStart").toString());
             Long createdBy = Long.valueOf(request.get("createdBy").toString());
             
-            List<EmployeeLifecycleEvent> events = lifecycleService.createAnnualPerformanceReviewCycle(reviewPeriodStart, createdBy);
-            return ResponseEntity.ok(events);
+            Map<String, Object> status = lifecycleService.createAnnualPerformanceReviewCycle(reviewPeriodStart, createdBy);
+            return ResponseEntity.accepted().body(status);
         } catch (Exception e) {
             throw new BadRequestException("Failed to create annual review cycle: " + e.getMessage());
         }
     }
     
+    /**
+     * Get progress of the annual performance review cycle
+     */
+    @GetMapping("/performance/annual-cycle/status")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAnnualReviewCycleStatus() {
+        return ResponseEntity.ok(lifecycleService.getAnnualReviewCycleStatus());
+    }
+    
     /**
      * Get performance reviews due
      */
     @GetMapping("/performance/reviews-due")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> getPerformanceReviewsDue() {
-        List<EmployeeLifecycleEvent> events = lifecycleService.getPerformanceReviewsDue();
+    public ResponseEntity<Page<LifecycleEventSummary>> getPerformanceReviewsDue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.getPerformanceReviewsDue(page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -248,8 +378,10 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/contracts/renewals-due")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> getContractRenewalsDue() {
-        List<EmployeeLifecycleEvent> events = lifecycleService.getContractRenewalsDue();
+    public ResponseEntity<Page<LifecycleEventSummary>> getContractRenewalsDue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.getContractRenewalsDue(page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -260,8 +392,10 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/events/overdue")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> getOverdueEvents() {
-        List<EmployeeLifecycleEvent> events = lifecycleService.getOverdueEvents();
+    public ResponseEntity<Page<LifecycleEventSummary>> getOverdueEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.getOverdueEvents(page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -270,8 +404,11 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/events/due-soon")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> getEventsDueSoon(@RequestParam(defaultValue = "7") int days) {
-        List<EmployeeLifecycleEvent> events = lifecycleService.getEventsDueSoon(days);
+    public ResponseEntity<Page<LifecycleEventSummary>> getEventsDueSoon(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.getEventsDueSoon(days, page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -300,8 +437,11 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/events/search")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<List<EmployeeLifecycleEvent>> searchEvents(@RequestParam String searchTerm) {
-        List<EmployeeLifecycleEvent> events = lifecycleService.searchEvents(searchTerm);
+    public ResponseEntity<Page<LifecycleEventSummary>> searchEvents(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<LifecycleEventSummary> events = lifecycleService.searchEvents(searchTerm, page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -310,10 +450,10 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/events")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<Page<EmployeeLifecycleEvent>> getAllEvents(
+    public ResponseEntity<Page<LifecycleEventSummary>> getAllEvents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<EmployeeLifecycleEvent> events = lifecycleService.getAllEvents(page, size);
+        Page<LifecycleEventSummary> events = lifecycleService.getAllEvents(page, size);
         return ResponseEntity.ok(events);
     }
     
@@ -322,11 +462,11 @@ public class EmployeeLifecycleController {
      */
     @GetMapping("/events/status/{status}")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN') or hasRole('SUPERVISOR')")
-    public ResponseEntity<Page<EmployeeLifecycleEvent>> getEventsByStatus(
+    public ResponseEntity<Page<LifecycleEventSummary>> getEventsByStatus(
             @PathVariable EventStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<EmployeeLifecycleEvent> events = lifecycleService.getEventsByStatus(status, page, size);
+        Page<LifecycleEventSummary> events = lifecycleService.getEventsByStatus(status, page, size);
         return ResponseEntity.ok(events);
     }
     
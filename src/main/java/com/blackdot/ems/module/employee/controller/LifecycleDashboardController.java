@@ -1,6 +1,8 @@
 package com.blackdot.ems.module.employee.controller;
 
+import com.blackdot.ems.module.employee.dto.TimelineEntry;
 import com.blackdot.ems.module.employee.service.EmployeeLifecycleService;
+import com.blackdot.ems.module.employee.service.EmployeeTimelineService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -9,7 +11,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Lifecycle Dashboard Controller
@@ -23,6 +28,9 @@ public class LifecycleDashboardController {
     @Autowired
     private EmployeeLifecycleService lifecycleService;
 
+    @Autowired
+    private EmployeeTimelineService timelineService;
+
     /**
      * Main lifecycle dashboard page
      */
@@ -106,13 +114,17 @@ public class LifecycleDashboardController {
     @GetMapping("/timeline/{employeeId}")
     public String employeeTimeline(@PathVariable Long employeeId, Model model) {
         try {
-            // Use the existing method
-            var timelineEvents = lifecycleService.getEmployeeLifecycleEvents(employeeId);
+            List<TimelineEntry> timelineEvents = timelineService.getTimeline(employeeId);
+            LocalDateTime now = LocalDateTime.now();
             
             model.addAttribute("employeeId", employeeId);
             model.addAttribute("timelineEvents", timelineEvents);
-            model.addAttribute("milestones", java.util.Collections.emptyList());
-            model.addAttribute("upcomingEvents", java.util.Collections.emptyList());
+            model.addAttribute("milestones", timelineEvents.stream()
+                    .filter(entry -> !TimelineEntry.LIFECYCLE_EVENT.equals(entry.getSource()) || !entry.getOccurredAt().isAfter(now))
+                    .collect(Collectors.toList()));
+            model.addAttribute("upcomingEvents", timelineEvents.stream()
+                    .filter(entry -> TimelineEntry.LIFECYCLE_EVENT.equals(entry.getSource()) && entry.getOccurredAt().isAfter(now))
+                    .collect(Collectors.toList()));
             
             return "dashboard/lifecycle-timeline";
         } catch (Exception e) {
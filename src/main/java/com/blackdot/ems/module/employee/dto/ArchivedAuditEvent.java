@@ -0,0 +1,151 @@
+package com.blackdot.ems.module.employee.dto;
+
+import com.blackdot.ems.shared.entity.ApprovalStatus;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archived Audit Event
+ * Full copy of an employee_audit_trail row as stored in a cold-archive segment, one
+ * NDJSON line per event. Employee and performer names are captured at archive time
+ * so the row stays readable after the users behind it are gone.
+ */
+public class ArchivedAuditEvent {
+
+    private Long id;
+    private Long employeeId;
+    private String employeeFirstName;
+    private String employeeLastName;
+    private AuditAction action;
+    private AuditCategory category;
+    private String description;
+    private String fieldName;
+    private String oldValue;
+    private String newValue;
+    private Long performedById;
+    private String performedByFirstName;
+    private String performedByLastName;
+    private LocalDateTime performedAt;
+    private String ipAddress;
+    private String userAgent;
+    private String sessionId;
+    private AuditSeverity severity;
+    private RiskLevel riskLevel;
+    private String complianceImpact;
+    private Boolean approvalRequired;
+    private ApprovalStatus approvalStatus;
+    private Long approvedById;
+    private LocalDateTime approvedAt;
+    private String approvalNotes;
+    private String referenceId;
+    private String businessJustification;
+    private String additionalMetadata;
+    private Integer retentionPeriodDays;
+    private Boolean sensitiveData;
+    private Boolean gdprRelevant;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ArchivedAuditEvent() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeFirstName() { return employeeFirstName; }
+    public void setEmployeeFirstName(String employeeFirstName) { this.employeeFirstName = employeeFirstName; }
+
+    public String getEmployeeLastName() { return employeeLastName; }
+    public void setEmployeeLastName(String employeeLastName) { this.employeeLastName = employeeLastName; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public AuditCategory getCategory() { return category; }
+    public void setCategory(AuditCategory category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getFieldName() { return fieldName; }
+    public void setFieldName(String fieldName) { this.fieldName = fieldName; }
+
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+
+    public Long getPerformedById() { return performedById; }
+    public void setPerformedById(Long performedById) { this.performedById = performedById; }
+
+    public String getPerformedByFirstName() { return performedByFirstName; }
+    public void setPerformedByFirstName(String performedByFirstName) { this.performedByFirstName = performedByFirstName; }
+
+    public String getPerformedByLastName() { return performedByLastName; }
+    public void setPerformedByLastName(String performedByLastName) { this.performedByLastName = performedByLastName; }
+
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public void setPerformedAt(LocalDateTime performedAt) { this.performedAt = performedAt; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public String getUserAgent() { return userAgent; }
+    public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public AuditSeverity getSeverity() { return severity; }
+    public void setSeverity(AuditSeverity severity) { this.severity = severity; }
+
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+
+    public String getComplianceImpact() { return complianceImpact; }
+    public void setComplianceImpact(String complianceImpact) { this.complianceImpact = complianceImpact; }
+
+    public Boolean getApprovalRequired() { return approvalRequired; }
+    public void setApprovalRequired(Boolean approvalRequired) { this.approvalRequired = approvalRequired; }
+
+    public ApprovalStatus getApprovalStatus() { return approvalStatus; }
+    public void setApprovalStatus(ApprovalStatus approvalStatus) { this.approvalStatus = approvalStatus; }
+
+    public Long getApprovedById() { return approvedById; }
+    public void setApprovedById(Long approvedById) { this.approvedById = approvedById; }
+
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(LocalDateTime approvedAt) { this.approvedAt = approvedAt; }
+
+    public String getApprovalNotes() { return approvalNotes; }
+    public void setApprovalNotes(String approvalNotes) { this.approvalNotes = approvalNotes; }
+
+    public String getReferenceId() { return referenceId; }
+    public void setReferenceId(String referenceId) { this.referenceId = referenceId; }
+
+    public String getBusinessJustification() { return businessJustification; }
+    public void setBusinessJustification(String businessJustification) { this.businessJustification = businessJustification; }
+
+    public String getAdditionalMetadata() { return additionalMetadata; }
+    public void setAdditionalMetadata(String additionalMetadata) { this.additionalMetadata = additionalMetadata; }
+
+    public Integer getRetentionPeriodDays() { return retentionPeriodDays; }
+    public void setRetentionPeriodDays(Integer retentionPeriodDays) { this.retentionPeriodDays = retentionPeriodDays; }
+
+    public Boolean getSensitiveData() { return sensitiveData; }
+    public void setSensitiveData(Boolean sensitiveData) { this.sensitiveData = sensitiveData; }
+
+    public Boolean getGdprRelevant() { return gdprRelevant; }
+    public void setGdprRelevant(Boolean gdprRelevant) { this.gdprRelevant = gdprRelevant; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,109 @@
+package com.blackdot.ems.module.employee.dto;
+
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Audit Event Record
+ * Id-only snapshot of an audit trail row, queued by the asynchronous audit writer
+ * and serialized as one NDJSON line in its spill and journal files. The event uid,
+ * assigned when the record is accepted, makes replaying those files idempotent.
+ */
+public class AuditEventRecord {
+
+    private UUID eventUid;
+    private Long employeeId;
+    private AuditAction action;
+    private AuditCategory category;
+    private String description;
+    private String fieldName;
+    private String oldValue;
+    private String newValue;
+    private Long performedById;
+    private LocalDateTime performedAt;
+    private String ipAddress;
+    private String userAgent;
+    private String sessionId;
+    private AuditSeverity severity;
+    private RiskLevel riskLevel;
+    private boolean approvalRequired;
+    private boolean sensitiveData;
+    private boolean gdprRelevant;
+    private Integer retentionPeriodDays = 2555; // 7 years default, as on EmployeeAuditTrail
+
+    // Constructors
+    public AuditEventRecord() {}
+
+    public AuditEventRecord(Long employeeId, AuditAction action, AuditCategory category,
+                            String description, Long performedById) {
+        this.employeeId = employeeId;
+        this.action = action;
+        this.category = category;
+        this.description = description;
+        this.performedById = performedById;
+        this.performedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getEventUid() { return eventUid; }
+    public void setEventUid(UUID eventUid) { this.eventUid = eventUid; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public AuditCategory getCategory() { return category; }
+    public void setCategory(AuditCategory category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getFieldName() { return fieldName; }
+    public void setFieldName(String fieldName) { this.fieldName = fieldName; }
+
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+
+    public Long getPerformedById() { return performedById; }
+    public void setPerformedById(Long performedById) { this.performedById = performedById; }
+
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public void setPerformedAt(LocalDateTime performedAt) { this.performedAt = performedAt; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public String getUserAgent() { return userAgent; }
+    public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public AuditSeverity getSeverity() { return severity; }
+    public void setSeverity(AuditSeverity severity) { this.severity = severity; }
+
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+
+    public boolean isApprovalRequired() { return approvalRequired; }
+    public void setApprovalRequired(boolean approvalRequired) { this.approvalRequired = approvalRequired; }
+
+    public boolean isSensitiveData() { return sensitiveData; }
+    public void setSensitiveData(boolean sensitiveData) { this.sensitiveData = sensitiveData; }
+
+    public boolean isGdprRelevant() { return gdprRelevant; }
+    public void setGdprRelevant(boolean gdprRelevant) { this.gdprRelevant = gdprRelevant; }
+
+    public Integer getRetentionPeriodDays() { return retentionPeriodDays; }
+    public void setRetentionPeriodDays(Integer retentionPeriodDays) { this.retentionPeriodDays = retentionPeriodDays; }
+}
@@ -0,0 +1,94 @@
+package com.blackdot.ems.module.employee.dto;
+
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Feed Event
+ * Compact audit event held in the live event buffer and pushed to stream subscribers.
+ * The id is null for events written by the asynchronous writer, which does not read
+ * back generated keys; the buffer sequence identifies events on the stream instead.
+ */
+public class AuditFeedEvent {
+
+    private long sequence;
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private AuditAction action;
+    private AuditCategory category;
+    private String description;
+    private Long performedById;
+    private String performedByName;
+    private LocalDateTime performedAt;
+    private AuditSeverity severity;
+    private RiskLevel riskLevel;
+    private String ipAddress;
+
+    // Constructors
+    public AuditFeedEvent() {}
+
+    public AuditFeedEvent(Long id, Long employeeId, String employeeName, AuditAction action,
+                          AuditCategory category, String description, Long performedById,
+                          String performedByName, LocalDateTime performedAt, AuditSeverity severity,
+                          RiskLevel riskLevel, String ipAddress) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.action = action;
+        this.category = category;
+        this.description = description;
+        this.performedById = performedById;
+        this.performedByName = performedByName;
+        this.performedAt = performedAt;
+        this.severity = severity;
+        this.riskLevel = riskLevel;
+        this.ipAddress = ipAddress;
+    }
+
+    // Getters and Setters
+    @JsonIgnore
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public AuditCategory getCategory() { return category; }
+    public void setCategory(AuditCategory category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Long getPerformedById() { return performedById; }
+    public void setPerformedById(Long performedById) { this.performedById = performedById; }
+
+    public String getPerformedByName() { return performedByName; }
+    public void setPerformedByName(String performedByName) { this.performedByName = performedByName; }
+
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public void setPerformedAt(LocalDateTime performedAt) { this.performedAt = performedAt; }
+
+    public AuditSeverity getSeverity() { return severity; }
+    public void setSeverity(AuditSeverity severity) { this.severity = severity; }
+
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+}
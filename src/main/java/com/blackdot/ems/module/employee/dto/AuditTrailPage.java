@@ -0,0 +1,24 @@
+package com.blackdot.ems.module.employee.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Audit Trail Page
+ * Page of hot and archived audit entries. Archived entries are only reachable up to the
+ * archive's result cap; when more archived entries match, the total stops at the cap and
+ * archiveCapped tells the client that older entries exist past the last page.
+ */
+public class AuditTrailPage extends PageImpl<AuditTrailResponse> {
+
+    private final boolean archiveCapped;
+
+    public AuditTrailPage(List<AuditTrailResponse> content, Pageable pageable, long total, boolean archiveCapped) {
+        super(content, pageable, total);
+        this.archiveCapped = archiveCapped;
+    }
+
+    public boolean isArchiveCapped() { return archiveCapped; }
+}
@@ -0,0 +1,153 @@
+package com.blackdot.ems.module.employee.dto;
+
+import com.blackdot.ems.shared.entity.ApprovalStatus;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Trail Response
+ * Flat audit list row with the employee, performer and approver names already
+ * resolved, so serializing it never touches a lazy association. Filled by a
+ * constructor projection or from entities loaded with their users fetch-joined.
+ */
+public class AuditTrailResponse {
+
+    private Long id;
+    private AuditAction action;
+    private AuditCategory category;
+    private String description;
+    private String fieldName;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime performedAt;
+    private String ipAddress;
+    private AuditSeverity severity;
+    private RiskLevel riskLevel;
+    private Boolean approvalRequired;
+    private ApprovalStatus approvalStatus;
+    private LocalDateTime approvedAt;
+    private String approvalNotes;
+    private Boolean sensitiveData;
+    private Boolean gdprRelevant;
+
+    // Employee info
+    private Long employeeId;
+    private String employeeName;
+
+    // Performed by user info
+    private Long performedById;
+    private String performedByName;
+
+    // Approved by user info
+    private Long approvedById;
+    private String approvedByName;
+
+    // Constructors
+    public AuditTrailResponse() {}
+
+    public AuditTrailResponse(Long id, Long employeeId, String employeeName, AuditAction action,
+                              AuditCategory category, String description, String fieldName,
+                              String oldValue, String newValue, Long performedById, String performedByName,
+                              LocalDateTime performedAt, String ipAddress, AuditSeverity severity,
+                              RiskLevel riskLevel, Boolean approvalRequired, ApprovalStatus approvalStatus,
+                              Long approvedById, String approvedByName, LocalDateTime approvedAt,
+                              String approvalNotes, Boolean sensitiveData, Boolean gdprRelevant) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.action = action;
+        this.category = category;
+        this.description = description;
+        this.fieldName = fieldName;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.performedById = performedById;
+        this.performedByName = performedByName;
+        this.performedAt = performedAt;
+        this.ipAddress = ipAddress;
+        this.severity = severity;
+        this.riskLevel = riskLevel;
+        this.approvalRequired = approvalRequired;
+        this.approvalStatus = approvalStatus;
+        this.approvedById = approvedById;
+        this.approvedByName = approvedByName;
+        this.approvedAt = approvedAt;
+        this.approvalNotes = approvalNotes;
+        this.sensitiveData = sensitiveData;
+        this.gdprRelevant = gdprRelevant;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public AuditCategory getCategory() { return category; }
+    public void setCategory(AuditCategory category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getFieldName() { return fieldName; }
+    public void setFieldName(String fieldName) { this.fieldName = fieldName; }
+
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public void setPerformedAt(LocalDateTime performedAt) { this.performedAt = performedAt; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public AuditSeverity getSeverity() { return severity; }
+    public void setSeverity(AuditSeverity severity) { this.severity = severity; }
+
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+
+    public Boolean getApprovalRequired() { return approvalRequired; }
+    public void setApprovalRequired(Boolean approvalRequired) { this.approvalRequired = approvalRequired; }
+
+    public ApprovalStatus getApprovalStatus() { return approvalStatus; }
+    public void setApprovalStatus(ApprovalStatus approvalStatus) { this.approvalStatus = approvalStatus; }
+
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(LocalDateTime approvedAt) { this.approvedAt = approvedAt; }
+
+    public String getApprovalNotes() { return approvalNotes; }
+    public void setApprovalNotes(String approvalNotes) { this.approvalNotes = approvalNotes; }
+
+    public Boolean getSensitiveData() { return sensitiveData; }
+    public void setSensitiveData(Boolean sensitiveData) { this.sensitiveData = sensitiveData; }
+
+    public Boolean getGdprRelevant() { return gdprRelevant; }
+    public void setGdprRelevant(Boolean gdprRelevant) { this.gdprRelevant = gdprRelevant; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public Long getPerformedById() { return performedById; }
+    public void setPerformedById(Long performedById) { this.performedById = performedById; }
+
+    public String getPerformedByName() { return performedByName; }
+    public void setPerformedByName(String performedByName) { this.performedByName = performedByName; }
+
+    public Long getApprovedById() { return approvedById; }
+    public void setApprovedById(Long approvedById) { this.approvedById = approvedById; }
+
+    public String getApprovedByName() { return approvedByName; }
+    public void setApprovedByName(String approvedByName) { this.approvedByName = approvedByName; }
+}
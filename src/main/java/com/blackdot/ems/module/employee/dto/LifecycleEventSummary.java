@@ -0,0 +1,125 @@
+package com.blackdot.ems.module.employee.dto;
+
+import com.blackdot.ems.shared.entity.EventStatus;
+import com.blackdot.ems.shared.entity.LifecycleCategory;
+import com.blackdot.ems.shared.entity.LifecycleEventType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lifecycle Event Summary
+ * Row of a lifecycle event list. Built by a JPQL constructor expression that joins the
+ * employee, so listing a page never touches the lazy employee association; assignee
+ * and creator names are filled in afterwards with one lookup per page.
+ */
+public class LifecycleEventSummary {
+
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private String employeeEmail;
+    private String employeeNumber;
+    private LifecycleEventType eventType;
+    private LocalDate eventDate;
+    private LocalDate dueDate;
+    private LocalDate completedDate;
+    private EventStatus status;
+    private String description;
+    private Integer priority;
+    private Long assignedTo;
+    private String assignedToName;
+    private Long createdBy;
+    private String createdByName;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public LifecycleEventSummary() {}
+
+    public LifecycleEventSummary(Long id, Long employeeId, String employeeFirstName, String employeeLastName,
+                                 String employeeEmail, String employeeNumber, LifecycleEventType eventType,
+                                 LocalDate eventDate, LocalDate dueDate, LocalDate completedDate, EventStatus status,
+                                 String description, Integer priority, Long assignedTo, Long createdBy,
+                                 LocalDateTime createdAt) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.employeeName = employeeFirstName + " " + employeeLastName;
+        this.employeeEmail = employeeEmail;
+        this.employeeNumber = employeeNumber;
+        this.eventType = eventType;
+        this.eventDate = eventDate;
+        this.dueDate = dueDate;
+        this.completedDate = completedDate;
+        this.status = status;
+        this.description = description;
+        this.priority = priority;
+        this.assignedTo = assignedTo;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+    }
+
+    // Derived values (same rules as EmployeeLifecycleEvent)
+    public LifecycleCategory getCategory() {
+        return eventType != null ? eventType.getCategory() : null;
+    }
+
+    public boolean isOverdue() {
+        return dueDate != null && dueDate.isBefore(LocalDate.now()) && status != EventStatus.COMPLETED;
+    }
+
+    public boolean isDueSoon() {
+        return dueDate != null && dueDate.isBefore(LocalDate.now().plusDays(7)) && status != EventStatus.COMPLETED;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public String getEmployeeEmail() { return employeeEmail; }
+    public void setEmployeeEmail(String employeeEmail) { this.employeeEmail = employeeEmail; }
+
+    public String getEmployeeNumber() { return employeeNumber; }
+    public void setEmployeeNumber(String employeeNumber) { this.employeeNumber = employeeNumber; }
+
+    public LifecycleEventType getEventType() { return eventType; }
+    public void setEventType(LifecycleEventType eventType) { this.eventType = eventType; }
+
+    public LocalDate getEventDate() { return eventDate; }
+    public void setEventDate(LocalDate eventDate) { this.eventDate = eventDate; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public LocalDate getCompletedDate() { return completedDate; }
+    public void setCompletedDate(LocalDate completedDate) { this.completedDate = completedDate; }
+
+    public EventStatus getStatus() { return status; }
+    public void setStatus(EventStatus status) { this.status = status; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+
+    public Long getAssignedTo() { return assignedTo; }
+    public void setAssignedTo(Long assignedTo) { this.assignedTo = assignedTo; }
+
+    public String getAssignedToName() { return assignedToName; }
+    public void setAssignedToName(String assignedToName) { this.assignedToName = assignedToName; }
+
+    public Long getCreatedBy() { return createdBy; }
+    public void setCreatedBy(Long createdBy) { this.createdBy = createdBy; }
+
+    public String getCreatedByName() { return createdByName; }
+    public void setCreatedByName(String createdByName) { this.createdByName = createdByName; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,61 @@
+package com.blackdot.ems.module.employee.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timeline Entry
+ * One item of an employee's timeline: a lifecycle event, a status change from the
+ * audit trail, a completed assessment or a completed task. The source and reference
+ * id identify the row behind the entry; the reference id is null for status changes
+ * written by the asynchronous audit writer, which does not read back generated keys.
+ */
+public class TimelineEntry {
+
+    public static final String LIFECYCLE_EVENT = "LIFECYCLE_EVENT";
+    public static final String STATUS_CHANGE = "STATUS_CHANGE";
+    public static final String ASSESSMENT = "ASSESSMENT";
+    public static final String TASK = "TASK";
+
+    private String source;
+    private Long referenceId;
+    private LocalDateTime occurredAt;
+    private String title;
+    private String description;
+    private String status;
+
+    // Constructors
+    public TimelineEntry() {}
+
+    public TimelineEntry(String source, Long referenceId, LocalDateTime occurredAt,
+                         String title, String description, String status) {
+        this.source = source;
+        this.referenceId = referenceId;
+        this.occurredAt = occurredAt;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+    }
+
+    public boolean isSameItem(String source, Long referenceId) {
+        return referenceId != null && referenceId.equals(this.referenceId) && source.equals(this.source);
+    }
+
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public Long getReferenceId() { return referenceId; }
+    public void setReferenceId(Long referenceId) { this.referenceId = referenceId; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
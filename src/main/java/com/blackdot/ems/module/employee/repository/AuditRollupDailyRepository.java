@@ -0,0 +1,43 @@
+package com.blackdot.ems.module.employee.repository;
+
+import com.blackdot.ems.shared.entity.AuditRollupDaily;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Daily audit rollup repository
+ * Statistical reads served from pre-aggregated daily buckets
+ */
+@Repository
+public interface AuditRollupDailyRepository extends JpaRepository<AuditRollupDaily, Long> {
+    
+    @Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM AuditRollupDaily r")
+    Long sumAllEvents();
+    
+    @Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate")
+    Long sumEventsSince(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.action, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.action ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> getActionStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.category, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.category ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> getCategoryStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.severity, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.severity ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> getSeverityStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.riskLevel, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.riskLevel ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> getRiskLevelStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.bucketStart, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<Object[]> getDailyActivityStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.performedById, SUM(r.eventCount) FROM AuditRollupDaily r WHERE r.bucketStart >= :startDate GROUP BY r.performedById ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> getMostActiveUsers(@Param("startDate") LocalDateTime startDate, Pageable pageable);
+}
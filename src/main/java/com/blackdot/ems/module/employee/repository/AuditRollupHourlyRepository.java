@@ -0,0 +1,25 @@
+package com.blackdot.ems.module.employee.repository;
+
+import com.blackdot.ems.shared.entity.AuditRollupHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hourly audit rollup repository
+ */
+@Repository
+public interface AuditRollupHourlyRepository extends JpaRepository<AuditRollupHourly, Long> {
+    
+    @Query("SELECT r.bucketStart, SUM(r.eventCount) FROM AuditRollupHourly r WHERE r.bucketStart >= :startDate GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<Object[]> getHourlyActivityStatistics(@Param("startDate") LocalDateTime startDate);
+    
+    @Modifying
+    @Query("DELETE FROM AuditRollupHourly r WHERE r.bucketStart < :cutoffDate")
+    int deleteBucketsBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
@@ -1,14 +1,18 @@
 package com.blackdot.ems.module.employee.repository;
 
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.module.employee.dto.AuditTrailResponse;
 import com.blackdot.ems.shared.entity.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -17,7 +21,53 @@ import java.util.Map;
  * Provides comprehensive data access methods for audit trail management
  */
 @Repository
-public interface EmployeeAuditTrailRepository extends JpaRepository<EmployeeAuditTrail, Long> {
+public interface EmployeeAuditTrailRepository extends JpaRepository<EmployeeAuditTrail, Long>,
+        JpaSpecificationExecutor<EmployeeAuditTrail> {
+    
+    // List rows for the audit API: names resolved by joins in the same query, never lazily
+    String RESPONSE_SELECT = "SELECT new com.blackdot.ems.module.employee.dto.AuditTrailResponse(" +
+            "a.id, e.id, CONCAT(e.firstName, ' ', e.lastName), a.action, a.category, a.description, " +
+            "a.fieldName, a.oldValue, a.newValue, p.id, CONCAT(p.firstName, ' ', p.lastName), " +
+            "a.performedAt, a.ipAddress, a.severity, a.riskLevel, a.approvalRequired, a.approvalStatus, " +
+            "ap.id, CONCAT(ap.firstName, ' ', ap.lastName), a.approvedAt, a.approvalNotes, " +
+            "a.isSensitiveData, a.gdprRelevant) " +
+            "FROM EmployeeAuditTrail a JOIN a.employee e JOIN a.performedBy p LEFT JOIN a.approvedBy ap ";
+    
+    @Query(RESPONSE_SELECT + "WHERE a.employee.id = :employeeId ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findResponsesByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE a.employee.id = :employeeId ORDER BY a.performedAt DESC",
+           countQuery = "SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.employee.id = :employeeId")
+    Page<AuditTrailResponse> findResponsesByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+    
+    @Query(value = RESPONSE_SELECT + "ORDER BY a.performedAt DESC",
+           countQuery = "SELECT COUNT(a) FROM EmployeeAuditTrail a")
+    Page<AuditTrailResponse> findAllResponses(Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.id IN :ids")
+    List<AuditTrailResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.riskLevel IN ('HIGH', 'CRITICAL') ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findHighRiskResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE a.action IN ('UNAUTHORIZED_ACCESS', 'DATA_BREACH_DETECTED', 'SUSPICIOUS_ACTIVITY') ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findSecurityIncidentResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE a.approvalRequired = true AND a.approvalStatus = 'PENDING' ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findPendingApprovalResponses();
+    
+    @Query(value = RESPONSE_SELECT + "WHERE a.approvalRequired = true AND a.approvalStatus = 'PENDING' ORDER BY a.performedAt ASC, a.id ASC",
+           countQuery = "SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.approvalRequired = true AND a.approvalStatus = 'PENDING'")
+    Page<AuditTrailResponse> findApprovalQueue(Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.gdprRelevant = true ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findGdprRelevantResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE a.isSensitiveData = true ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findSensitiveDataResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE a.category IN ('COMPLIANCE', 'DATA_PRIVACY', 'SECURITY') ORDER BY a.performedAt DESC")
+    List<AuditTrailResponse> findComplianceResponses();
     
     // Basic queries by employee
     List<EmployeeAuditTrail> findByEmployeeIdOrderByPerformedAtDesc(Long employeeId);
@@ -91,29 +141,15 @@ public interface EmployeeAuditTrailRepository extends JpaRepository<EmployeeAudi
     @Query("SELECT a FROM EmployeeAuditTrail a WHERE a.createdAt < :cutoffDate")
     List<EmployeeAuditTrail> findEventsOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
     
-    @Query(value = "SELECT * FROM employee_audit_trail WHERE created_at + INTERVAL retention_period_days DAY < NOW()", nativeQuery = true)
+    @Query(value = "SELECT * FROM employee_audit_trail WHERE retention_period_days > 0 AND created_at < NOW() - make_interval(days => retention_period_days)", nativeQuery = true)
     List<EmployeeAuditTrail> findExpiredRetentionEvents();
     
-    // Search queries
-    @Query("SELECT a FROM EmployeeAuditTrail a WHERE " +
-           "LOWER(a.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.employee.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.employee.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.performedBy.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.performedBy.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.fieldName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "ORDER BY a.performedAt DESC")
-    List<EmployeeAuditTrail> searchAuditEvents(@Param("searchTerm") String searchTerm);
-    
-    @Query("SELECT a FROM EmployeeAuditTrail a WHERE " +
-           "LOWER(a.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.employee.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.employee.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.performedBy.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.performedBy.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(a.fieldName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "ORDER BY a.performedAt DESC")
-    Page<EmployeeAuditTrail> searchAuditEvents(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // Live event buffer seed: latest events with names resolved in the same query
+    @Query("SELECT new com.blackdot.ems.module.employee.dto.AuditFeedEvent(" +
+           "a.id, e.id, CONCAT(e.firstName, ' ', e.lastName), a.action, a.category, a.description, " +
+           "p.id, CONCAT(p.firstName, ' ', p.lastName), a.performedAt, a.severity, a.riskLevel, a.ipAddress) " +
+           "FROM EmployeeAuditTrail a JOIN a.employee e JOIN a.performedBy p ORDER BY a.performedAt DESC")
+    List<AuditFeedEvent> findLatestFeedEvents(Pageable pageable);
     
     // Field-specific change tracking
     List<EmployeeAuditTrail> findByEmployeeIdAndFieldNameOrderByPerformedAtDesc(Long employeeId, String fieldName);
@@ -129,6 +165,16 @@ public interface EmployeeAuditTrailRepository extends JpaRepository<EmployeeAudi
     @Query("SELECT a FROM EmployeeAuditTrail a WHERE a.ipAddress = :ipAddress AND a.performedAt >= :startDate ORDER BY a.performedAt DESC")
     List<EmployeeAuditTrail> findByIpAddressAndTimeRange(@Param("ipAddress") String ipAddress, @Param("startDate") LocalDateTime startDate);
     
+    // Live counters
+    @Query("SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.approvalRequired = true AND a.approvalStatus = 'PENDING'")
+    long countPendingApprovals();
+    
+    @Query("SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.riskLevel IN ('HIGH', 'CRITICAL')")
+    long countHighRiskEvents();
+    
+    @Query("SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.action IN ('UNAUTHORIZED_ACCESS', 'DATA_BREACH_DETECTED', 'SUSPICIOUS_ACTIVITY')")
+    long countSecurityIncidents();
+    
     // Statistical queries
     @Query("SELECT COUNT(a) FROM EmployeeAuditTrail a WHERE a.performedAt >= :startDate")
     Long countEventsSince(@Param("startDate") LocalDateTime startDate);
@@ -161,28 +207,4 @@ public interface EmployeeAuditTrailRepository extends JpaRepository<EmployeeAudi
     
     @Query("SELECT a.performedBy, COUNT(a) FROM EmployeeAuditTrail a WHERE a.performedAt >= :startDate GROUP BY a.performedBy ORDER BY COUNT(a) DESC")
     List<Object[]> getMostActiveUsers(@Param("startDate") LocalDateTime startDate);
-    
-    // Complex filtering query
-    @Query("SELECT a FROM EmployeeAuditTrail a WHERE " +
-           "(:employeeId IS NULL OR a.employee.id = :employeeId) AND " +
-           "(:performedById IS NULL OR a.performedBy.id = :performedById) AND " +
-           "(:category IS NULL OR a.category = :category) AND " +
-           "(:action IS NULL OR a.action = :action) AND " +
-           "(:severity IS NULL OR a.severity = :severity) AND " +
-           "(:riskLevel IS NULL OR a.riskLevel = :riskLevel) AND " +
-           "(:approvalStatus IS NULL OR a.approvalStatus = :approvalStatus) AND " +
-           "(:startDate IS NULL OR a.performedAt >= :startDate) AND " +
-           "(:endDate IS NULL OR a.performedAt <= :endDate) " +
-           "ORDER BY a.performedAt DESC")
-    Page<EmployeeAuditTrail> findWithFilters(
-            @Param("employeeId") Long employeeId,
-            @Param("performedById") Long performedById,
-            @Param("category") AuditCategory category,
-            @Param("action") AuditAction action,
-            @Param("severity") AuditSeverity severity,
-            @Param("riskLevel") RiskLevel riskLevel,
-            @Param("approvalStatus") ApprovalStatus approvalStatus,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable);
-}
\ No newline at end of file
+}
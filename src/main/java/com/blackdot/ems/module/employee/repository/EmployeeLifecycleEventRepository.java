@@ -1,5 +1,6 @@
 package com.blackdot.ems.module.employee.repository;
 
+import com.blackdot.ems.module.employee.dto.LifecycleEventSummary;
 import com.blackdot.ems.shared.entity.EmployeeLifecycleEvent;
 import com.blackdot.ems.shared.entity.EventStatus;
 import com.blackdot.ems.shared.entity.LifecycleEventType;
@@ -19,6 +20,21 @@ import java.util.List;
 @Repository
 public interface EmployeeLifecycleEventRepository extends JpaRepository<EmployeeLifecycleEvent, Long> {
     
+    String SUMMARY_SELECT = "SELECT new com.blackdot.ems.module.employee.dto.LifecycleEventSummary(" +
+            "e.id, u.id, u.firstName, u.lastName, u.email, u.employeeId, e.eventType, e.eventDate, e.dueDate, " +
+            "e.completedDate, e.status, e.description, e.priority, e.assignedTo, e.createdBy, e.createdAt) " +
+            "FROM EmployeeLifecycleEvent e JOIN e.employee u ";
+    
+    String SUMMARY_COUNT = "SELECT COUNT(e) FROM EmployeeLifecycleEvent e JOIN e.employee u ";
+    
+    String SEARCH_FILTER = "WHERE LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(e.notes) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ";
+    
+    String PROBATION_FILTER = "WHERE u.probationEndDate IS NOT NULL AND u.probationEndDate > CURRENT_DATE AND " +
+            "e.eventType IN :probationEventTypes ";
+    
     /**
      * Find all events for a specific employee
      */
@@ -41,16 +57,10 @@ public interface EmployeeLifecycleEventRepository extends JpaRepository<Employee
     List<EmployeeLifecycleEvent> findPendingEventsByEmployee(@Param("employeeId") Long employeeId, @Param("statuses") List<EventStatus> statuses);
     
     /**
-     * Find all overdue events
+     * Event types already created for an employee in a workflow or review cycle
      */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE e.dueDate < :currentDate AND e.status IN :activeStatuses ORDER BY e.dueDate ASC")
-    List<EmployeeLifecycleEvent> findOverdueEvents(@Param("currentDate") LocalDate currentDate, @Param("activeStatuses") List<EventStatus> activeStatuses);
-    
-    /**
-     * Find events due soon (within specified days)
-     */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE e.dueDate BETWEEN :startDate AND :endDate AND e.status IN :activeStatuses ORDER BY e.dueDate ASC")
-    List<EmployeeLifecycleEvent> findEventsDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("activeStatuses") List<EventStatus> activeStatuses);
+    @Query("SELECT e.eventType FROM EmployeeLifecycleEvent e WHERE e.employee.id = :employeeId AND e.cycleKey = :cycleKey")
+    List<LifecycleEventType> findEventTypesInCycle(@Param("employeeId") Long employeeId, @Param("cycleKey") String cycleKey);
     
     /**
      * Find events assigned to a specific person
@@ -74,64 +84,101 @@ public interface EmployeeLifecycleEventRepository extends JpaRepository<Employee
     long countByStatus(EventStatus status);
     
     /**
-     * Count overdue events
+     * Count events per status in one pass (rows of status, count)
      */
-    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE e.dueDate < :currentDate AND e.status IN :activeStatuses")
-    long countOverdueEvents(@Param("currentDate") LocalDate currentDate, @Param("activeStatuses") List<EventStatus> activeStatuses);
-    
-    /**
-     * Find all events with pagination
-     */
-    Page<EmployeeLifecycleEvent> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query("SELECT e.status, COUNT(e) FROM EmployeeLifecycleEvent e GROUP BY e.status")
+    List<Object[]> countGroupedByStatus();
     
     /**
-     * Find events by status with pagination
+     * Count overdue events
      */
-    Page<EmployeeLifecycleEvent> findByStatusOrderByDueDateAsc(EventStatus status, Pageable pageable);
+    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE e.dueDate < :currentDate AND e.status IN :activeStatuses")
+    long countOverdueEvents(@Param("currentDate") LocalDate currentDate, @Param("activeStatuses") List<EventStatus> activeStatuses);
     
     /**
-     * Search events by description or notes
+     * Count events due soon (within specified days)
      */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE " +
-           "LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(e.notes) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(e.employee.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(e.employee.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "ORDER BY e.eventDate DESC")
-    List<EmployeeLifecycleEvent> searchEvents(@Param("searchTerm") String searchTerm);
+    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE e.dueDate BETWEEN :startDate AND :endDate AND e.status IN :activeStatuses")
+    long countEventsDueSoon(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("activeStatuses") List<EventStatus> activeStatuses);
     
     /**
-     * Find events for employees in probation
+     * Count events for employees in probation
      */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE " +
+    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE " +
            "e.employee.probationEndDate IS NOT NULL AND " +
            "e.employee.probationEndDate > CURRENT_DATE AND " +
-           "e.eventType IN :probationEventTypes " +
-           "ORDER BY e.dueDate ASC")
-    List<EmployeeLifecycleEvent> findProbationEvents(@Param("probationEventTypes") List<LifecycleEventType> probationEventTypes);
+           "e.eventType IN :probationEventTypes")
+    long countProbationEvents(@Param("probationEventTypes") List<LifecycleEventType> probationEventTypes);
     
     /**
-     * Find contract renewal events due soon
+     * Count contract renewal events due soon
      */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE " +
+    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE " +
            "e.eventType = :contractRenewalType AND " +
            "e.dueDate BETWEEN :startDate AND :endDate AND " +
-           "e.status IN :activeStatuses " +
-           "ORDER BY e.dueDate ASC")
-    List<EmployeeLifecycleEvent> findContractRenewalsDue(
+           "e.status IN :activeStatuses")
+    long countContractRenewalsDue(
             @Param("contractRenewalType") LifecycleEventType contractRenewalType,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("activeStatuses") List<EventStatus> activeStatuses);
     
     /**
-     * Find performance review events due
+     * Count performance review events due
      */
-    @Query("SELECT e FROM EmployeeLifecycleEvent e WHERE " +
+    @Query("SELECT COUNT(e) FROM EmployeeLifecycleEvent e WHERE " +
            "e.eventType IN :performanceEventTypes AND " +
-           "e.status IN :activeStatuses " +
-           "ORDER BY e.dueDate ASC")
-    List<EmployeeLifecycleEvent> findPerformanceReviewsDue(
+           "e.status IN :activeStatuses")
+    long countPerformanceReviewsDue(
             @Param("performanceEventTypes") List<LifecycleEventType> performanceEventTypes,
             @Param("activeStatuses") List<EventStatus> activeStatuses);
-}
\ No newline at end of file
+    
+    // List projections (one page of summaries, employee joined in the same query).
+    // Sort keys repeat across many events, so e.id breaks ties and keeps offset pages stable.
+    
+    @Query(value = SUMMARY_SELECT + "ORDER BY e.createdAt DESC, e.id ASC", countQuery = SUMMARY_COUNT)
+    Page<LifecycleEventSummary> findSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE e.status = :status ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + "WHERE e.status = :status")
+    Page<LifecycleEventSummary> findSummariesByStatus(@Param("status") EventStatus status, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + SEARCH_FILTER + "ORDER BY e.eventDate DESC, e.id ASC",
+           countQuery = SUMMARY_COUNT + SEARCH_FILTER)
+    Page<LifecycleEventSummary> searchSummaries(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE e.dueDate < :currentDate AND e.status IN :activeStatuses ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + "WHERE e.dueDate < :currentDate AND e.status IN :activeStatuses")
+    Page<LifecycleEventSummary> findOverdueSummaries(@Param("currentDate") LocalDate currentDate,
+                                                     @Param("activeStatuses") List<EventStatus> activeStatuses,
+                                                     Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE e.dueDate BETWEEN :startDate AND :endDate AND e.status IN :activeStatuses " +
+                   "ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + "WHERE e.dueDate BETWEEN :startDate AND :endDate AND e.status IN :activeStatuses")
+    Page<LifecycleEventSummary> findSummariesDueBetween(@Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate,
+                                                        @Param("activeStatuses") List<EventStatus> activeStatuses,
+                                                        Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE e.eventType IN :eventTypes AND e.status IN :activeStatuses ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + "WHERE e.eventType IN :eventTypes AND e.status IN :activeStatuses")
+    Page<LifecycleEventSummary> findSummariesByEventTypes(@Param("eventTypes") List<LifecycleEventType> eventTypes,
+                                                          @Param("activeStatuses") List<EventStatus> activeStatuses,
+                                                          Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE e.eventType = :eventType AND e.dueDate BETWEEN :startDate AND :endDate " +
+                   "AND e.status IN :activeStatuses ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + "WHERE e.eventType = :eventType AND e.dueDate BETWEEN :startDate AND :endDate " +
+                   "AND e.status IN :activeStatuses")
+    Page<LifecycleEventSummary> findSummariesByEventTypeDueBetween(@Param("eventType") LifecycleEventType eventType,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate,
+                                                                   @Param("activeStatuses") List<EventStatus> activeStatuses,
+                                                                   Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + PROBATION_FILTER + "ORDER BY e.dueDate ASC, e.id ASC",
+           countQuery = SUMMARY_COUNT + PROBATION_FILTER)
+    Page<LifecycleEventSummary> findProbationSummaries(@Param("probationEventTypes") List<LifecycleEventType> probationEventTypes,
+                                                       Pageable pageable);
+}
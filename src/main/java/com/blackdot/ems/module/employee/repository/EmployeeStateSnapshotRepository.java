@@ -0,0 +1,25 @@
+package com.blackdot.ems.module.employee.repository;
+
+import com.blackdot.ems.shared.entity.EmployeeStateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for employee state snapshots (point-in-time reconstruction)
+ */
+@Repository
+public interface EmployeeStateSnapshotRepository extends JpaRepository<EmployeeStateSnapshot, Long> {
+    
+    // Latest snapshot taken at or before the given time
+    Optional<EmployeeStateSnapshot> findFirstByEmployeeIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+            Long employeeId, LocalDateTime takenAt);
+    
+    // Earliest snapshot taken after the given time
+    Optional<EmployeeStateSnapshot> findFirstByEmployeeIdAndTakenAtGreaterThanOrderByTakenAtAsc(
+            Long employeeId, LocalDateTime takenAt);
+    
+    Optional<EmployeeStateSnapshot> findFirstByEmployeeIdOrderByTakenAtDesc(Long employeeId);
+}
@@ -0,0 +1,12 @@
+package com.blackdot.ems.module.employee.repository;
+
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for background job checkpoints
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
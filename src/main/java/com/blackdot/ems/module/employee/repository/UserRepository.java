@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByDepartmentEntity(Department department);
     
+    /**
+     * Id, first name and last name of the given users (rows of three), without loading entities
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.isActive = true")
     List<User> findActiveUsersByRole(@Param("roleName") ERole roleName);
     
@@ -0,0 +1,21 @@
+package com.blackdot.ems.module.employee.repository;
+
+import com.blackdot.ems.shared.entity.WorkflowTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for lifecycle workflow templates
+ */
+@Repository
+public interface WorkflowTemplateRepository extends JpaRepository<WorkflowTemplate, Long> {
+    
+    Optional<WorkflowTemplate> findByCode(String code);
+    
+    boolean existsByCode(String code);
+    
+    List<WorkflowTemplate> findAllByOrderByCodeAsc();
+}
@@ -0,0 +1,272 @@
+package com.blackdot.ems.module.employee.scheduler;
+
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.shared.entity.EventStatus;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import com.blackdot.ems.shared.entity.LifecycleEventType;
+import com.blackdot.ems.shared.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Annual Review Cycle Job
+ * Creates the PERFORMANCE_REVIEW_DUE event of one annual review cycle for every ACTIVE
+ * employee, in the background. Employees are read in id order one chunk at a time and
+ * each chunk's events go in as one JDBC batch, in a short transaction that also moves
+ * the checkpoint; a run cut short by a crash or restart resumes after the last
+ * committed chunk on the next startup. The unique key on (employee, event type, cycle)
+ * makes re-runs and overlapping resumes insert nothing twice.
+ */
+@Component
+public class AnnualReviewCycleJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnualReviewCycleJob.class);
+
+    private static final String JOB_NAME = "annual-review-cycle";
+
+    private static final String DESCRIPTION = "Annual performance review";
+
+    private static final String CHUNK_SQL = "SELECT id, hire_date FROM users " +
+            "WHERE employee_status = 'ACTIVE' AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String REMAINING_SQL = "SELECT COUNT(*) FROM users " +
+            "WHERE employee_status = 'ACTIVE' AND id > ?";
+
+    private static final String INSERT_SQL = "INSERT INTO employee_lifecycle_events " +
+            "(employee_id, event_type, event_date, due_date, status, description, priority, created_at, created_by, cycle_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String CYCLE_COUNT_SQL = "SELECT COUNT(*) FROM employee_lifecycle_events " +
+            "WHERE event_type = ? AND cycle_key = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Value("${app.lifecycle.review-cycle.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processedEmployees = new AtomicLong();
+    private final List<Runnable> chunkListeners = new CopyOnWriteArrayList<>();
+
+    // Progress of the current or last run
+    private volatile String cycle;
+    private volatile String state = "IDLE";
+    private volatile long totalEmployees;
+    private volatile Long resumedAfterId;
+    private volatile Long eventsInCycle;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Called after every committed chunk (used to drop cached lifecycle statistics)
+     */
+    public void addChunkListener(Runnable listener) {
+        chunkListeners.add(listener);
+    }
+
+    /**
+     * Make sure the cycle key is unique even where schema update left it out, then
+     * resume a run that was interrupted by a crash or shutdown
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_lifecycle_event_cycle " +
+                    "ON employee_lifecycle_events (employee_id, event_type, cycle_key)");
+
+            JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+            if (checkpoint != null && checkpoint.getMarker() != null) {
+                logger.info("Resuming annual review cycle {} after employee id {}",
+                        checkpoint.getMarker(), checkpoint.getPosition());
+                launch(checkpoint);
+            }
+        } catch (Exception e) {
+            logger.error("Error occurred while resuming the annual review cycle", e);
+        }
+    }
+
+    /**
+     * Start generating the review cycle starting on the given date. Returns the
+     * initial progress; an interrupted run of the same cycle is resumed, not restarted.
+     */
+    public synchronized Map<String, Object> start(LocalDate reviewPeriodStart, Long createdBy) {
+        String cycleKey = reviewPeriodStart.toString();
+        if (running.get()) {
+            throw new BadRequestException("Annual review cycle " + cycle + " is already being generated");
+        }
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.getMarker() != null
+                && !cycleKey.equals(cycleOf(checkpoint.getMarker()))) {
+            throw new BadRequestException("Annual review cycle " + cycleOf(checkpoint.getMarker())
+                    + " was interrupted and must finish first");
+        }
+        if (checkpoint == null || checkpoint.getMarker() == null) {
+            checkpoint = new JobCheckpoint(JOB_NAME);
+            checkpoint.setMarker(cycleKey + "|" + createdBy);
+            checkpoint.setPosition(0L);
+            checkpoint.setRunStartedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        }
+
+        launch(checkpoint);
+        return getStatus();
+    }
+
+    /**
+     * Progress of the current or last run
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("cycle", cycle);
+        status.put("state", state);
+        status.put("totalEmployees", totalEmployees);
+        status.put("processedEmployees", processedEmployees.get());
+        status.put("resumedAfterId", resumedAfterId);
+        status.put("eventsInCycle", eventsInCycle);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("error", error);
+        return status;
+    }
+
+    // Helper methods
+
+    private void launch(JobCheckpoint checkpoint) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        String marker = checkpoint.getMarker();
+        cycle = cycleOf(marker);
+        state = "RUNNING";
+        resumedAfterId = checkpoint.getPosition() != null && checkpoint.getPosition() > 0 ? checkpoint.getPosition() : null;
+        processedEmployees.set(0);
+        totalEmployees = 0;
+        eventsInCycle = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+
+        Thread worker = new Thread(() -> run(checkpoint), "annual-review-cycle");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void run(JobCheckpoint checkpoint) {
+        try {
+            String marker = checkpoint.getMarker();
+            LocalDate cycleStart = LocalDate.parse(cycleOf(marker));
+            Long createdBy = createdByOf(marker);
+            long lastId = checkpoint.getPosition() != null ? checkpoint.getPosition() : 0L;
+
+            Long remaining = jdbcTemplate.queryForObject(REMAINING_SQL, Long.class, lastId);
+            totalEmployees = remaining != null ? remaining : 0;
+
+            while (true) {
+                List<Object[]> batch = new ArrayList<>(chunkSize);
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.query(CHUNK_SQL, rs -> {
+                    Date hireDate = rs.getDate("hire_date");
+                    LocalDate reviewDate = reviewDate(cycleStart, hireDate != null ? hireDate.toLocalDate() : null);
+                    batch.add(new Object[] {
+                            rs.getLong("id"), LifecycleEventType.PERFORMANCE_REVIEW_DUE.name(),
+                            Date.valueOf(reviewDate), Date.valueOf(reviewDate), EventStatus.PENDING.name(),
+                            DESCRIPTION, 2, Timestamp.valueOf(now), createdBy, cycle
+                    });
+                }, lastId, chunkSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                long chunkLastId = (Long) batch.get(batch.size() - 1)[0];
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                    checkpoint.setPosition(chunkLastId);
+                    checkpointRepository.save(checkpoint);
+                });
+                chunkListeners.forEach(Runnable::run);
+                processedEmployees.addAndGet(batch.size());
+                lastId = chunkLastId;
+
+                if (batch.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            checkpointRepository.deleteById(JOB_NAME);
+            eventsInCycle = jdbcTemplate.queryForObject(CYCLE_COUNT_SQL, Long.class,
+                    LifecycleEventType.PERFORMANCE_REVIEW_DUE.name(), cycle);
+            state = "COMPLETED";
+            logger.info("Annual review cycle {} generated: {} employees processed, {} review events in cycle",
+                    cycle, processedEmployees.get(), eventsInCycle);
+        } catch (Exception e) {
+            // The checkpoint stays, so the next start (or restart) resumes here
+            state = "FAILED";
+            error = e.getMessage();
+            logger.error("Annual review cycle {} failed after {} employees", cycle, processedEmployees.get(), e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Review on the hire-date anniversary offset within the cycle; employees without a
+     * hire date are reviewed at the start of the cycle
+     */
+    private LocalDate reviewDate(LocalDate cycleStart, LocalDate hireDate) {
+        return hireDate != null ? cycleStart.plusDays(hireDate.getDayOfYear() % 365) : cycleStart;
+    }
+
+    // Checkpoint marker is "<cycle start>|<created by>"
+    private String cycleOf(String marker) {
+        int separator = marker.indexOf('|');
+        return separator >= 0 ? marker.substring(0, separator) : marker;
+    }
+
+    private Long createdByOf(String marker) {
+        int separator = marker.indexOf('|');
+        if (separator < 0 || separator == marker.length() - 1 || "null".equals(marker.substring(separator + 1))) {
+            return null;
+        }
+        return Long.valueOf(marker.substring(separator + 1));
+    }
+}
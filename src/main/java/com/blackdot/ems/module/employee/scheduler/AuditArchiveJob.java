@@ -0,0 +1,309 @@
+package com.blackdot.ems.module.employee.scheduler;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.module.employee.service.AuditArchiveStore;
+import com.blackdot.ems.shared.entity.ApprovalStatus;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Audit Archive Job
+ * Moves whole months of audit events older than the hot window out of
+ * employee_audit_trail into compressed cold-archive segments. A month is streamed
+ * into a segment, the segment is forced to disk, and only then are its rows removed
+ * from the table (by dropping the month's partition when possible, otherwise in
+ * chunks). A checkpoint written before each month lets an interrupted run either
+ * finish the removal or discard the half-written segment. Events still pending
+ * approval, or decided after the month's run started, are left in the table (and
+ * out of the segment) for a later run, so approve/reject keep finding them.
+ */
+@Component
+public class AuditArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchiveJob.class);
+
+    private static final String JOB_NAME = "audit-archive";
+
+    private static final String SELECT_MONTH_SQL =
+            "SELECT a.*, e.first_name AS employee_first_name, e.last_name AS employee_last_name," +
+            "       p.first_name AS performer_first_name, p.last_name AS performer_last_name " +
+            "FROM employee_audit_trail a" +
+            "    LEFT JOIN users e ON e.id = a.employee_id" +
+            "    LEFT JOIN users p ON p.id = a.performed_by " +
+            "WHERE a.performed_at >= ? AND a.performed_at < ? AND a.id <= ?" +
+            "  AND (a.approval_status IS NULL OR a.approval_status <> 'PENDING')" +
+            "  AND (a.approved_at IS NULL OR a.approved_at < ?) " +
+            "ORDER BY a.performed_at, a.id";
+
+    private static final String DELETE_CHUNK_SQL =
+            "DELETE FROM employee_audit_trail " +
+            "WHERE performed_at >= ? AND performed_at < ? AND id IN (" +
+            "    SELECT id FROM employee_audit_trail" +
+            "    WHERE performed_at >= ? AND performed_at < ? AND id <= ?" +
+            "      AND (approval_status IS NULL OR approval_status <> 'PENDING')" +
+            "      AND (approved_at IS NULL OR approved_at < ?) LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AuditArchiveStore archiveStore;
+
+    @Autowired
+    private AuditPartitionManager partitionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.archive.age-months:12}")
+    private int ageMonths;
+
+    @Value("${app.audit.archive.block-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.audit.archive.delete-chunk-size:5000}")
+    private int deleteChunkSize;
+
+    @Value("${app.audit.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.audit.archive.max-run-minutes:60}")
+    private long maxRunMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private Counter archivedTotal;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        archivedTotal = meterRegistry.counter("ems.audit.archive.rows.archived.total");
+    }
+
+    // Run daily at 3:30 AM, after the retention purge and partition maintenance
+    @Scheduled(cron = "${app.audit.archive.cron:0 30 3 * * ?}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveAgedEvents();
+        } catch (Exception e) {
+            logger.error("Error occurred during audit archival", e);
+        }
+    }
+
+    /**
+     * Archive every full month older than the hot window. Returns the number of events moved.
+     */
+    public long archiveAgedEvents() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Audit archival already running, skipping");
+            return 0;
+        }
+        try {
+            return runArchive();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long runArchive() throws IOException {
+        resumeInterruptedMonth();
+
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(ageMonths);
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(performed_at) FROM employee_audit_trail WHERE performed_at < ?",
+                Timestamp.class, Timestamp.valueOf(firstHotMonth.atDay(1).atStartOfDay()));
+        if (oldest == null) {
+            return 0;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRunMinutes);
+        long archived = 0;
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            archived += archiveMonth(month);
+            if (System.nanoTime() > deadline) {
+                logger.info("Audit archival reached its time budget, will continue after {}", month);
+                break;
+            }
+        }
+
+        archivedTotal.increment(archived);
+        logger.info("Audit archival moved {} events older than {} to cold storage", archived, firstHotMonth);
+        return archived;
+    }
+
+    private long archiveMonth(YearMonth month) throws IOException {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        // Highest id the segment will hold; a later run of the same month (after pending
+        // events were decided) then always gets a new segment name
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM employee_audit_trail WHERE performed_at >= ? AND performed_at < ?" +
+                "  AND (approval_status IS NULL OR approval_status <> 'PENDING')",
+                Long.class, from, to);
+        if (maxId == null) {
+            return 0;
+        }
+
+        LocalDateTime decidedBefore = LocalDateTime.now();
+        JobCheckpoint checkpoint = new JobCheckpoint(JOB_NAME);
+        checkpoint.setMarker(month.toString());
+        checkpoint.setPosition(maxId);
+        checkpoint.setRunStartedAt(decidedBefore);
+        checkpointRepository.save(checkpoint);
+
+        // Stream through a server-side cursor: fetch size only applies inside a transaction
+        JdbcTemplate cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursorTemplate.setFetchSize(fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnly.setReadOnly(true);
+
+        int written = archiveStore.writeSegment(month, maxId, sink ->
+                readOnly.executeWithoutResult(status ->
+                        cursorTemplate.query(SELECT_MONTH_SQL, rs -> {
+                            sink.accept(mapRow(rs));
+                        }, from, to, maxId, Timestamp.valueOf(decidedBefore))));
+
+        long removed = removeArchivedRows(month, maxId, decidedBefore);
+        checkpointRepository.deleteById(JOB_NAME);
+        logger.info("Archived {} audit events from {} ({} rows deleted individually)", written, month, removed);
+        return written;
+    }
+
+    /**
+     * Finish a month whose segment was written before the previous run stopped, or
+     * throw away a segment that never completed so the month is archived again
+     */
+    private void resumeInterruptedMonth() throws IOException {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint == null || checkpoint.getMarker() == null) {
+            return;
+        }
+        YearMonth month = YearMonth.parse(checkpoint.getMarker());
+        long maxId = checkpoint.getPosition();
+        if (archiveStore.hasSegment(month, maxId)) {
+            logger.info("Resuming audit archival of {}: segment is complete, removing archived rows", month);
+            removeArchivedRows(month, maxId, checkpoint.getRunStartedAt());
+        } else {
+            logger.info("Discarding incomplete audit archive segment for {}", month);
+            archiveStore.discardSegment(month, maxId);
+        }
+        checkpointRepository.deleteById(JOB_NAME);
+    }
+
+    private long removeArchivedRows(YearMonth month, long maxId, LocalDateTime decidedBefore) {
+        // Cheap path for a partitioned table; the chunked delete then only sweeps
+        // rows of the month that landed in the default partition
+        partitionManager.dropArchivedPartition(month, maxId, decidedBefore);
+
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        Timestamp decided = Timestamp.valueOf(decidedBefore);
+        long removed = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_CHUNK_SQL, from, to, from, to, maxId, decided, deleteChunkSize));
+            if (deleted == null || deleted == 0) {
+                return removed;
+            }
+            removed += deleted;
+            if (!pause()) {
+                return removed;
+            }
+        }
+    }
+
+    private ArchivedAuditEvent mapRow(ResultSet rs) throws SQLException {
+        ArchivedAuditEvent event = new ArchivedAuditEvent();
+        event.setId(rs.getLong("id"));
+        event.setEmployeeId(rs.getObject("employee_id", Long.class));
+        event.setEmployeeFirstName(rs.getString("employee_first_name"));
+        event.setEmployeeLastName(rs.getString("employee_last_name"));
+        event.setAction(enumValue(AuditAction.class, rs.getString("action")));
+        event.setCategory(enumValue(AuditCategory.class, rs.getString("category")));
+        event.setDescription(rs.getString("description"));
+        event.setFieldName(rs.getString("field_name"));
+        event.setOldValue(rs.getString("old_value"));
+        event.setNewValue(rs.getString("new_value"));
+        event.setPerformedById(rs.getObject("performed_by", Long.class));
+        event.setPerformedByFirstName(rs.getString("performer_first_name"));
+        event.setPerformedByLastName(rs.getString("performer_last_name"));
+        event.setPerformedAt(rs.getObject("performed_at", LocalDateTime.class));
+        event.setIpAddress(rs.getString("ip_address"));
+        event.setUserAgent(rs.getString("user_agent"));
+        event.setSessionId(rs.getString("session_id"));
+        event.setSeverity(enumValue(AuditSeverity.class, rs.getString("severity")));
+        event.setRiskLevel(enumValue(RiskLevel.class, rs.getString("risk_level")));
+        event.setComplianceImpact(rs.getString("compliance_impact"));
+        event.setApprovalRequired(rs.getObject("approval_required", Boolean.class));
+        event.setApprovalStatus(enumValue(ApprovalStatus.class, rs.getString("approval_status")));
+        event.setApprovedById(rs.getObject("approved_by", Long.class));
+        event.setApprovedAt(rs.getObject("approved_at", LocalDateTime.class));
+        event.setApprovalNotes(rs.getString("approval_notes"));
+        event.setReferenceId(rs.getString("reference_id"));
+        event.setBusinessJustification(rs.getString("business_justification"));
+        event.setAdditionalMetadata(rs.getString("additional_metadata"));
+        event.setRetentionPeriodDays(rs.getObject("retention_period_days", Integer.class));
+        event.setSensitiveData(rs.getObject("is_sensitive_data", Boolean.class));
+        event.setGdprRelevant(rs.getObject("gdpr_relevant", Boolean.class));
+        event.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return event;
+    }
+
+    private <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.blackdot.ems.module.employee.scheduler;
+
+import com.blackdot.ems.module.employee.service.AuditRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Audit Partition Manager
+ * Keeps employee_audit_trail range-partitioned by month on performed_at: converts the
+ * Hibernate-created table once, pre-creates upcoming monthly partitions, and drops
+ * partitions whose rows are all past retention.
+ */
+@Component
+public class AuditPartitionManager implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    private static final String TABLE = "employee_audit_trail";
+    private static final String LEGACY_TABLE = "employee_audit_trail_legacy";
+    private static final String DEFAULT_PARTITION = "employee_audit_trail_default";
+    private static final String ID_SEQUENCE = "employee_audit_trail_pk_seq";
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern LEGACY_INDEX_TARGET = Pattern.compile(" ON (\\S+\\.)?" + LEGACY_TABLE + " ");
+    private static final Pattern PARTITION_NAME = Pattern.compile("employee_audit_trail_p(\\d{6})");
+
+    private static final String RETAINED_ROWS_SQL =
+            "SELECT COUNT(*) FROM %s " +
+            "WHERE retention_period_days IS NULL OR retention_period_days <= 0 " +
+            "   OR created_at >= NOW() - make_interval(days => retention_period_days)";
+
+    private static final String DROP_ROLLUP_SQL =
+            "WITH purged AS (" +
+            "    SELECT performed_at, action, category, severity, risk_level, performed_by FROM %s" +
+            "), " + AuditRollupService.DAILY_DECREMENT_CTE +
+            "SELECT COALESCE(SUM(purged_count), 0) FROM counts";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.audit.partitioning.migrate-existing:false}")
+    private boolean migrateExisting;
+
+    @Value("${app.audit.partitioning.min-retention-days:2555}")
+    private int minRetentionDays;
+
+    /**
+     * Runs once every singleton (including the JPA schema update) is ready but before
+     * the web server, schedulers and the audit writer start, so the table swap never
+     * races live requests and the first inserts already hit partitions
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        initialize();
+    }
+
+    private void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!isPartitioned()) {
+                Boolean hasRows = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + TABLE + ")", Boolean.class);
+                if (Boolean.TRUE.equals(hasRows) && !migrateExisting) {
+                    logger.warn("{} is not partitioned and already holds data; set " +
+                            "app.audit.partitioning.migrate-existing=true to convert it during a maintenance window", TABLE);
+                    return;
+                }
+                convertToPartitioned();
+            }
+            ensureFuturePartitions();
+        } catch (Exception e) {
+            logger.error("Error occurred while initializing audit partitions", e);
+        }
+    }
+
+    // Run daily at 3:00 AM to keep upcoming monthly partitions in place
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void maintainPartitions() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        try {
+            ensureFuturePartitions();
+        } catch (Exception e) {
+            logger.error("Error occurred while creating audit partitions", e);
+        }
+    }
+
+    public boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Drop monthly partitions older than the minimum retention whose rows have all
+     * expired, subtracting them from the daily rollup first. Returns rows removed.
+     */
+    public long dropExpiredPartitions() {
+        if (!enabled || !isPartitioned()) {
+            return 0;
+        }
+
+        LocalDate cutoff = LocalDate.now().minusDays(minRetentionDays);
+        TransactionTemplate transactionTemplate = newTransactionTemplate();
+        long droppedRows = 0;
+
+        for (String partition : listMonthlyPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+
+            Long rows = transactionTemplate.execute(status -> {
+                Long retained = jdbcTemplate.queryForObject(String.format(RETAINED_ROWS_SQL, partition), Long.class);
+                if (retained != null && retained > 0) {
+                    logger.debug("Keeping audit partition {}: {} rows still within retention", partition, retained);
+                    return 0L;
+                }
+                Long count = jdbcTemplate.queryForObject(String.format(DROP_ROLLUP_SQL, partition), Long.class);
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped expired audit partition {} ({} rows)", partition, count);
+                return count;
+            });
+            droppedRows += rows != null ? rows : 0;
+        }
+        return droppedRows;
+    }
+
+    /**
+     * Drop the month's partition once its rows have been copied to a cold-archive
+     * segment (every row id at most maxArchivedId that was not pending approval or
+     * decided at or after decidedBefore). The rollups are left alone since the events
+     * still exist in the archive. Returns false when the partition is missing or holds
+     * rows that were not archived.
+     */
+    public boolean dropArchivedPartition(YearMonth month, long maxArchivedId, LocalDateTime decidedBefore) {
+        if (!enabled || !isPartitioned()) {
+            return false;
+        }
+        String partition = partitionName(month);
+        Boolean dropped = newTransactionTemplate().execute(status -> {
+            String exists = jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, partition);
+            if (exists == null) {
+                return false;
+            }
+            Boolean unarchived = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE id > ? OR approval_status = 'PENDING'" +
+                    "    OR approved_at >= ?)", Boolean.class, maxArchivedId, Timestamp.valueOf(decidedBefore));
+            if (Boolean.TRUE.equals(unarchived)) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            logger.info("Dropped archived audit partition {}", partition);
+            return true;
+        });
+        return Boolean.TRUE.equals(dropped);
+    }
+
+    // Helper methods
+
+    private void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            createMonthlyPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * One-time conversion of the plain table into a partitioned one, in a single
+     * transaction. The primary key becomes (id, performed_at) as Postgres requires,
+     * ids keep coming from a sequence seeded past the existing maximum, and the
+     * foreign keys Hibernate created are recreated under their original names.
+     */
+    private void convertToPartitioned() {
+        newTransactionTemplate().executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+
+            List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                    "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+                    "WHERE conrelid = to_regclass(?) AND contype = 'f'", LEGACY_TABLE);
+            List<String> indexDefinitions = jdbcTemplate.queryForList(
+                    "SELECT indexdef FROM pg_indexes WHERE tablename = ? AND indexname NOT IN (" +
+                    "    SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?))",
+                    String.class, LEGACY_TABLE, LEGACY_TABLE);
+
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE +
+                    " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (performed_at)");
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + ID_SEQUENCE);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + ID_SEQUENCE + "')");
+            jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " OWNED BY " + TABLE + ".id");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_part_pkey PRIMARY KEY (id, performed_at)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_performed_at ON " + TABLE + " (performed_at)");
+
+            Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(performed_at) FROM " + LEGACY_TABLE, Timestamp.class);
+            YearMonth month = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+            for (; !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+                createMonthlyPartition(month);
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+            int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE);
+            jdbcTemplate.execute("SELECT setval('" + ID_SEQUENCE + "', COALESCE((SELECT MAX(id) FROM " + TABLE + "), 0) + 1, false)");
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+            for (Map<String, Object> foreignKey : foreignKeys) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey.get("conname") +
+                        " " + foreignKey.get("definition"));
+            }
+            // Secondary indexes (the composite filter indexes, search index, event uid) move over by name
+            for (String definition : indexDefinitions) {
+                jdbcTemplate.execute(LEGACY_INDEX_TARGET.matcher(definition)
+                        .replaceFirst(" ON " + TABLE + " ")
+                        .replaceFirst("^CREATE (UNIQUE )?INDEX ", "CREATE $1INDEX IF NOT EXISTS "));
+            }
+
+            logger.info("Converted {} to monthly range partitions on performed_at ({} rows copied)", TABLE, copied);
+        });
+    }
+
+    private List<String> listMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABLE)
+                .stream()
+                .filter(name -> PARTITION_NAME.matcher(name).matches())
+                .toList();
+    }
+
+    private String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(SUFFIX_FORMAT);
+    }
+
+    private YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        matcher.matches();
+        return YearMonth.parse(matcher.group(1), SUFFIX_FORMAT);
+    }
+
+    private TransactionTemplate newTransactionTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
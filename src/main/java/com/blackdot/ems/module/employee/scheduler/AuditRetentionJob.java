@@ -0,0 +1,199 @@
+package com.blackdot.ems.module.employee.scheduler;
+
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.module.employee.service.AuditArchiveStore;
+import com.blackdot.ems.module.employee.service.AuditRollupService;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Audit Retention Job
+ * Drops monthly audit partitions whose rows have all expired, then purges the
+ * remaining expired rows in bounded primary-key chunks, and deletes cold-archive
+ * segments that have fully expired.
+ * Each chunk is its own short transaction that also decrements the daily rollup and
+ * records a checkpoint, so an interrupted run resumes where it stopped. The job
+ * pauses between chunks and stops at a time budget to keep OLTP latency flat.
+ */
+@Component
+public class AuditRetentionJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionJob.class);
+    
+    private static final String JOB_NAME = "audit-retention";
+    
+    private static final String PURGE_CHUNK_SQL =
+            "WITH purged AS (" +
+            "    DELETE FROM employee_audit_trail" +
+            "    WHERE id >= ? AND id < ?" +
+            "      AND retention_period_days > 0" +
+            "      AND created_at < NOW() - make_interval(days => retention_period_days)" +
+            "    RETURNING performed_at, action, category, severity, risk_level, performed_by" +
+            "), " + AuditRollupService.DAILY_DECREMENT_CTE +
+            "SELECT COALESCE(SUM(purged_count), 0) FROM counts";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private AuditPartitionManager partitionManager;
+    
+    @Autowired
+    private AuditArchiveStore archiveStore;
+    
+    @Value("${app.audit.retention.chunk-size:5000}")
+    private int chunkSize;
+    
+    @Value("${app.audit.retention.pause-ms:200}")
+    private long pauseMs;
+    
+    @Value("${app.audit.retention.max-run-minutes:30}")
+    private long maxRunMinutes;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    private TransactionTemplate transactionTemplate;
+    private DistributionSummary purgedPerRun;
+    private Counter purgedTotal;
+    
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        purgedPerRun = DistributionSummary.builder("ems.audit.retention.rows.purged")
+                .description("Audit rows purged per retention run")
+                .register(meterRegistry);
+        purgedTotal = meterRegistry.counter("ems.audit.retention.rows.purged.total");
+    }
+    
+    // Run daily at 2:00 AM, outside office hours
+    @Scheduled(cron = "${app.audit.retention.cron:0 0 2 * * ?}")
+    public void scheduledPurge() {
+        try {
+            purgeExpiredEvents();
+        } catch (Exception e) {
+            logger.error("Error occurred during audit retention purge", e);
+        }
+    }
+    
+    /**
+     * Run (or resume) a purge pass. Returns the number of rows deleted by this run.
+     */
+    public long purgeExpiredEvents() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Audit retention purge already running, skipping");
+            return 0;
+        }
+        try {
+            return runPurge();
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private long runPurge() {
+        long droppedRows = partitionManager.dropExpiredPartitions();
+        long purgedRows = purgeExpiredChunks();
+        long archivedRows = archiveStore.purgeExpiredSegments();
+        if (archivedRows > 0) {
+            jdbcTemplate.update("DELETE FROM audit_rollup_daily WHERE event_count <= 0");
+        }
+        
+        long purged = droppedRows + purgedRows + archivedRows;
+        purgedPerRun.record(purged);
+        purgedTotal.increment(purged);
+        logger.info("Audit retention run removed {} expired events ({} via partition drops, {} from the archive)",
+                purged, droppedRows, archivedRows);
+        return purged;
+    }
+    
+    private long purgeExpiredChunks() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee_audit_trail", Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+        
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        long nextId;
+        if (checkpoint.getPosition() != null) {
+            nextId = checkpoint.getPosition();
+            logger.info("Resuming audit retention purge at id {} (pass started {})", nextId, checkpoint.getRunStartedAt());
+        } else {
+            nextId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee_audit_trail", Long.class);
+            checkpoint.setRunStartedAt(LocalDateTime.now());
+            logger.info("Starting audit retention purge over ids {}..{}", nextId, maxId);
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRunMinutes);
+        long purged = 0;
+        
+        while (nextId <= maxId) {
+            final long fromId = nextId;
+            final long toId = nextId + chunkSize;
+            
+            Long deleted = transactionTemplate.execute(status -> {
+                Long count = jdbcTemplate.queryForObject(PURGE_CHUNK_SQL, Long.class, fromId, toId);
+                checkpoint.setPosition(toId);
+                checkpointRepository.save(checkpoint);
+                return count;
+            });
+            purged += deleted != null ? deleted : 0;
+            nextId = toId;
+            
+            if (System.nanoTime() > deadline) {
+                logger.info("Audit retention purge reached its time budget, will resume at id {}", nextId);
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        
+        if (nextId > maxId) {
+            checkpointRepository.deleteById(JOB_NAME);
+            jdbcTemplate.update("DELETE FROM audit_rollup_daily WHERE event_count <= 0");
+        }
+        
+        return purged;
+    }
+    
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
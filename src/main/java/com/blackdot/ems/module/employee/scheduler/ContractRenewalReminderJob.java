@@ -0,0 +1,138 @@
+package com.blackdot.ems.module.employee.scheduler;
+
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Contract Renewal Reminder Job
+ * Creates a CONTRACT_RENEWAL_DUE event, due 30 days before the contract ends, for
+ * every contract that comes within the 30-day reminder window. Each run only reads
+ * contracts that entered the window since the previous run (an index range on
+ * contract_end_date above the stored high-water mark), plus contracts in the window
+ * whose employee record changed since then. Events are keyed on employee and
+ * contract end date through the cycle key, so a contract is never reminded twice
+ * and an extended contract gets a reminder for its new end date.
+ */
+@Component
+public class ContractRenewalReminderJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractRenewalReminderJob.class);
+
+    private static final String JOB_NAME = "contract-renewal-reminders";
+
+    // Matches User.isContractExpiringSoon()
+    private static final int REMINDER_WINDOW_DAYS = 30;
+
+    // Window is (today, horizon]; newly entered: above the last horizon, or employee changed since the last run.
+    // Reminders created before the cycle key existed (cycle_key NULL) count as already sent.
+    private static final String INSERT_SQL = "INSERT INTO employee_lifecycle_events " +
+            "(employee_id, event_type, event_date, due_date, status, description, priority, created_at, created_by, cycle_key) " +
+            "SELECT u.id, 'CONTRACT_RENEWAL_DUE', u.contract_end_date - " + REMINDER_WINDOW_DAYS + ", " +
+            "       u.contract_end_date - " + REMINDER_WINDOW_DAYS + ", 'PENDING', " +
+            "       'Contract renewal required for ' || u.first_name || ' ' || u.last_name, 1, " +
+            "       CAST(? AS timestamp), CAST(? AS bigint), " +
+            "       'CONTRACT:' || u.contract_end_date " +
+            "FROM users u " +
+            "WHERE u.contract_end_date > ? AND u.contract_end_date <= ? " +
+            "  AND (u.contract_end_date > ? OR u.updated_at >= ?) " +
+            "  AND NOT EXISTS (SELECT 1 FROM employee_lifecycle_events e " +
+            "      WHERE e.employee_id = u.id AND e.event_type = 'CONTRACT_RENEWAL_DUE' AND e.cycle_key IS NULL " +
+            "        AND e.due_date = u.contract_end_date - " + REMINDER_WINDOW_DAYS + ") " +
+            "ON CONFLICT DO NOTHING RETURNING id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Value("${app.lifecycle.contract-reminders.enabled:true}")
+    private boolean enabled;
+
+    private final List<Runnable> runListeners = new CopyOnWriteArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Called after a run that created reminders (used to drop cached lifecycle
+     * statistics and resync the overdue timer)
+     */
+    public void addRunListener(Runnable listener) {
+        runListeners.add(listener);
+    }
+
+    // Run daily at 6:15 AM
+    @Scheduled(cron = "${app.lifecycle.contract-reminders.cron:0 15 6 * * ?}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            generateReminders(null);
+        } catch (Exception e) {
+            logger.error("Error occurred while generating contract renewal reminders", e);
+        }
+    }
+
+    /**
+     * Create the reminders for contracts that entered the window since the last run.
+     * Returns the ids of the events created.
+     */
+    public synchronized List<Long> generateReminders(Long createdBy) {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        LocalDate today = runStartedAt.toLocalDate();
+        LocalDate horizon = today.plusDays(REMINDER_WINDOW_DAYS - 1);
+
+        List<Long> created = transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(() -> new JobCheckpoint(JOB_NAME));
+            // On the first run the whole window lies above the high-water mark
+            LocalDate lastHorizon = checkpoint.getPosition() != null ? LocalDate.ofEpochDay(checkpoint.getPosition()) : today;
+            LocalDateTime lastRunStartedAt = checkpoint.getRunStartedAt() != null ? checkpoint.getRunStartedAt() : runStartedAt;
+
+            List<Long> ids = new ArrayList<>();
+            jdbcTemplate.query(INSERT_SQL, rs -> {
+                ids.add(rs.getLong("id"));
+            }, Timestamp.valueOf(runStartedAt), createdBy, Date.valueOf(today), Date.valueOf(horizon),
+                    Date.valueOf(lastHorizon.isAfter(today) ? lastHorizon : today), Timestamp.valueOf(lastRunStartedAt));
+
+            checkpoint.setPosition(horizon.toEpochDay());
+            checkpoint.setRunStartedAt(runStartedAt);
+            checkpointRepository.save(checkpoint);
+            return ids;
+        });
+
+        if (created != null && !created.isEmpty()) {
+            runListeners.forEach(Runnable::run);
+            logger.info("Created {} contract renewal reminders", created.size());
+        }
+        return created != null ? created : List.of();
+    }
+}
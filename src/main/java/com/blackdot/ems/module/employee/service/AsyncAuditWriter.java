@@ -0,0 +1,728 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.shared.entity.ApprovalStatus;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous Audit Writer
+ * Write-behind pipeline for audit trail rows. Producers hand over id-only records
+ * after their transaction commits; a single writer thread drains the bounded queue
+ * and flushes it with JDBC batch inserts.
+ *
+ * Durability: every accepted record gets an event uid and is handed to the journal.
+ * Producers never touch the journal file. The writer thread appends everything handed
+ * over so far in one write per loop (group commit) and forces it to disk on a timer,
+ * so a crash loses at most that window. The journal is split into segments; a
+ * segment is deleted once every record in it has been inserted, spilled or dropped.
+ * Records that cannot be queued or inserted go to an append-only spill file, which
+ * the writer replays when idle. Journal segments left by an unclean shutdown are moved
+ * to the spill file at startup. Replayed records whose uid is already in the table are
+ * skipped, so a record is inserted once even when it is replayed.
+ */
+@Component
+public class AsyncAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncAuditWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO employee_audit_trail (" +
+            "employee_id, action, category, description, field_name, old_value, new_value, " +
+            "performed_by, performed_at, ip_address, user_agent, session_id, severity, risk_level, " +
+            "approval_required, approval_status, retention_period_days, is_sensitive_data, gdpr_relevant, created_at, " +
+            "event_uid) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    // The performed_at range lets the lookup skip partitions outside the batch
+    private static final String INSERTED_UIDS_SQL = "SELECT event_uid FROM employee_audit_trail " +
+            "WHERE event_uid = ANY(?) AND performed_at BETWEEN ? AND ?";
+
+    private static final String JOURNAL_PREFIX = "audit-journal";
+    private static final String JOURNAL_SUFFIX = ".ndjson";
+
+    /**
+     * What a producer does when the queue is full
+     */
+    public enum BackpressurePolicy {
+        BLOCK, // wait up to the offer timeout, then spill
+        SPILL, // append straight to the spill file
+        DROP   // discard the record and count it
+    }
+
+    // A queued record and its journal sequence (0 when it was not journaled)
+    private record Pending(long sequence, AuditEventRecord record) {
+    }
+
+    private record JournalLine(long sequence, String json) {
+    }
+
+    // A closed journal segment and the highest sequence written to it
+    private record JournalSegment(Path file, long maxSequence) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuditRollupService rollupService;
+
+    @Autowired
+    private AuditEventBuffer eventBuffer;
+
+    @Value("${app.audit.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.writer.backpressure:BLOCK}")
+    private BackpressurePolicy backpressurePolicy;
+
+    @Value("${app.audit.writer.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${app.audit.writer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${app.audit.writer.spill-dir:data/audit}")
+    private String spillDir;
+
+    @Value("${app.audit.writer.journal-enabled:true}")
+    private boolean journalEnabled;
+
+    @Value("${app.audit.writer.journal-segment-bytes:8388608}")
+    private long journalSegmentBytes;
+
+    @Value("${app.audit.writer.journal-fsync-ms:1000}")
+    private long journalFsyncMs;
+
+    private BlockingQueue<Pending> queue;
+    private TransactionTemplate transactionTemplate;
+
+    private Path directory;
+    private Path spillFile;
+    private Path replayFile;
+
+    private final Object spillLock = new Object();
+    private final Object journalLock = new Object();
+
+    // Handed over by producers, appended by the writer thread
+    private final ConcurrentLinkedQueue<JournalLine> journalPending = new ConcurrentLinkedQueue<>();
+    // Journaled records not yet inserted, spilled or dropped
+    private final ConcurrentSkipListSet<Long> unsettled = new ConcurrentSkipListSet<>();
+    private final AtomicLong journalSequence = new AtomicLong();
+
+    // Guarded by journalLock
+    private FileChannel journalChannel;
+    private Path journalFile;
+    private long journalBytes;
+    private long journalMaxSequence;
+    private boolean journalUnforced;
+    private long lastForceMillis;
+    private int segmentNumber;
+    private final Deque<JournalSegment> closedSegments = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter spilledCounter;
+    private Counter droppedCounter;
+    private Counter rejectedCounter;
+    private Counter duplicateCounter;
+
+    @PostConstruct
+    public void init() throws IOException {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        directory = Paths.get(spillDir);
+        Files.createDirectories(directory);
+        spillFile = directory.resolve("audit-spill.ndjson");
+        replayFile = directory.resolve("audit-spill.replay");
+
+        recoverJournal();
+        if (journalEnabled) {
+            synchronized (journalLock) {
+                openJournalSegment();
+            }
+        }
+
+        Gauge.builder("ems.audit.writer.queue.depth", queue, Collection::size)
+                .description("Audit events waiting to be flushed")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("ems.audit.writer.flush.latency")
+                .description("Time taken to flush one batch of audit events")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("ems.audit.writer.events", "outcome", "written");
+        spilledCounter = meterRegistry.counter("ems.audit.writer.events", "outcome", "spilled");
+        droppedCounter = meterRegistry.counter("ems.audit.writer.events", "outcome", "dropped");
+        rejectedCounter = meterRegistry.counter("ems.audit.writer.events", "outcome", "rejected");
+        duplicateCounter = meterRegistry.counter("ems.audit.writer.events", "outcome", "duplicate");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Audit writer started (capacity={}, batchSize={}, backpressure={}, journal={})",
+                queueCapacity, batchSize, backpressurePolicy, journalEnabled);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.warn("Spilling {} unflushed audit events on shutdown", remaining.size());
+            spill(records(remaining));
+            settle(remaining);
+        }
+
+        synchronized (journalLock) {
+            if (journalChannel != null) {
+                writeJournal();
+                closeJournalSegment();
+                deleteSettledSegments();
+            }
+        }
+    }
+
+    /**
+     * Submit an audit record. Inside a transaction the record is only queued once
+     * that transaction commits, so rolled-back changes are never audited.
+     */
+    public void submit(AuditEventRecord record) {
+        if (!isComplete(record)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(record);
+                }
+            });
+        } else {
+            enqueue(record);
+        }
+    }
+
+    /**
+     * Queue a record right away, ignoring any surrounding transaction. For producers
+     * that already run after a commit, where a new synchronization would never fire.
+     */
+    public void submitImmediately(AuditEventRecord record) {
+        if (isComplete(record)) {
+            enqueue(record);
+        }
+    }
+
+    /**
+     * Current number of queued records
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // The NOT NULL columns; a record without them would fail its whole batch
+    private boolean isComplete(AuditEventRecord record) {
+        if (record.getEmployeeId() != null && record.getPerformedById() != null
+                && record.getAction() != null && record.getCategory() != null) {
+            return true;
+        }
+        rejectedCounter.increment();
+        logger.warn("Rejecting incomplete audit event {} (employee {}, performed by {})",
+                record.getAction(), record.getEmployeeId(), record.getPerformedById());
+        return false;
+    }
+
+    private void enqueue(AuditEventRecord record) {
+        // Fixed before journaling, so a replayed record carries the same key
+        if (record.getEventUid() == null) {
+            record.setEventUid(UUID.randomUUID());
+        }
+        if (record.getPerformedAt() == null) {
+            record.setPerformedAt(LocalDateTime.now());
+        }
+
+        Pending pending = new Pending(journal(record), record);
+        if (queue.offer(pending)) {
+            return;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                spill(List.of(record));
+            }
+            case SPILL -> spill(List.of(record));
+            case DROP -> droppedCounter.increment();
+        }
+        settle(List.of(pending));
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                syncJournal();
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Audit writer loop failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<AuditEventRecord> records = records(batch);
+        long start = System.nanoTime();
+        try {
+            insertBatch(records, false);
+        } catch (DataIntegrityViolationException e) {
+            insertSkippingRejected(records, false);
+        } catch (Exception e) {
+            logger.error("Failed to flush {} audit events, spilling to {}", records.size(), spillFile, e);
+            spill(records);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        settle(batch);
+    }
+
+    /**
+     * Insert a batch and count it in the rollups. Replayed batches first drop records
+     * that an earlier attempt already inserted.
+     */
+    private void insertBatch(List<AuditEventRecord> batch, boolean replay) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditEventRecord> inserted = transactionTemplate.execute(status -> {
+            List<AuditEventRecord> fresh = replay ? withoutInserted(batch) : batch;
+            if (!fresh.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, fresh, fresh.size(), (ps, record) -> bind(ps, record, now));
+                rollupService.recordBatch(fresh, now);
+            }
+            return fresh;
+        });
+        if (inserted == null || inserted.isEmpty()) {
+            return;
+        }
+        writtenCounter.increment(inserted.size());
+        try {
+            eventBuffer.publishRecords(inserted);
+        } catch (Exception e) {
+            // The rows are committed; never let the live feed trigger a retry or spill
+            logger.warn("Failed to publish {} audit events to the live buffer", inserted.size(), e);
+        }
+    }
+
+    /**
+     * One bad row must not poison a whole batch: retry row by row and discard
+     * only the rows the database refuses.
+     */
+    private void insertSkippingRejected(List<AuditEventRecord> batch, boolean replay) {
+        for (AuditEventRecord record : batch) {
+            try {
+                insertBatch(List.of(record), replay);
+            } catch (DataIntegrityViolationException e) {
+                rejectedCounter.increment();
+                logger.error("Discarding audit event {} for employee {}: {}",
+                        record.getAction(), record.getEmployeeId(), e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    // Records without a uid (spilled before uids existed) cannot be matched and are kept
+    private List<AuditEventRecord> withoutInserted(List<AuditEventRecord> batch) {
+        UUID[] uids = batch.stream().map(AuditEventRecord::getEventUid).filter(Objects::nonNull).toArray(UUID[]::new);
+        // A uid is always assigned together with performedAt
+        LocalDateTime from = batch.stream().map(AuditEventRecord::getPerformedAt).filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo).orElse(null);
+        LocalDateTime to = batch.stream().map(AuditEventRecord::getPerformedAt).filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo).orElse(null);
+        if (uids.length == 0 || from == null) {
+            return batch;
+        }
+
+        Set<UUID> existing = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERTED_UIDS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", uids));
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, rs -> {
+            existing.add(rs.getObject("event_uid", UUID.class));
+        });
+        if (existing.isEmpty()) {
+            return batch;
+        }
+        duplicateCounter.increment(existing.size());
+        return batch.stream()
+                .filter(record -> record.getEventUid() == null || !existing.contains(record.getEventUid()))
+                .toList();
+    }
+
+    // Mirrors the defaults applied by EmployeeAuditTrail.onCreate()
+    private void bind(PreparedStatement ps, AuditEventRecord record, LocalDateTime now) throws SQLException {
+        AuditSeverity severity = record.getSeverity() != null ? record.getSeverity() : AuditSeverity.MEDIUM;
+        RiskLevel riskLevel = record.getRiskLevel() != null ? record.getRiskLevel() : RiskLevel.LOW;
+        ApprovalStatus approvalStatus = record.isApprovalRequired()
+                ? ApprovalStatus.PENDING : ApprovalStatus.NOT_REQUIRED;
+
+        // Nullable binds: an incomplete replayed row is refused by the database, not a NullPointerException
+        ps.setObject(1, record.getEmployeeId(), Types.BIGINT);
+        ps.setString(2, record.getAction() != null ? record.getAction().name() : null);
+        ps.setString(3, record.getCategory() != null ? record.getCategory().name() : null);
+        ps.setString(4, record.getDescription());
+        ps.setString(5, record.getFieldName());
+        ps.setString(6, record.getOldValue());
+        ps.setString(7, record.getNewValue());
+        ps.setObject(8, record.getPerformedById(), Types.BIGINT);
+        ps.setObject(9, record.getPerformedAt() != null ? record.getPerformedAt() : now);
+        ps.setString(10, record.getIpAddress());
+        ps.setString(11, record.getUserAgent());
+        ps.setString(12, record.getSessionId());
+        ps.setString(13, severity.name());
+        ps.setString(14, riskLevel.name());
+        ps.setBoolean(15, record.isApprovalRequired());
+        ps.setString(16, approvalStatus.name());
+        ps.setObject(17, record.getRetentionPeriodDays(), Types.INTEGER);
+        ps.setBoolean(18, record.isSensitiveData());
+        ps.setBoolean(19, record.isGdprRelevant());
+        ps.setObject(20, now);
+        ps.setObject(21, record.getEventUid(), Types.OTHER);
+    }
+
+    private List<AuditEventRecord> records(List<Pending> pending) {
+        List<AuditEventRecord> records = new ArrayList<>(pending.size());
+        pending.forEach(entry -> records.add(entry.record()));
+        return records;
+    }
+
+    // Journal handling
+
+    /**
+     * Hand a record to the journal. Returns its journal sequence, or 0 when it was not
+     * journaled. Only serializes; the writer thread does the file I/O.
+     */
+    private long journal(AuditEventRecord record) {
+        if (!journalEnabled) {
+            return 0;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to journal audit event {}", record.getAction(), e);
+            return 0;
+        }
+        long sequence = journalSequence.incrementAndGet();
+        unsettled.add(sequence);
+        journalPending.add(new JournalLine(sequence, json));
+        return sequence;
+    }
+
+    private void settle(List<Pending> pending) {
+        for (Pending entry : pending) {
+            if (entry.sequence() > 0) {
+                unsettled.remove(entry.sequence());
+            }
+        }
+    }
+
+    /**
+     * Writer-thread journal pass: append everything handed over since the last pass,
+     * force it to disk when the interval is up, rotate a full (or fully settled)
+     * segment and delete closed segments whose records are all settled
+     */
+    private void syncJournal() {
+        if (!journalEnabled) {
+            return;
+        }
+        synchronized (journalLock) {
+            if (journalChannel == null) {
+                return;
+            }
+            writeJournal();
+            try {
+                long now = System.currentTimeMillis();
+                if (journalUnforced && now - lastForceMillis >= journalFsyncMs) {
+                    journalChannel.force(false);
+                    journalUnforced = false;
+                    lastForceMillis = now;
+                }
+                if (journalBytes >= journalSegmentBytes || (journalBytes > 0 && journalMaxSequence <= settledThrough())) {
+                    closeJournalSegment();
+                    openJournalSegment();
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to maintain audit journal segment {}", journalFile, e);
+            }
+            deleteSettledSegments();
+        }
+    }
+
+    // Caller holds journalLock
+    private void writeJournal() {
+        if (journalPending.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        long maxSequence = journalMaxSequence;
+        JournalLine line;
+        while ((line = journalPending.poll()) != null) {
+            lines.append(line.json()).append('\n');
+            maxSequence = Math.max(maxSequence, line.sequence());
+        }
+        // Counted as written even if the write fails, so the segment can still be retired
+        journalMaxSequence = maxSequence;
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                journalBytes += journalChannel.write(bytes);
+            }
+            journalUnforced = true;
+        } catch (IOException e) {
+            logger.warn("Failed to append to audit journal {}", journalFile, e);
+        }
+    }
+
+    // Highest sequence up to which every journaled record is settled
+    private long settledThrough() {
+        Long oldest = unsettled.isEmpty() ? null : unsettled.first();
+        return oldest != null ? oldest - 1 : Long.MAX_VALUE;
+    }
+
+    // Caller holds journalLock
+    private void openJournalSegment() throws IOException {
+        journalFile = directory.resolve(String.format("%s-%06d%s", JOURNAL_PREFIX, ++segmentNumber, JOURNAL_SUFFIX));
+        journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        journalBytes = 0;
+        journalMaxSequence = 0;
+        journalUnforced = false;
+    }
+
+    // Caller holds journalLock
+    private void closeJournalSegment() {
+        try {
+            if (journalUnforced) {
+                journalChannel.force(false);
+            }
+            journalChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit journal segment {}", journalFile, e);
+        }
+        closedSegments.addLast(new JournalSegment(journalFile, journalMaxSequence));
+        journalChannel = null;
+    }
+
+    // Caller holds journalLock
+    private void deleteSettledSegments() {
+        long settled = settledThrough();
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().maxSequence() <= settled) {
+            JournalSegment segment = closedSegments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.file());
+            } catch (IOException e) {
+                logger.warn("Failed to delete audit journal segment {}", segment.file(), e);
+            }
+        }
+    }
+
+    private void recoverJournal() throws IOException {
+        List<Path> leftovers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JOURNAL_PREFIX + "*" + JOURNAL_SUFFIX)) {
+            files.forEach(leftovers::add);
+        }
+        leftovers.sort(null);
+
+        long recovered = 0;
+        for (Path file : leftovers) {
+            if (Files.size(file) > 0) {
+                byte[] pending = Files.readAllBytes(file);
+                synchronized (spillLock) {
+                    Files.write(spillFile, pending, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    if (pending[pending.length - 1] != '\n') {
+                        Files.write(spillFile, new byte[]{'\n'}, StandardOpenOption.APPEND);
+                    }
+                }
+                recovered += pending.length;
+            }
+            Files.delete(file);
+        }
+        if (recovered > 0) {
+            logger.warn("Recovered {} audit journal segments from an unclean shutdown ({} bytes), queued for replay",
+                    leftovers.size(), recovered);
+        }
+    }
+
+    // Spill file handling
+
+    private void spill(List<AuditEventRecord> records) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEventRecord record : records) {
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.newLine();
+                }
+                spilledCounter.increment(records.size());
+            } catch (IOException e) {
+                droppedCounter.increment(records.size());
+                logger.error("Failed to spill {} audit events, they are lost", records.size(), e);
+            }
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile) || Files.size(spillFile) == 0) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            int replayed = 0;
+            List<AuditEventRecord> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        batch.add(objectMapper.readValue(line, AuditEventRecord.class));
+                    } catch (JsonProcessingException e) {
+                        // Torn write from a crash
+                        rejectedCounter.increment();
+                        logger.warn("Skipping unreadable spilled audit event: {}", e.getOriginalMessage());
+                    }
+                    if (batch.size() == batchSize) {
+                        replayed += replayBatch(batch);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                replayed += replayBatch(batch);
+            }
+
+            Files.delete(replayFile);
+            logger.info("Replayed {} spilled audit events", replayed);
+        } catch (Exception e) {
+            logger.warn("Audit spill replay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int replayBatch(List<AuditEventRecord> batch) {
+        int size = batch.size();
+        try {
+            insertBatch(batch, true);
+        } catch (DataIntegrityViolationException e) {
+            insertSkippingRejected(batch, true);
+        }
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,194 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit Anomaly Detector
+ * Watches committed audit events as they are published and keeps sliding-window
+ * counts per IP address, per performer and per affected employee, plus failed or
+ * unauthorized access attempts per IP. Counts live in fixed-size count-min sketches,
+ * so memory does not grow with the number of distinct keys. When a count crosses its
+ * threshold the detector raises a SUSPICIOUS_ACTIVITY audit event itself; each key
+ * alerts at most once per window.
+ */
+@Component
+public class AuditAnomalyDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditAnomalyDetector.class);
+
+    private static final int MAX_COOLDOWN_ENTRIES = 10_000;
+
+    private enum Dimension {
+        IP("IP address"),
+        PERFORMER("performer"),
+        EMPLOYEE("employee"),
+        FAILED_ACCESS("failed or unauthorized access from IP address");
+
+        private final String label;
+
+        Dimension(String label) {
+            this.label = label;
+        }
+    }
+
+    @Autowired
+    private AuditEventBuffer eventBuffer;
+
+    @Autowired
+    private AsyncAuditWriter auditWriter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.anomaly.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.anomaly.window-seconds:300}")
+    private int windowSeconds;
+
+    @Value("${app.audit.anomaly.window-buckets:5}")
+    private int windowBuckets;
+
+    @Value("${app.audit.anomaly.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${app.audit.anomaly.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.audit.anomaly.ip-threshold:500}")
+    private long ipThreshold;
+
+    @Value("${app.audit.anomaly.performer-threshold:300}")
+    private long performerThreshold;
+
+    @Value("${app.audit.anomaly.employee-threshold:100}")
+    private long employeeThreshold;
+
+    @Value("${app.audit.anomaly.failed-access-threshold:20}")
+    private long failedAccessThreshold;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private final Map<Dimension, SlidingCountMinSketch> sketches = new HashMap<>();
+    private final Map<String, Long> cooldownUntil = new HashMap<>();
+
+    private long windowMillis;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        long bucketMillis = Math.max(1000L, windowSeconds * 1000L / windowBuckets);
+        for (Dimension dimension : Dimension.values()) {
+            sketches.put(dimension, new SlidingCountMinSketch(sketchDepth, sketchWidth, windowBuckets, bucketMillis));
+        }
+        windowMillis = sketches.get(Dimension.IP).windowMillis();
+        eventBuffer.addListener(this::observe);
+    }
+
+    /**
+     * Count a batch of committed audit events and raise alerts for any crossed thresholds
+     */
+    public void observe(List<AuditFeedEvent> batch) {
+        long now = System.currentTimeMillis();
+        List<AuditEventRecord> alerts = new ArrayList<>();
+
+        synchronized (lock) {
+            for (AuditFeedEvent event : batch) {
+                // The detector's own alerts must not feed back into the counts
+                if (event.getAction() == AuditAction.SUSPICIOUS_ACTIVITY) {
+                    continue;
+                }
+                String ip = event.getIpAddress();
+                if (ip != null && !ip.isBlank()) {
+                    check(Dimension.IP, ip, hash(ip), ipThreshold, event, now, alerts);
+                    if (isFailedAccess(event.getAction())) {
+                        check(Dimension.FAILED_ACCESS, ip, hash(ip), failedAccessThreshold, event, now, alerts);
+                    }
+                }
+                if (event.getPerformedById() != null) {
+                    check(Dimension.PERFORMER, event.getPerformedById().toString(), event.getPerformedById(),
+                            performerThreshold, event, now, alerts);
+                }
+                if (event.getEmployeeId() != null) {
+                    check(Dimension.EMPLOYEE, event.getEmployeeId().toString(), event.getEmployeeId(),
+                            employeeThreshold, event, now, alerts);
+                }
+            }
+        }
+
+        // Listeners run after the triggering commit, so queue the alerts directly
+        alerts.forEach(auditWriter::submitImmediately);
+    }
+
+    // Helper methods
+
+    private void check(Dimension dimension, String key, long hashedKey, long threshold,
+                       AuditFeedEvent event, long now, List<AuditEventRecord> alerts) {
+        long estimate = sketches.get(dimension).addAndEstimate(hashedKey, now);
+        if (estimate < threshold) {
+            return;
+        }
+
+        String cooldownKey = dimension.name() + ":" + key;
+        Long until = cooldownUntil.get(cooldownKey);
+        if (until != null && until > now) {
+            return;
+        }
+        // An event that cannot carry an alert must not start the cooldown, or the next one that can is suppressed
+        if (event.getEmployeeId() == null || event.getPerformedById() == null) {
+            return;
+        }
+        if (cooldownUntil.size() >= MAX_COOLDOWN_ENTRIES) {
+            cooldownUntil.values().removeIf(expiry -> expiry <= now);
+        }
+        cooldownUntil.put(cooldownKey, now + windowMillis);
+        String description = String.format("Anomalous activity: ~%d audit events for %s %s in the last %d seconds (threshold %d)",
+                estimate, dimension.label, key, windowMillis / 1000, threshold);
+        logger.warn(description);
+
+        AuditEventRecord alert = new AuditEventRecord(event.getEmployeeId(), AuditAction.SUSPICIOUS_ACTIVITY,
+                AuditCategory.SECURITY, description, event.getPerformedById());
+        alert.setIpAddress(event.getIpAddress());
+        alert.setSeverity(AuditSeverity.HIGH);
+        alert.setRiskLevel(RiskLevel.HIGH);
+        alert.setRetentionPeriodDays(AuditCategory.SECURITY.getDefaultRetentionDays());
+        alerts.add(alert);
+        meterRegistry.counter("ems.audit.anomaly.alerts", "dimension", dimension.name().toLowerCase()).increment();
+    }
+
+    private boolean isFailedAccess(AuditAction action) {
+        return action == AuditAction.LOGIN_FAILED
+                || action == AuditAction.UNAUTHORIZED_ACCESS
+                || action == AuditAction.ACCOUNT_LOCKED;
+    }
+
+    // 64-bit FNV-1a, so IP keys do not share String.hashCode collisions across sketch rows
+    private long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,271 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Audit Archive Segment
+ * Read side of one cold-archive segment: a {@code .seg} data file made of independent
+ * gzip members (blocks of NDJSON lines, oldest first) and a {@code .idx} file that is
+ * memory-mapped and searched in place.
+ *
+ * Index layout (big-endian):
+ * header - magic, version, month (yyyyMM), block count, employee entry count, event
+ *          count (ints), then min/max performed_at, latest retention expiry and the
+ *          highest archived id (longs);
+ * blocks - per block: data offset (long), compressed length, event count (ints),
+ *          min and max performed_at and (since version 2) earliest retention expiry (longs);
+ * employees - (employee id long, block int) pairs sorted by employee id, then block,
+ *          followed (since version 2) by the employee's event count in that block (int).
+ * Version 1 indexes are still read; their counts are unknown and their blocks are
+ * decompressed whenever a count is needed.
+ */
+final class AuditArchiveSegment {
+
+    static final int MAGIC = 0x41554458; // "AUDX"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 6 * Integer.BYTES + 4 * Long.BYTES;
+    static final int BLOCK_ENTRY_BYTES = 4 * Long.BYTES + 2 * Integer.BYTES;
+    static final int EMPLOYEE_ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private static final int V1_BLOCK_ENTRY_BYTES = 3 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int V1_EMPLOYEE_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    // Retention expiry of events that are never purged
+    static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final String name;
+    private final Path dataFile;
+    private final Path indexFile;
+    private final MappedByteBuffer index;
+    private final int version;
+    private final int blockEntryBytes;
+    private final int employeeEntryBytes;
+
+    private final YearMonth month;
+    private final int blockCount;
+    private final int employeeEntryCount;
+    private final int eventCount;
+    private final long minPerformedAt;
+    private final long maxPerformedAt;
+    private final long maxExpiry;
+    private final long maxId;
+
+    private AuditArchiveSegment(String name, Path dataFile, Path indexFile, MappedByteBuffer index) throws IOException {
+        this.name = name;
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.index = index;
+
+        if (index.capacity() < HEADER_BYTES || index.getInt(0) != MAGIC
+                || (index.getInt(4) != VERSION && index.getInt(4) != 1)) {
+            throw new IOException("Not an audit archive index: " + indexFile);
+        }
+        this.version = index.getInt(4);
+        this.blockEntryBytes = version == 1 ? V1_BLOCK_ENTRY_BYTES : BLOCK_ENTRY_BYTES;
+        this.employeeEntryBytes = version == 1 ? V1_EMPLOYEE_ENTRY_BYTES : EMPLOYEE_ENTRY_BYTES;
+        int yearMonth = index.getInt(8);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.blockCount = index.getInt(12);
+        this.employeeEntryCount = index.getInt(16);
+        this.eventCount = index.getInt(20);
+        this.minPerformedAt = index.getLong(24);
+        this.maxPerformedAt = index.getLong(32);
+        this.maxExpiry = index.getLong(40);
+        this.maxId = index.getLong(48);
+
+        long expected = HEADER_BYTES + (long) blockCount * blockEntryBytes
+                + (long) employeeEntryCount * employeeEntryBytes;
+        if (index.capacity() != expected) {
+            throw new IOException("Truncated audit archive index: " + indexFile);
+        }
+    }
+
+    static AuditArchiveSegment open(String name, Path dataFile, Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AuditArchiveSegment(name, dataFile, indexFile, index);
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * When an event's retention runs out. Same rule as the retention purge:
+     * non-positive retention is kept forever.
+     */
+    static long expiryOf(ArchivedAuditEvent event) {
+        Integer days = event.getRetentionPeriodDays();
+        if (days == null || days <= 0 || event.getCreatedAt() == null) {
+            return NO_EXPIRY;
+        }
+        return toEpochMillis(event.getCreatedAt().plusDays(days));
+    }
+
+    /**
+     * Blocks that may hold events in [from, to], newest first. When an employee is
+     * given only the blocks listed for that employee are considered.
+     */
+    List<Integer> candidateBlocks(Long employeeId, long from, long to) {
+        List<Integer> blocks = new ArrayList<>();
+        if (employeeId != null) {
+            int entry = firstEmployeeEntry(employeeId);
+            for (; entry < employeeEntryCount && employeeIdAt(entry) == employeeId; entry++) {
+                int block = index.getInt(employeeEntryOffset(entry) + Long.BYTES);
+                if (blockOverlaps(block, from, to)) {
+                    blocks.add(block);
+                }
+            }
+            // Entries are sorted by block within an employee
+            Collections.reverse(blocks);
+        } else {
+            for (int block = blockCount - 1; block >= 0; block--) {
+                if (blockOverlaps(block, from, to)) {
+                    blocks.add(block);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    long blockMaxPerformedAt(int block) {
+        return index.getLong(blockEntryOffset(block) + 24);
+    }
+
+    /**
+     * Whether every event of the block lies in [from, to]
+     */
+    boolean blockWithin(int block, long from, long to) {
+        int entry = blockEntryOffset(block);
+        return index.getLong(entry + 16) >= from && index.getLong(entry + 24) <= to;
+    }
+
+    /**
+     * Earliest retention expiry in the block; unknown (Long.MIN_VALUE) for version 1
+     */
+    long blockMinExpiry(int block) {
+        return version == 1 ? Long.MIN_VALUE : index.getLong(blockEntryOffset(block) + 32);
+    }
+
+    /**
+     * Events in the block, all of them or only the given employee's, straight from
+     * the index; -1 when the index does not record it (version 1)
+     */
+    int blockEventCount(Long employeeId, int block) {
+        if (employeeId == null) {
+            return index.getInt(blockEntryOffset(block) + 12);
+        }
+        if (version == 1) {
+            return -1;
+        }
+        int entry = firstEmployeeEntry(employeeId);
+        for (; entry < employeeEntryCount && employeeIdAt(entry) == employeeId; entry++) {
+            int offset = employeeEntryOffset(entry);
+            if (index.getInt(offset + Long.BYTES) == block) {
+                return index.getInt(offset + Long.BYTES + Integer.BYTES);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decompress one block. Only this block's bytes are read from the data file.
+     */
+    List<ArchivedAuditEvent> readBlock(int block, ObjectMapper objectMapper) throws IOException {
+        int entry = blockEntryOffset(block);
+        long offset = index.getLong(entry);
+        int length = index.getInt(entry + 8);
+        int count = index.getInt(entry + 12);
+
+        ByteBuffer compressed = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            while (compressed.hasRemaining()) {
+                if (channel.read(compressed, offset + compressed.position()) < 0) {
+                    throw new EOFException("Audit archive segment " + name + " is shorter than its index");
+                }
+            }
+        }
+
+        List<ArchivedAuditEvent> events = new ArrayList<>(count);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(compressed.array())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    events.add(objectMapper.readValue(line, ArchivedAuditEvent.class));
+                }
+            }
+        }
+        return events;
+    }
+
+    boolean overlaps(long from, long to) {
+        return eventCount > 0 && minPerformedAt <= to && maxPerformedAt >= from;
+    }
+
+    // Getters
+    String getName() { return name; }
+    Path getDataFile() { return dataFile; }
+    Path getIndexFile() { return indexFile; }
+    YearMonth getMonth() { return month; }
+    int getBlockCount() { return blockCount; }
+    int getEventCount() { return eventCount; }
+    long getMinPerformedAt() { return minPerformedAt; }
+    long getMaxPerformedAt() { return maxPerformedAt; }
+    long getMaxExpiry() { return maxExpiry; }
+    long getMaxId() { return maxId; }
+
+    // Helper methods
+
+    private boolean blockOverlaps(int block, long from, long to) {
+        int entry = blockEntryOffset(block);
+        return index.getLong(entry + 16) <= to && index.getLong(entry + 24) >= from;
+    }
+
+    private int firstEmployeeEntry(long employeeId) {
+        int low = 0;
+        int high = employeeEntryCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (employeeIdAt(mid) < employeeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long employeeIdAt(int entry) {
+        return index.getLong(employeeEntryOffset(entry));
+    }
+
+    private int blockEntryOffset(int block) {
+        return HEADER_BYTES + block * blockEntryBytes;
+    }
+
+    private int employeeEntryOffset(int entry) {
+        return HEADER_BYTES + blockCount * blockEntryBytes + entry * employeeEntryBytes;
+    }
+}
@@ -0,0 +1,188 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Audit Archive Segment Writer
+ * Appends events (in performed_at order) to a new segment, gzip-compressing every
+ * block separately so readers can decompress a single block. Both files are written
+ * under temporary names, forced to disk and renamed on {@link #finish()}; the index is
+ * renamed last, so a segment only becomes visible once it is complete.
+ */
+final class AuditArchiveSegmentWriter implements Closeable {
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final ObjectMapper objectMapper;
+    private final int blockSize;
+    private final YearMonth month;
+    private final long maxId;
+    private final Path dataFile;
+    private final Path indexFile;
+    private final Path dataTmp;
+    private final Path indexTmp;
+    private final FileChannel channel;
+
+    private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream();
+    private final List<long[]> blocks = new ArrayList<>(); // offset, length, count, min, max, min expiry
+    // Per employee: event count by block, in block order
+    private final Map<Long, TreeMap<Integer, Integer>> employeeBlocks = new TreeMap<>();
+
+    private long offset;
+    private int blockEvents;
+    private long blockMin = Long.MAX_VALUE;
+    private long blockMax = Long.MIN_VALUE;
+    private long blockMinExpiry = Long.MAX_VALUE;
+    private int eventCount;
+    private long minPerformedAt = Long.MAX_VALUE;
+    private long maxPerformedAt = Long.MIN_VALUE;
+    private long maxExpiry = Long.MIN_VALUE;
+    private boolean finished;
+
+    AuditArchiveSegmentWriter(ObjectMapper objectMapper, int blockSize, YearMonth month, long maxId,
+                              Path dataFile, Path indexFile) throws IOException {
+        this.objectMapper = objectMapper;
+        this.blockSize = blockSize;
+        this.month = month;
+        this.maxId = maxId;
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.dataTmp = tmpFile(dataFile);
+        this.indexTmp = tmpFile(indexFile);
+        this.channel = FileChannel.open(dataTmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    static Path tmpFile(Path file) {
+        return file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+    }
+
+    void append(ArchivedAuditEvent event) throws IOException {
+        long performedAt = AuditArchiveSegment.toEpochMillis(event.getPerformedAt());
+        long expiry = AuditArchiveSegment.expiryOf(event);
+        blockBuffer.write(objectMapper.writeValueAsBytes(event));
+        blockBuffer.write('\n');
+
+        blockEvents++;
+        blockMin = Math.min(blockMin, performedAt);
+        blockMax = Math.max(blockMax, performedAt);
+        blockMinExpiry = Math.min(blockMinExpiry, expiry);
+        if (event.getEmployeeId() != null) {
+            employeeBlocks.computeIfAbsent(event.getEmployeeId(), id -> new TreeMap<>())
+                    .merge(blocks.size(), 1, Integer::sum);
+        }
+
+        eventCount++;
+        minPerformedAt = Math.min(minPerformedAt, performedAt);
+        maxPerformedAt = Math.max(maxPerformedAt, performedAt);
+        maxExpiry = Math.max(maxExpiry, expiry);
+
+        if (blockEvents >= blockSize) {
+            flushBlock();
+        }
+    }
+
+    int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Flush the last block, write the index and publish both files
+     */
+    void finish() throws IOException {
+        flushBlock();
+        channel.force(true);
+        channel.close();
+
+        int employeeEntries = employeeBlocks.values().stream().mapToInt(Map::size).sum();
+        ByteBuffer index = ByteBuffer.allocate(AuditArchiveSegment.HEADER_BYTES
+                + blocks.size() * AuditArchiveSegment.BLOCK_ENTRY_BYTES
+                + employeeEntries * AuditArchiveSegment.EMPLOYEE_ENTRY_BYTES);
+
+        index.putInt(AuditArchiveSegment.MAGIC)
+                .putInt(AuditArchiveSegment.VERSION)
+                .putInt(month.getYear() * 100 + month.getMonthValue())
+                .putInt(blocks.size())
+                .putInt(employeeEntries)
+                .putInt(eventCount)
+                .putLong(minPerformedAt)
+                .putLong(maxPerformedAt)
+                .putLong(maxExpiry)
+                .putLong(maxId);
+        for (long[] block : blocks) {
+            index.putLong(block[0]).putInt((int) block[1]).putInt((int) block[2])
+                    .putLong(block[3]).putLong(block[4]).putLong(block[5]);
+        }
+        employeeBlocks.forEach((employeeId, blockCounts) ->
+                blockCounts.forEach((block, count) -> index.putLong(employeeId).putInt(block).putInt(count)));
+        index.flip();
+
+        try (FileChannel indexChannel = FileChannel.open(indexTmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (index.hasRemaining()) {
+                indexChannel.write(index);
+            }
+            indexChannel.force(true);
+        }
+
+        Files.move(dataTmp, dataFile, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indexTmp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    /**
+     * Abandon an unfinished segment and remove its temporary files
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        channel.close();
+        Files.deleteIfExists(dataTmp);
+        Files.deleteIfExists(indexTmp);
+    }
+
+    // Helper methods
+
+    private void flushBlock() throws IOException {
+        if (blockEvents == 0) {
+            return;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(blockBuffer.size() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            blockBuffer.writeTo(gzip);
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(compressed.toByteArray());
+        int length = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        blocks.add(new long[]{offset, length, blockEvents, blockMin, blockMax, blockMinExpiry});
+
+        offset += length;
+        blockBuffer.reset();
+        blockEvents = 0;
+        blockMin = Long.MAX_VALUE;
+        blockMax = Long.MIN_VALUE;
+        blockMinExpiry = Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,420 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Audit Archive Store
+ * Local-disk store of cold audit segments, one or more per archived month. Segment
+ * indexes are memory-mapped once at startup (and on publish); queries pick candidate
+ * blocks from the time and employee index and decompress only those blocks. Events
+ * past their retention are never returned, even before their segment is purged.
+ */
+@Component
+public class AuditArchiveStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchiveStore.class);
+
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String PURGE_JOB_NAME = "audit-archive-purge";
+    private static final int MAX_CACHED_COUNTS = 10_000;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Newest first; ties broken by id so paging over archived events is stable
+    private static final Comparator<ArchivedAuditEvent> NEWEST_FIRST = Comparator
+            .comparing(ArchivedAuditEvent::getPerformedAt)
+            .thenComparing(ArchivedAuditEvent::getId)
+            .reversed();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditRollupService rollupService;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.archive.dir:data/audit-archive}")
+    private String archiveDir;
+
+    @Value("${app.audit.archive.block-size:1000}")
+    private int blockSize;
+
+    @Value("${app.audit.archive.max-results:10000}")
+    private int maxResults;
+
+    private Path directory;
+    private TransactionTemplate transactionTemplate;
+
+    // Keyed by segment name, which sorts by month and then highest archived id
+    private final ConcurrentSkipListMap<String, AuditArchiveSegment> segments = new ConcurrentSkipListMap<>();
+
+    // Whole-archive event counts per employee, valid for one set of segments and until
+    // the first counted event expires
+    private record CachedCount(long generation, long validUntil, long count) {
+    }
+
+    private final Map<Long, CachedCount> employeeCounts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        directory = Paths.get(archiveDir);
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + INDEX_SUFFIX)) {
+            for (Path indexFile : files) {
+                String name = baseName(indexFile);
+                try {
+                    segments.put(name, AuditArchiveSegment.open(name, dataFileOf(name), indexFile));
+                } catch (IOException e) {
+                    logger.error("Skipping unreadable audit archive segment {}", name, e);
+                }
+            }
+        }
+        logger.info("Loaded {} audit archive segments from {}", segments.size(), directory.toAbsolutePath());
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Write a segment for the given month covering hot rows up to maxId. The source
+     * pushes events to the consumer it is handed, in performed_at order. The segment
+     * is queryable once this returns; returns the number of events written.
+     */
+    public int writeSegment(YearMonth month, long maxId, Consumer<Consumer<ArchivedAuditEvent>> source) throws IOException {
+        String name = segmentName(month, maxId);
+        int written;
+        try (AuditArchiveSegmentWriter writer = new AuditArchiveSegmentWriter(
+                objectMapper, blockSize, month, maxId, dataFileOf(name), indexFileOf(name))) {
+            source.accept(event -> {
+                try {
+                    writer.append(event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            written = writer.getEventCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        segments.put(name, AuditArchiveSegment.open(name, dataFileOf(name), indexFileOf(name)));
+        generation.incrementAndGet();
+        return written;
+    }
+
+    public boolean hasSegment(YearMonth month, long maxId) {
+        return segments.containsKey(segmentName(month, maxId));
+    }
+
+    /**
+     * Remove the temporary files of a segment whose archival was interrupted
+     */
+    public void discardSegment(YearMonth month, long maxId) throws IOException {
+        String name = segmentName(month, maxId);
+        Files.deleteIfExists(AuditArchiveSegmentWriter.tmpFile(dataFileOf(name)));
+        Files.deleteIfExists(AuditArchiveSegmentWriter.tmpFile(indexFileOf(name)));
+    }
+
+    /**
+     * Start of the first month not covered by the archive, or null when nothing is
+     * archived. Every archived event is older than this and older than any event
+     * still in employee_audit_trail.
+     */
+    public LocalDateTime getArchivedBefore() {
+        return segments.isEmpty() ? null : segments.lastEntry().getValue().getMonth().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Whether a query starting at the given time (null meaning unbounded) needs the archive
+     */
+    public boolean reaches(LocalDateTime startDate) {
+        LocalDateTime archivedBefore = getArchivedBefore();
+        return archivedBefore != null && (startDate == null || startDate.isBefore(archivedBefore));
+    }
+
+    /**
+     * Archived events matching the employee, time range and filter, newest first,
+     * at most {@code limit} of them. Blocks older than the limit-th match found so far
+     * are never decompressed.
+     */
+    public List<ArchivedAuditEvent> find(Long employeeId, LocalDateTime startDate, LocalDateTime endDate,
+                                         Predicate<ArchivedAuditEvent> filter, int limit) {
+        long from = startDate != null ? AuditArchiveSegment.toEpochMillis(startDate) : Long.MIN_VALUE;
+        long to = endDate != null ? AuditArchiveSegment.toEpochMillis(endDate) : Long.MAX_VALUE;
+        long now = AuditArchiveSegment.toEpochMillis(LocalDateTime.now());
+        int cap = Math.min(limit, maxResults);
+
+        // Min-heap on recency: the head is the oldest event we would still return
+        PriorityQueue<ArchivedAuditEvent> matches = new PriorityQueue<>(NEWEST_FIRST.reversed());
+
+        for (AuditArchiveSegment segment : segments.descendingMap().values()) {
+            if (!segment.overlaps(from, to) || isFullWithNewer(matches, cap, segment.getMaxPerformedAt())) {
+                continue;
+            }
+            try {
+                for (int block : segment.candidateBlocks(employeeId, from, to)) {
+                    if (isFullWithNewer(matches, cap, segment.blockMaxPerformedAt(block))) {
+                        break;
+                    }
+                    for (ArchivedAuditEvent event : segment.readBlock(block, objectMapper)) {
+                        if (!matches(event, employeeId, from, to, filter, now)) {
+                            continue;
+                        }
+                        matches.offer(event);
+                        if (matches.size() > cap) {
+                            matches.poll();
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                logger.debug("Audit archive segment {} was removed while being read", segment.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit archive segment " + segment.getName(), e);
+            }
+        }
+
+        List<ArchivedAuditEvent> result = new ArrayList<>(matches);
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Number of archived events matching the employee, time range and filter. Blocks
+     * that lie inside the range and hold no expired events are counted from the index;
+     * only the others are decompressed. Whole-archive counts of one employee are cached.
+     */
+    public long count(Long employeeId, LocalDateTime startDate, LocalDateTime endDate,
+                      Predicate<ArchivedAuditEvent> filter) {
+        long now = AuditArchiveSegment.toEpochMillis(LocalDateTime.now());
+        long currentGeneration = generation.get();
+        boolean cacheable = employeeId != null && startDate == null && endDate == null && filter == null;
+        if (cacheable) {
+            CachedCount cached = employeeCounts.get(employeeId);
+            if (cached != null && cached.generation() == currentGeneration && cached.validUntil() > now) {
+                return cached.count();
+            }
+        }
+
+        long from = startDate != null ? AuditArchiveSegment.toEpochMillis(startDate) : Long.MIN_VALUE;
+        long to = endDate != null ? AuditArchiveSegment.toEpochMillis(endDate) : Long.MAX_VALUE;
+        long count = 0;
+        long validUntil = Long.MAX_VALUE;
+        for (AuditArchiveSegment segment : segments.values()) {
+            if (!segment.overlaps(from, to)) {
+                continue;
+            }
+            try {
+                for (int block : segment.candidateBlocks(employeeId, from, to)) {
+                    long minExpiry = segment.blockMinExpiry(block);
+                    int stored = filter == null && minExpiry > now && segment.blockWithin(block, from, to)
+                            ? segment.blockEventCount(employeeId, block) : -1;
+                    if (stored >= 0) {
+                        count += stored;
+                        validUntil = Math.min(validUntil, minExpiry);
+                        continue;
+                    }
+                    for (ArchivedAuditEvent event : segment.readBlock(block, objectMapper)) {
+                        if (matches(event, employeeId, from, to, filter, now)) {
+                            count++;
+                            validUntil = Math.min(validUntil, AuditArchiveSegment.expiryOf(event));
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                logger.debug("Audit archive segment {} was removed while being read", segment.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit archive segment " + segment.getName(), e);
+            }
+        }
+
+        if (cacheable) {
+            if (employeeCounts.size() >= MAX_CACHED_COUNTS) {
+                employeeCounts.clear();
+            }
+            employeeCounts.put(employeeId, new CachedCount(currentGeneration, validUntil, count));
+        }
+        return count;
+    }
+
+    /**
+     * Hand every archived event of one employee to the consumer, oldest segment first.
+     * Only one decompressed block is held at a time, so memory does not grow with history.
+     */
+    public long forEachEmployeeEvent(Long employeeId, Consumer<ArchivedAuditEvent> consumer) {
+        long now = AuditArchiveSegment.toEpochMillis(LocalDateTime.now());
+        long count = 0;
+        for (AuditArchiveSegment segment : segments.values()) {
+            try {
+                List<Integer> blocks = new ArrayList<>(segment.candidateBlocks(employeeId, Long.MIN_VALUE, Long.MAX_VALUE));
+                Collections.reverse(blocks);
+                for (int block : blocks) {
+                    for (ArchivedAuditEvent event : segment.readBlock(block, objectMapper)) {
+                        if (matches(event, employeeId, Long.MIN_VALUE, Long.MAX_VALUE, null, now)) {
+                            consumer.accept(event);
+                            count++;
+                        }
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                logger.debug("Audit archive segment {} was removed while being read", segment.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit archive segment " + segment.getName(), e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Delete segments whose events have all passed retention, first subtracting them
+     * from the daily rollup. The subtraction commits together with a checkpoint naming
+     * the segment, so a segment whose files outlive a crash or a failed delete is only
+     * deleted on the next run, never subtracted twice. Returns the number of archived
+     * events removed.
+     */
+    public long purgeExpiredSegments() {
+        if (!finishInterruptedPurge()) {
+            return 0;
+        }
+
+        long now = AuditArchiveSegment.toEpochMillis(LocalDateTime.now());
+        long purged = 0;
+
+        for (AuditArchiveSegment segment : segments.values()) {
+            if (segment.getMaxExpiry() >= now) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        for (int block = 0; block < segment.getBlockCount(); block++) {
+                            rollupService.subtractDaily(segment.readBlock(block, objectMapper));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    JobCheckpoint checkpoint = new JobCheckpoint(PURGE_JOB_NAME);
+                    checkpoint.setMarker(segment.getName());
+                    checkpointRepository.save(checkpoint);
+                });
+            } catch (UncheckedIOException e) {
+                logger.error("Failed to purge audit archive segment {}", segment.getName(), e.getCause());
+                continue;
+            }
+
+            if (!deleteSegment(segment.getName())) {
+                // The checkpoint stays and the next run finishes this segment first
+                break;
+            }
+            purged += segment.getEventCount();
+            logger.info("Deleted expired audit archive segment {} ({} events)", segment.getName(), segment.getEventCount());
+        }
+        return purged;
+    }
+
+    // Helper methods
+
+    /**
+     * Delete the files of a segment that a previous run already subtracted from the
+     * rollup. Returns false when they still cannot be deleted.
+     */
+    private boolean finishInterruptedPurge() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(PURGE_JOB_NAME).orElse(null);
+        if (checkpoint == null || checkpoint.getMarker() == null) {
+            return true;
+        }
+        logger.info("Resuming purge of audit archive segment {}: rollup already adjusted, deleting files",
+                checkpoint.getMarker());
+        return deleteSegment(checkpoint.getMarker());
+    }
+
+    private boolean deleteSegment(String name) {
+        segments.remove(name);
+        generation.incrementAndGet();
+        try {
+            // Index first: without it the data file is never loaded again
+            Files.deleteIfExists(indexFileOf(name));
+            Files.deleteIfExists(dataFileOf(name));
+        } catch (IOException e) {
+            logger.error("Failed to delete audit archive segment {}", name, e);
+            return false;
+        }
+        checkpointRepository.deleteById(PURGE_JOB_NAME);
+        return true;
+    }
+
+    private boolean matches(ArchivedAuditEvent event, Long employeeId, long from, long to,
+                            Predicate<ArchivedAuditEvent> filter, long now) {
+        long performedAt = AuditArchiveSegment.toEpochMillis(event.getPerformedAt());
+        return performedAt >= from && performedAt <= to
+                && AuditArchiveSegment.expiryOf(event) > now
+                && (employeeId == null || employeeId.equals(event.getEmployeeId()))
+                && (filter == null || filter.test(event));
+    }
+
+    private boolean isFullWithNewer(PriorityQueue<ArchivedAuditEvent> matches, int cap, long maxPerformedAt) {
+        return matches.size() >= cap
+                && maxPerformedAt < AuditArchiveSegment.toEpochMillis(matches.peek().getPerformedAt());
+    }
+
+    private String segmentName(YearMonth month, long maxId) {
+        return String.format("audit-%s-%019d", month.format(MONTH_FORMAT), maxId);
+    }
+
+    private String baseName(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private Path dataFileOf(String name) {
+        return directory.resolve(name + DATA_SUFFIX);
+    }
+
+    private Path indexFileOf(String name) {
+        return directory.resolve(name + INDEX_SUFFIX);
+    }
+}
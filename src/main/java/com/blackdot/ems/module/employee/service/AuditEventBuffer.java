@@ -0,0 +1,420 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.module.employee.repository.EmployeeAuditTrailRepository;
+import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.EmployeeAuditTrail;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import com.blackdot.ems.shared.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Audit Event Buffer
+ * In-memory ring of the most recent audit events, filled after each audit write
+ * commits. It serves the recent-activity endpoint without touching the database and
+ * feeds Server-Sent Events subscribers from a single dispatcher thread. Each event is
+ * serialized to JSON once and the same payload is sent to every matching subscriber;
+ * a subscriber that falls more than a full ring behind skips the overwritten events.
+ * Stream ids are {@code <boot epoch>-<sequence>}, so a client reconnecting with an id
+ * from an earlier process is replayed the whole ring instead of resuming at a sequence
+ * that now means a different event. In-process listeners see every committed batch on
+ * the publishing thread.
+ */
+@Component
+public class AuditEventBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventBuffer.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeAuditTrailRepository auditRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.stream.buffer-size:1024}")
+    private int requestedCapacity;
+
+    @Value("${app.audit.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${app.audit.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Object lock = new Object();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<AuditFeedEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    private int capacity;
+    private int mask;
+    private AuditFeedEvent[] events;
+    private String[] payloads;
+    private long head; // sequence of the next event to be published
+    private final long epoch = System.currentTimeMillis(); // sequences restart with every process
+
+    // Dispatcher-owned copies of the ring, reused on every pass
+    private AuditFeedEvent[] scratchEvents;
+    private String[] scratchPayloads;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<AuditCategory> categories;
+        final Set<AuditSeverity> severities;
+        final Set<RiskLevel> riskLevels;
+        long cursor;
+
+        Subscriber(SseEmitter emitter, Set<AuditCategory> categories, Set<AuditSeverity> severities,
+                   Set<RiskLevel> riskLevels, long cursor) {
+            this.emitter = emitter;
+            this.categories = categories;
+            this.severities = severities;
+            this.riskLevels = riskLevels;
+            this.cursor = cursor;
+        }
+
+        boolean matches(AuditFeedEvent event) {
+            return (categories == null || categories.contains(event.getCategory()))
+                    && (severities == null || severities.contains(event.getSeverity()))
+                    && (riskLevels == null || riskLevels.contains(event.getRiskLevel()));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        capacity = Integer.highestOneBit(Math.max(16, requestedCapacity - 1) << 1);
+        mask = capacity - 1;
+        events = new AuditFeedEvent[capacity];
+        payloads = new String[capacity];
+        scratchEvents = new AuditFeedEvent[capacity];
+        scratchPayloads = new String[capacity];
+        meterRegistry.gauge("ems.audit.stream.subscribers", subscribers, List::size);
+    }
+
+    /**
+     * Seed the ring with the latest events, then start dispatching. Runs before the
+     * audit writer starts so the seeded events precede anything it publishes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public void start() {
+        try {
+            List<AuditFeedEvent> latest = new ArrayList<>(auditRepository.findLatestFeedEvents(PageRequest.of(0, capacity)));
+            Collections.reverse(latest);
+            append(latest);
+        } catch (Exception e) {
+            logger.error("Error occurred while seeding the audit event buffer", e);
+        }
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "audit-stream-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Publish an audit row saved through JPA once its transaction commits. The event is
+     * captured now, while the employee and performer are still attached.
+     */
+    public void publishAfterCommit(EmployeeAuditTrail audit) {
+        AuditFeedEvent event = new AuditFeedEvent(audit.getId(),
+                audit.getEmployee().getId(), audit.getEmployee().getFullName(),
+                audit.getAction(), audit.getCategory(), audit.getDescription(),
+                audit.getPerformedBy().getId(), audit.getPerformedBy().getFullName(),
+                audit.getPerformedAt(), audit.getSeverity(), audit.getRiskLevel(), audit.getIpAddress());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(List.of(event));
+                }
+            });
+        } else {
+            publish(List.of(event));
+        }
+    }
+
+    /**
+     * Publish a batch committed by the asynchronous writer, resolving names in one query
+     */
+    public void publishRecords(List<AuditEventRecord> records) {
+        Set<Long> userIds = records.stream()
+                .flatMap(record -> Stream.of(record.getEmployeeId(), record.getPerformedById()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> names = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getFullName));
+
+        List<AuditFeedEvent> batch = new ArrayList<>(records.size());
+        for (AuditEventRecord record : records) {
+            batch.add(new AuditFeedEvent(null,
+                    record.getEmployeeId(), names.get(record.getEmployeeId()),
+                    record.getAction(), record.getCategory(), record.getDescription(),
+                    record.getPerformedById(), names.get(record.getPerformedById()),
+                    record.getPerformedAt(),
+                    record.getSeverity() != null ? record.getSeverity() : AuditSeverity.MEDIUM,
+                    record.getRiskLevel() != null ? record.getRiskLevel() : RiskLevel.LOW,
+                    record.getIpAddress()));
+        }
+        publish(batch);
+    }
+
+    /**
+     * Register an in-process consumer of committed audit events. Listeners run on the
+     * thread that published the batch and must not block; seeded history is not replayed.
+     */
+    public void addListener(Consumer<List<AuditFeedEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Buffered events performed at or after {@code since}, newest first
+     */
+    public List<AuditFeedEvent> getRecentEvents(LocalDateTime since, int limit) {
+        List<AuditFeedEvent> recent = new ArrayList<>(Math.min(limit, capacity));
+        synchronized (lock) {
+            long oldest = Math.max(0, head - capacity);
+            for (long seq = head - 1; seq >= oldest && recent.size() < limit; seq--) {
+                AuditFeedEvent event = events[(int) (seq & mask)];
+                if (event.getPerformedAt() != null && !event.getPerformedAt().isBefore(since)) {
+                    recent.add(event);
+                }
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Open a stream. Null filter sets match everything. With lastEventId the stream
+     * resumes after that event if it is still buffered; an id from another process (or
+     * one that cannot be parsed) starts from the oldest buffered event.
+     */
+    public SseEmitter subscribe(Collection<AuditCategory> categories, Collection<AuditSeverity> severities,
+                                Collection<RiskLevel> riskLevels, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Long lastSequence = lastEventId != null ? sequenceOf(lastEventId) : null;
+        long cursor;
+        synchronized (lock) {
+            if (lastEventId == null) {
+                cursor = head;
+            } else if (lastSequence == null) {
+                cursor = Math.max(0, head - capacity);
+            } else {
+                cursor = Math.min(lastSequence + 1, head);
+            }
+        }
+        Subscriber subscriber = new Subscriber(emitter, enumSet(categories, AuditCategory.class),
+                enumSet(severities, AuditSeverity.class), enumSet(riskLevels, RiskLevel.class), cursor);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        wakeDispatcher();
+        return emitter;
+    }
+
+    // Helper methods
+
+    private void publish(List<AuditFeedEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        append(batch);
+        for (Consumer<List<AuditFeedEvent>> listener : listeners) {
+            try {
+                listener.accept(batch);
+            } catch (Exception e) {
+                logger.warn("Audit event listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void append(List<AuditFeedEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String[] serialized = new String[batch.size()];
+        for (int i = 0; i < serialized.length; i++) {
+            serialized[i] = toJson(batch.get(i));
+        }
+        synchronized (lock) {
+            for (int i = 0; i < serialized.length; i++) {
+                AuditFeedEvent event = batch.get(i);
+                event.setSequence(head);
+                int slot = (int) (head & mask);
+                events[slot] = event;
+                payloads[slot] = serialized[i];
+                head++;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void wakeDispatcher() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private void dispatchLoop() {
+        long lastSend = System.currentTimeMillis();
+        while (running) {
+            long from;
+            long to;
+            try {
+                synchronized (lock) {
+                    from = minimumCursor();
+                    if (from >= head) {
+                        lock.wait(heartbeatMs);
+                        from = minimumCursor();
+                    }
+                    to = head;
+                    from = Math.max(from, to - capacity);
+                    for (long seq = from; seq < to; seq++) {
+                        int slot = (int) (seq & mask);
+                        scratchEvents[slot] = events[slot];
+                        scratchPayloads[slot] = payloads[slot];
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (Subscriber subscriber : subscribers) {
+                deliver(subscriber, Math.max(subscriber.cursor, from), to);
+            }
+
+            long now = System.currentTimeMillis();
+            if (from < to) {
+                lastSend = now;
+            } else if (now - lastSend >= heartbeatMs) {
+                subscribers.forEach(this::heartbeat);
+                lastSend = now;
+            }
+        }
+    }
+
+    private long minimumCursor() {
+        long min = head;
+        for (Subscriber subscriber : subscribers) {
+            min = Math.min(min, subscriber.cursor);
+        }
+        return min;
+    }
+
+    private void deliver(Subscriber subscriber, long from, long to) {
+        try {
+            for (long seq = from; seq < to; seq++) {
+                int slot = (int) (seq & mask);
+                if (subscriber.matches(scratchEvents[slot])) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(epoch + "-" + seq)
+                            .name("audit")
+                            .data(scratchPayloads[slot], MediaType.APPLICATION_JSON));
+                }
+            }
+            subscriber.cursor = to;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Sequence of a stream id issued by this process, or null
+     */
+    private Long sequenceOf(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(Long.toString(epoch))) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(eventId.substring(separator + 1));
+            return sequence >= 0 ? sequence : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String toJson(AuditFeedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit feed event", e);
+        }
+    }
+
+    private <E extends Enum<E>> Set<E> enumSet(Collection<E> values, Class<E> type) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        EnumSet<E> set = EnumSet.noneOf(type);
+        set.addAll(values);
+        return set;
+    }
+}
@@ -0,0 +1,238 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.module.employee.repository.AuditRollupDailyRepository;
+import com.blackdot.ems.module.employee.repository.AuditRollupHourlyRepository;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.AuditSeverity;
+import com.blackdot.ems.shared.entity.EmployeeAuditTrail;
+import com.blackdot.ems.shared.entity.RiskLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit Rollup Service
+ * Maintains the hourly and daily audit statistics rollups incrementally, in the same
+ * transaction as the audit rows they count
+ */
+@Service
+@Transactional
+public class AuditRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRollupService.class);
+
+    private static final String ROLLUP_COLUMNS = "bucket_start, action, category, severity, risk_level, performed_by";
+
+    private static final String UPSERT_SQL = "INSERT INTO %1$s (" + ROLLUP_COLUMNS + ", event_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (" + ROLLUP_COLUMNS + ") " +
+            "DO UPDATE SET event_count = %1$s.event_count + EXCLUDED.event_count";
+
+    private static final String SUBTRACT_DAILY_SQL = "UPDATE audit_rollup_daily SET event_count = event_count - ? " +
+            "WHERE bucket_start = ? AND action = ? AND category = ? AND severity = ? AND risk_level = ? AND performed_by = ?";
+
+    private static final String REBUILD_SQL = "INSERT INTO %1$s (" + ROLLUP_COLUMNS + ", event_count) " +
+            "SELECT date_trunc('%2$s', performed_at), action, category, severity, COALESCE(risk_level, 'LOW'), performed_by, COUNT(*) " +
+            "FROM employee_audit_trail WHERE performed_at >= ? " +
+            "GROUP BY 1, 2, 3, 4, 5, 6";
+
+    /**
+     * Common table expressions that subtract the rows produced by a preceding
+     * {@code purged} CTE (performed_at, action, category, severity, risk_level,
+     * performed_by) from the daily rollup. The statement's final SELECT can read
+     * the number of rows from {@code counts.purged_count}.
+     */
+    public static final String DAILY_DECREMENT_CTE =
+            "counts AS (" +
+            "    SELECT date_trunc('day', performed_at) AS bucket_start, action, category, severity," +
+            "           COALESCE(risk_level, 'LOW') AS risk_level, performed_by, COUNT(*) AS purged_count" +
+            "    FROM purged GROUP BY 1, 2, 3, 4, 5, 6" +
+            "), adjusted AS (" +
+            "    UPDATE audit_rollup_daily r SET event_count = r.event_count - c.purged_count" +
+            "    FROM counts c" +
+            "    WHERE r.bucket_start = c.bucket_start AND r.action = c.action AND r.category = c.category" +
+            "      AND r.severity = c.severity AND r.risk_level = c.risk_level AND r.performed_by = c.performed_by" +
+            ") ";
+
+    // Fixed upsert order so concurrent writers lock rollup rows in the same sequence
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::bucketStart)
+            .thenComparing(RollupKey::action)
+            .thenComparing(RollupKey::category)
+            .thenComparing(RollupKey::severity)
+            .thenComparing(RollupKey::riskLevel)
+            .thenComparing(RollupKey::performedById);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditRollupDailyRepository dailyRepository;
+
+    @Autowired
+    private AuditRollupHourlyRepository hourlyRepository;
+
+    @Value("${app.audit.rollup.hourly-retention-days:7}")
+    private int hourlyRetentionDays;
+
+    private record RollupKey(LocalDateTime bucketStart, AuditAction action, AuditCategory category,
+                             AuditSeverity severity, RiskLevel riskLevel, Long performedById) {
+
+        RollupKey truncatedTo(ChronoUnit unit) {
+            return new RollupKey(bucketStart.truncatedTo(unit), action, category, severity, riskLevel, performedById);
+        }
+    }
+
+    /**
+     * Count a batch flushed by the asynchronous audit writer
+     */
+    public void recordBatch(List<AuditEventRecord> records, LocalDateTime now) {
+        Map<RollupKey, Long> hourly = new HashMap<>();
+        for (AuditEventRecord record : records) {
+            LocalDateTime performedAt = record.getPerformedAt() != null ? record.getPerformedAt() : now;
+            hourly.merge(key(performedAt, record.getAction(), record.getCategory(), record.getSeverity(),
+                    record.getRiskLevel(), record.getPerformedById()), 1L, Long::sum);
+        }
+        apply(hourly);
+    }
+
+    /**
+     * Count a single audit row saved through JPA
+     */
+    public void record(EmployeeAuditTrail audit) {
+        Map<RollupKey, Long> hourly = new HashMap<>();
+        hourly.put(key(audit.getPerformedAt(), audit.getAction(), audit.getCategory(), audit.getSeverity(),
+                audit.getRiskLevel(), audit.getPerformedBy().getId()), 1L);
+        apply(hourly);
+    }
+
+    /**
+     * Subtract archived events that are being purged from the daily rollup
+     */
+    public void subtractDaily(List<ArchivedAuditEvent> events) {
+        Map<RollupKey, Long> daily = new HashMap<>();
+        for (ArchivedAuditEvent event : events) {
+            daily.merge(key(event.getPerformedAt(), event.getAction(), event.getCategory(), event.getSeverity(),
+                    event.getRiskLevel(), event.getPerformedById()).truncatedTo(ChronoUnit.DAYS), 1L, Long::sum);
+        }
+
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(daily.entrySet());
+        entries.sort(Map.Entry.comparingByKey(KEY_ORDER));
+        jdbcTemplate.batchUpdate(SUBTRACT_DAILY_SQL, entries, entries.size(), (ps, entry) -> {
+            RollupKey key = entry.getKey();
+            ps.setLong(1, entry.getValue());
+            ps.setObject(2, key.bucketStart());
+            ps.setString(3, key.action().name());
+            ps.setString(4, key.category().name());
+            ps.setString(5, key.severity().name());
+            ps.setString(6, key.riskLevel().name());
+            ps.setLong(7, key.performedById());
+        });
+    }
+
+    /**
+     * Recompute both rollups from employee_audit_trail. Takes an exclusive lock on the
+     * rollup tables so in-flight writers wait and then add their increments on top.
+     */
+    public void rebuild() {
+        rebuild(null);
+    }
+
+    /**
+     * Same as {@link #rebuild()}, but keeps daily buckets before archivedBefore: those
+     * events now live in cold-archive segments and are no longer in the table.
+     */
+    public void rebuild(LocalDateTime archivedBefore) {
+        LocalDateTime dailyFrom = archivedBefore != null ? archivedBefore : LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        jdbcTemplate.execute("LOCK TABLE audit_rollup_hourly, audit_rollup_daily IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM audit_rollup_hourly");
+        jdbcTemplate.update("DELETE FROM audit_rollup_daily WHERE bucket_start >= ?", Timestamp.valueOf(dailyFrom));
+
+        LocalDateTime hourlyCutoff = LocalDateTime.now().minusDays(hourlyRetentionDays).truncatedTo(ChronoUnit.DAYS);
+        int hourlyRows = jdbcTemplate.update(String.format(REBUILD_SQL, "audit_rollup_hourly", "hour"),
+                Timestamp.valueOf(hourlyCutoff));
+        int dailyRows = jdbcTemplate.update(String.format(REBUILD_SQL, "audit_rollup_daily", "day"),
+                Timestamp.valueOf(dailyFrom));
+
+        logger.info("Rebuilt audit rollups: {} hourly and {} daily buckets", hourlyRows, dailyRows);
+    }
+
+    /**
+     * Backfill the rollups once when they are introduced on an existing audit table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean hasAuditRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM employee_audit_trail)", Boolean.class);
+        if (Boolean.TRUE.equals(hasAuditRows) && dailyRepository.count() == 0) {
+            logger.info("Audit rollups are empty, backfilling from employee_audit_trail");
+            rebuild();
+        }
+    }
+
+    // Run daily at 1:30 AM to drop hourly buckets past their retention
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void pruneHourlyRollups() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(hourlyRetentionDays).truncatedTo(ChronoUnit.DAYS);
+        int deleted = hourlyRepository.deleteBucketsBefore(cutoff);
+        logger.info("Pruned {} hourly audit rollup buckets older than {}", deleted, cutoff);
+    }
+
+    // Helper methods
+
+    private RollupKey key(LocalDateTime performedAt, AuditAction action, AuditCategory category,
+                          AuditSeverity severity, RiskLevel riskLevel, Long performedById) {
+        // Same defaults as EmployeeAuditTrail.onCreate()
+        return new RollupKey(
+                performedAt.truncatedTo(ChronoUnit.HOURS),
+                action,
+                category,
+                severity != null ? severity : AuditSeverity.MEDIUM,
+                riskLevel != null ? riskLevel : RiskLevel.LOW,
+                performedById);
+    }
+
+    private void apply(Map<RollupKey, Long> hourly) {
+        Map<RollupKey, Long> daily = new HashMap<>();
+        hourly.forEach((key, count) -> daily.merge(key.truncatedTo(ChronoUnit.DAYS), count, Long::sum));
+
+        upsert("audit_rollup_hourly", hourly);
+        upsert("audit_rollup_daily", daily);
+    }
+
+    private void upsert(String table, Map<RollupKey, Long> increments) {
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(increments.entrySet());
+        entries.sort(Map.Entry.comparingByKey(KEY_ORDER));
+
+        jdbcTemplate.batchUpdate(String.format(UPSERT_SQL, table), entries, entries.size(), (ps, entry) -> {
+            RollupKey key = entry.getKey();
+            ps.setObject(1, key.bucketStart());
+            ps.setString(2, key.action().name());
+            ps.setString(3, key.category().name());
+            ps.setString(4, key.severity().name());
+            ps.setString(5, key.riskLevel().name());
+            ps.setLong(6, key.performedById());
+            ps.setLong(7, entry.getValue());
+        });
+    }
+}
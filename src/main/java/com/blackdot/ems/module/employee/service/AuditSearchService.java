@@ -0,0 +1,239 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditTrailResponse;
+import com.blackdot.ems.module.employee.repository.EmployeeAuditTrailRepository;
+import com.blackdot.ems.module.employee.repository.JobCheckpointRepository;
+import com.blackdot.ems.shared.entity.JobCheckpoint;
+import com.blackdot.ems.shared.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Audit Search Service
+ * Full-text search over the audit trail backed by a weighted tsvector column
+ * (description, employee and performer names, field name) and a GIN index. The
+ * column is filled by a trigger, so both the JPA and the batched JDBC write paths
+ * feed the index. Searches are ranked, paginated, limited to a time window and
+ * capped at a fixed number of results.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuditSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSearchService.class);
+
+    private static final String BACKFILL_JOB = "audit-search-backfill";
+    private static final String BACKFILL_DONE = "complete";
+
+    private static final String DOCUMENT_FUNCTION_SQL =
+            "CREATE OR REPLACE FUNCTION employee_audit_search_document(" +
+            "    p_description TEXT, p_field_name TEXT, p_employee_id BIGINT, p_performed_by BIGINT) " +
+            "RETURNS tsvector LANGUAGE sql STABLE AS $$ " +
+            "    SELECT setweight(to_tsvector('simple', coalesce(p_description, '')), 'A') ||" +
+            "           setweight(to_tsvector('simple', coalesce((SELECT first_name || ' ' || last_name FROM users WHERE id = p_employee_id), '')), 'B') ||" +
+            "           setweight(to_tsvector('simple', coalesce((SELECT first_name || ' ' || last_name FROM users WHERE id = p_performed_by), '')), 'B') ||" +
+            "           setweight(to_tsvector('simple', coalesce(p_field_name, '')), 'C') " +
+            "$$";
+
+    private static final String TRIGGER_FUNCTION_SQL =
+            "CREATE OR REPLACE FUNCTION employee_audit_trail_search_vector() RETURNS trigger LANGUAGE plpgsql AS $$ " +
+            "BEGIN " +
+            "    NEW.search_vector := employee_audit_search_document(NEW.description, NEW.field_name, NEW.employee_id, NEW.performed_by); " +
+            "    RETURN NEW; " +
+            "END $$";
+
+    private static final String BACKFILL_CHUNK_SQL =
+            "UPDATE employee_audit_trail " +
+            "SET search_vector = employee_audit_search_document(description, field_name, employee_id, performed_by) " +
+            "WHERE id >= ? AND id < ? AND search_vector IS NULL";
+
+    private static final String SEARCH_WHERE =
+            "FROM employee_audit_trail a, to_tsquery('simple', ?) query " +
+            "WHERE a.search_vector @@ query AND a.performed_at >= ? AND a.performed_at <= ? ";
+
+    private static final String SEARCH_IDS_SQL =
+            "SELECT a.id " + SEARCH_WHERE +
+            "ORDER BY ts_rank_cd(a.search_vector, query) DESC, a.performed_at DESC, a.id DESC " +
+            "LIMIT ? OFFSET ?";
+
+    private static final String SEARCH_COUNT_SQL =
+            "SELECT COUNT(*) FROM (SELECT 1 " + SEARCH_WHERE + "LIMIT ?) capped";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeAuditTrailRepository auditRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Value("${app.audit.search.default-window-days:365}")
+    private int defaultWindowDays;
+
+    @Value("${app.audit.search.max-results:1000}")
+    private int maxResults;
+
+    @Value("${app.audit.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.audit.search.backfill-chunk-size:5000}")
+    private int backfillChunkSize;
+
+    /**
+     * Install the search column, trigger and index. The table is already partitioned by
+     * now (AuditPartitionManager runs before the web server starts), so the trigger lands
+     * on the final table; the order puts this ahead of the audit writer's start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initializeSearchIndex() {
+        try {
+            newTransactionTemplate().executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE employee_audit_trail ADD COLUMN IF NOT EXISTS search_vector tsvector");
+                jdbcTemplate.execute(DOCUMENT_FUNCTION_SQL);
+                jdbcTemplate.execute(TRIGGER_FUNCTION_SQL);
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_audit_search_vector ON employee_audit_trail");
+                jdbcTemplate.execute("CREATE TRIGGER trg_audit_search_vector " +
+                        "BEFORE INSERT OR UPDATE OF description, field_name ON employee_audit_trail " +
+                        "FOR EACH ROW EXECUTE FUNCTION employee_audit_trail_search_vector()");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_search_vector " +
+                        "ON employee_audit_trail USING GIN (search_vector)");
+            });
+        } catch (Exception e) {
+            logger.error("Error occurred while installing the audit search index", e);
+            return;
+        }
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(BACKFILL_JOB).orElseGet(() -> new JobCheckpoint(BACKFILL_JOB));
+        if (!BACKFILL_DONE.equals(checkpoint.getMarker())) {
+            Thread backfill = new Thread(() -> backfill(checkpoint), "audit-search-backfill");
+            backfill.setDaemon(true);
+            backfill.start();
+        }
+    }
+
+    /**
+     * Ranked full-text search. Terms are matched as word prefixes and must all be
+     * present. Without a start date the search covers the default window; results
+     * beyond the cap are not reachable by paging.
+     */
+    public Page<AuditTrailResponse> search(String searchTerm, LocalDateTime startDate, LocalDateTime endDate,
+                                           int page, int size) {
+        String tsQuery = toTsQuery(searchTerm);
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : end.minusDays(defaultWindowDays);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("startDate must be before endDate");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        long offset = pageable.getOffset();
+
+        Timestamp from = Timestamp.valueOf(start);
+        Timestamp to = Timestamp.valueOf(end);
+        Long total = jdbcTemplate.queryForObject(SEARCH_COUNT_SQL, Long.class, tsQuery, from, to, maxResults);
+        if (total == null || offset >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
+        }
+
+        int limit = (int) Math.min(pageSize, maxResults - offset);
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_IDS_SQL, Long.class, tsQuery, from, to, limit, offset);
+
+        // Load the page in one query and put it back in rank order
+        Map<Long, AuditTrailResponse> byId = auditRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(AuditTrailResponse::getId, Function.identity()));
+        List<AuditTrailResponse> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Helper methods
+
+    /**
+     * Turn free text into a prefix-matching AND query. Only letters and digits survive,
+     * so user input can never inject tsquery operators.
+     */
+    private String toTsQuery(String searchTerm) {
+        String tsQuery = searchTerm == null ? "" : Arrays.stream(searchTerm.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) {
+            throw new BadRequestException("Search term must contain at least one letter or digit");
+        }
+        return tsQuery;
+    }
+
+    /**
+     * Fill search_vector for rows written before the trigger existed, in id chunks
+     */
+    private void backfill(JobCheckpoint checkpoint) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee_audit_trail", Long.class);
+            long nextId = checkpoint.getPosition() != null ? checkpoint.getPosition() : 0;
+            if (checkpoint.getRunStartedAt() == null) {
+                checkpoint.setRunStartedAt(LocalDateTime.now());
+            }
+            long updated = 0;
+            TransactionTemplate transactionTemplate = newTransactionTemplate();
+
+            while (maxId != null && nextId <= maxId) {
+                final long fromId = nextId;
+                final long toId = nextId + backfillChunkSize;
+                Integer rows = transactionTemplate.execute(status -> {
+                    int count = jdbcTemplate.update(BACKFILL_CHUNK_SQL, fromId, toId);
+                    checkpoint.setPosition(toId);
+                    checkpointRepository.save(checkpoint);
+                    return count;
+                });
+                updated += rows != null ? rows : 0;
+                nextId = toId;
+            }
+
+            checkpoint.setMarker(BACKFILL_DONE);
+            checkpointRepository.save(checkpoint);
+            logger.info("Audit search index backfill complete ({} rows indexed)", updated);
+        } catch (Exception e) {
+            logger.error("Audit search index backfill stopped, will resume on next start", e);
+        }
+    }
+
+    private TransactionTemplate newTransactionTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
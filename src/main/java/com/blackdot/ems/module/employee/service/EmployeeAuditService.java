@@ -1,17 +1,40 @@
 package com.blackdot.ems.module.employee.service;
 
 import com.blackdot.ems.shared.entity.*;
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.module.employee.dto.AuditTrailPage;
+import com.blackdot.ems.module.employee.dto.AuditTrailResponse;
+import com.blackdot.ems.module.employee.repository.AuditRollupDailyRepository;
+import com.blackdot.ems.module.employee.repository.AuditRollupHourlyRepository;
 import com.blackdot.ems.module.employee.repository.EmployeeAuditTrailRepository;
+import com.blackdot.ems.module.employee.repository.EmployeeAuditTrailSpecifications;
 import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.scheduler.AuditArchiveJob;
+import com.blackdot.ems.module.employee.scheduler.AuditRetentionJob;
+import com.blackdot.ems.shared.exception.BadRequestException;
+import com.blackdot.ems.shared.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -22,122 +45,182 @@ import java.util.stream.Collectors;
 @Transactional
 public class EmployeeAuditService {
     
+    private static final String BULK_DECISION_SQL = "UPDATE employee_audit_trail " +
+            "SET approval_status = ?, approved_by = ?, approved_at = ?, approval_notes = ? " +
+            "WHERE id = ANY(?) AND approval_required = true AND approval_status = 'PENDING' RETURNING id";
+    
+    private static final String DECISION_STATUS_SQL =
+            "SELECT id, approval_status FROM employee_audit_trail WHERE id = ANY(?)";
+    
     @Autowired
     private EmployeeAuditTrailRepository auditRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private AsyncAuditWriter auditWriter;
+    
+    @Autowired
+    private AuditRollupService rollupService;
+    
+    @Autowired
+    private AuditRollupDailyRepository dailyRollupRepository;
+    
+    @Autowired
+    private AuditRollupHourlyRepository hourlyRollupRepository;
+    
+    @Autowired
+    private AuditRetentionJob retentionJob;
+    
+    @Autowired
+    private AuditArchiveStore archiveStore;
+    
+    @Autowired
+    private AuditArchiveJob archiveJob;
+    
+    @Autowired
+    private AuditSearchService searchService;
+    
+    @Autowired
+    private AuditEventBuffer eventBuffer;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.audit.approval.max-bulk-size:1000}")
+    private int maxBulkSize;
+    
+    @Value("${app.audit.approval.max-page-size:100}")
+    private int maxApprovalPageSize;
+    
     /**
      * Create audit trail entry
      */
     public EmployeeAuditTrail createAuditEntry(EmployeeAuditTrail.Builder auditBuilder) {
-        EmployeeAuditTrail audit = auditBuilder.build();
-        return auditRepository.save(audit);
+        EmployeeAuditTrail audit = auditRepository.save(auditBuilder.build());
+        rollupService.record(audit);
+        eventBuffer.publishAfterCommit(audit);
+        return audit;
     }
     
     /**
-     * Log employee action with full context
+     * Queue employee action for the asynchronous audit writer. The row is written after
+     * the current transaction commits, so both users are checked here rather than by a
+     * failed insert.
      */
-    public EmployeeAuditTrail logEmployeeAction(
-            Long employeeId, 
-            AuditAction action, 
-            String description, 
+    public void recordEmployeeAction(
+            Long employeeId,
+            AuditAction action,
+            String description,
             Long performedBy,
             String ipAddress,
             String userAgent,
             String sessionId) {
         
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-        User performer = userRepository.findById(performedBy)
-                .orElseThrow(() -> new RuntimeException("Performer not found"));
+        if (employeeId == null || !userRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee", "id", employeeId);
+        }
+        if (performedBy == null || !userRepository.existsById(performedBy)) {
+            throw new ResourceNotFoundException("User", "id", performedBy);
+        }
         
-        EmployeeAuditTrail audit = EmployeeAuditTrail.builder()
-                .employee(employee)
-                .action(action)
-                .category(getCategoryForAction(action))
-                .description(description)
-                .performedBy(performer)
-                .sessionInfo(ipAddress, userAgent, sessionId)
-                .severity(action.getDefaultSeverity())
-                .riskLevel(action.getDefaultRiskLevel())
-                .approvalRequired(action.requiresApproval())
-                .sensitiveData(action.isPersonalDataRelated())
-                .gdprRelevant(action.isPersonalDataRelated())
-                .build();
+        AuditEventRecord record = new AuditEventRecord(
+                employeeId, action, getCategoryForAction(action), description, performedBy);
+        record.setIpAddress(ipAddress);
+        record.setUserAgent(userAgent);
+        record.setSessionId(sessionId);
+        record.setSeverity(action.getDefaultSeverity());
+        record.setRiskLevel(action.getDefaultRiskLevel());
+        record.setApprovalRequired(action.requiresApproval());
+        record.setSensitiveData(action.isPersonalDataRelated());
+        record.setGdprRelevant(action.isPersonalDataRelated());
         
-        return auditRepository.save(audit);
+        auditWriter.submit(record);
     }
     
     /**
-     * Log field change with old and new values
+     * Queue field change for the asynchronous audit writer (ids only, no lookups)
      */
-    public EmployeeAuditTrail logFieldChange(
+    public void recordFieldChange(
             Long employeeId,
             String fieldName,
             String oldValue,
             String newValue,
-            Long performedBy,
-            String sessionInfo) {
-        
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-        User performer = userRepository.findById(performedBy)
-                .orElseThrow(() -> new RuntimeException("Performer not found"));
+            Long performedBy) {
         
+        auditWriter.submit(fieldChangeRecord(employeeId, fieldName, oldValue, newValue, performedBy));
+    }
+    
+    /**
+     * Build a field-change record using the field mapping rules below (shared with
+     * EmployeeChangeAuditListener)
+     */
+    AuditEventRecord fieldChangeRecord(Long employeeId, String fieldName, String oldValue,
+                                       String newValue, Long performedBy) {
         AuditAction action = getActionForFieldChange(fieldName);
         
-        EmployeeAuditTrail audit = EmployeeAuditTrail.builder()
-                .employee(employee)
-                .action(action)
-                .category(getCategoryForAction(action))
-                .description(String.format("Field '%s' changed from '%s' to '%s'", fieldName, oldValue, newValue))
-                .fieldChange(fieldName, oldValue, newValue)
-                .performedBy(performer)
-                .severity(action.getDefaultSeverity())
-                .riskLevel(action.getDefaultRiskLevel())
-                .sensitiveData(isFieldSensitive(fieldName))
-                .gdprRelevant(isFieldGdprRelevant(fieldName))
-                .build();
-        
-        return auditRepository.save(audit);
+        AuditEventRecord record = new AuditEventRecord(
+                employeeId, action, getCategoryForAction(action),
+                String.format("Field '%s' changed from '%s' to '%s'", fieldName, oldValue, newValue),
+                performedBy);
+        record.setFieldName(fieldName);
+        record.setOldValue(oldValue);
+        record.setNewValue(newValue);
+        record.setSeverity(action.getDefaultSeverity());
+        record.setRiskLevel(action.getDefaultRiskLevel());
+        record.setSensitiveData(isFieldSensitive(fieldName));
+        record.setGdprRelevant(isFieldGdprRelevant(fieldName));
+        return record;
     }
     
     /**
      * Get audit trail for specific employee
      */
-    public List<EmployeeAuditTrail> getEmployeeAuditTrail(Long employeeId) {
-        return auditRepository.findByEmployeeIdOrderByPerformedAtDesc(employeeId);
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getEmployeeAuditTrail(Long employeeId) {
+        List<AuditTrailResponse> trail = new ArrayList<>(auditRepository.findResponsesByEmployeeId(employeeId));
+        // The index count is cheap; only employees with archived events decompress blocks
+        if (archiveStore.count(employeeId, null, null, null) > 0) {
+            archiveStore.find(employeeId, null, null, null, archiveStore.getMaxResults())
+                    .forEach(event -> trail.add(convertToResponse(event)));
+        }
+        return trail;
     }
     
     /**
      * Get audit trail for specific employee with pagination
      */
-    public Page<EmployeeAuditTrail> getEmployeeAuditTrail(Long employeeId, int page, int size) {
+    @Transactional(readOnly = true)
+    public Page<AuditTrailResponse> getEmployeeAuditTrail(Long employeeId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return auditRepository.findByEmployeeIdOrderByPerformedAtDesc(employeeId, pageable);
+        Page<AuditTrailResponse> hot = auditRepository.findResponsesByEmployeeId(employeeId, pageable);
+        return withArchived(hot, pageable, employeeId, null, null, null);
     }
     
     /**
      * Get all audit entries with pagination
      */
-    public Page<EmployeeAuditTrail> getAllAuditEntries(int page, int size) {
+    @Transactional(readOnly = true)
+    public Page<AuditTrailResponse> getAllAuditEntries(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return auditRepository.findAll(pageable);
+        return auditRepository.findAllResponses(pageable);
     }
     
     /**
-     * Search audit entries
+     * Search audit entries (ranked full-text search, see AuditSearchService)
      */
-    public List<EmployeeAuditTrail> searchAuditEntries(String searchTerm) {
-        return auditRepository.searchAuditEvents(searchTerm);
+    @Transactional(readOnly = true)
+    public Page<AuditTrailResponse> searchAuditEntries(String searchTerm, LocalDateTime startDate,
+                                                       LocalDateTime endDate, int page, int size) {
+        return searchService.search(searchTerm, startDate, endDate, page, size);
     }
     
     /**
      * Get filtered audit entries
      */
-    public Page<EmployeeAuditTrail> getFilteredAuditEntries(
+    @Transactional(readOnly = true)
+    public Page<AuditTrailResponse> getFilteredAuditEntries(
             Long employeeId,
             Long performedById,
             AuditCategory category,
@@ -150,39 +233,81 @@ public class EmployeeAuditService {
             int page,
             int size) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        return auditRepository.findWithFilters(
-                employeeId, performedById, category, action, severity, riskLevel,
-                approvalStatus, startDate, endDate, pageable);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "performedAt"));
+        Page<AuditTrailResponse> hot = auditRepository.findAll(
+                EmployeeAuditTrailSpecifications.withFilters(
+                        employeeId, performedById, category, action, severity, riskLevel,
+                        approvalStatus, startDate, endDate),
+                pageable).map(this::convertToResponse);
+        
+        // Open-ended ranges stay on the hot table; an explicit start date past it reads the archive
+        if (startDate == null || !archiveStore.reaches(startDate)) {
+            return hot;
+        }
+        Predicate<ArchivedAuditEvent> filter = event ->
+                (performedById == null || performedById.equals(event.getPerformedById())) &&
+                (category == null || category == event.getCategory()) &&
+                (action == null || action == event.getAction()) &&
+                (severity == null || severity == event.getSeverity()) &&
+                (riskLevel == null || riskLevel == event.getRiskLevel()) &&
+                (approvalStatus == null || approvalStatus == event.getApprovalStatus());
+        return withArchived(hot, pageable, employeeId, startDate, endDate, filter);
     }
     
     /**
-     * Get recent audit activity
+     * Get recent audit activity, served from the in-memory event buffer
      */
-    public List<EmployeeAuditTrail> getRecentActivity(int days) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AuditFeedEvent> getRecentActivity(int days, int limit) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
-        return auditRepository.findRecentEvents(cutoffDate);
+        return eventBuffer.getRecentEvents(cutoffDate, limit);
     }
     
     /**
      * Get high-risk events
      */
-    public List<EmployeeAuditTrail> getHighRiskEvents() {
-        return auditRepository.findHighRiskEvents();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getHighRiskEvents() {
+        return auditRepository.findHighRiskResponses();
     }
     
     /**
      * Get security incidents
      */
-    public List<EmployeeAuditTrail> getSecurityIncidents() {
-        return auditRepository.findSecurityIncidents();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getSecurityIncidents() {
+        return auditRepository.findSecurityIncidentResponses();
     }
     
     /**
      * Get events requiring approval
      */
-    public List<EmployeeAuditTrail> getPendingApprovals() {
-        return auditRepository.findPendingApprovals();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getPendingApprovals() {
+        return auditRepository.findPendingApprovalResponses();
+    }
+    
+    /**
+     * Get one page of the approval queue, oldest pending event first
+     */
+    @Transactional(readOnly = true)
+    public Page<AuditTrailResponse> getApprovalQueue(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxApprovalPageSize));
+        return auditRepository.findApprovalQueue(PageRequest.of(Math.max(page, 0), pageSize));
+    }
+    
+    /**
+     * Approve many pending audit events in one statement
+     */
+    public Map<String, Object> approveEvents(Collection<Long> auditIds, Long approverId, String notes) {
+        return decideEvents(auditIds, approverId, notes, ApprovalStatus.APPROVED);
+    }
+    
+    /**
+     * Reject many pending audit events in one statement
+     */
+    public Map<String, Object> rejectEvents(Collection<Long> auditIds, Long approverId, String notes) {
+        return decideEvents(auditIds, approverId, notes, ApprovalStatus.REJECTED);
     }
     
     /**
@@ -223,71 +348,68 @@ public class EmployeeAuditService {
     
     /**
      * Get comprehensive audit statistics
+     * Served from the hourly/daily rollups plus three COUNT queries for live counters
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getAuditStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        LocalDateTime thirtyDaysAgo = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24).truncatedTo(ChronoUnit.HOURS);
         
         // Basic counts
-        stats.put("totalEvents", auditRepository.count());
-        stats.put("recentEvents", auditRepository.countEventsSince(thirtyDaysAgo));
-        stats.put("pendingApprovals", auditRepository.findPendingApprovals().size());
-        stats.put("highRiskEvents", auditRepository.findHighRiskEvents().size());
-        stats.put("securityIncidents", auditRepository.findSecurityIncidents().size());
+        stats.put("totalEvents", dailyRollupRepository.sumAllEvents());
+        stats.put("recentEvents", dailyRollupRepository.sumEventsSince(thirtyDaysAgo));
+        stats.put("pendingApprovals", auditRepository.countPendingApprovals());
+        stats.put("highRiskEvents", auditRepository.countHighRiskEvents());
+        stats.put("securityIncidents", auditRepository.countSecurityIncidents());
         
         // Action statistics
-        List<Object[]> actionStats = auditRepository.getActionStatistics(thirtyDaysAgo);
-        Map<String, Long> actionCounts = actionStats.stream()
-                .collect(Collectors.toMap(
-                        arr -> ((AuditAction) arr[0]).getDisplayName(),
-                        arr -> (Long) arr[1]
-                ));
-        stats.put("actionStatistics", actionCounts);
+        stats.put("actionStatistics", toDisplayCounts(
+                dailyRollupRepository.getActionStatistics(thirtyDaysAgo), arr -> ((AuditAction) arr[0]).getDisplayName()));
         
         // Category statistics
-        List<Object[]> categoryStats = auditRepository.getCategoryStatistics(thirtyDaysAgo);
-        Map<String, Long> categoryCounts = categoryStats.stream()
-                .collect(Collectors.toMap(
-                        arr -> ((AuditCategory) arr[0]).getDisplayName(),
-                        arr -> (Long) arr[1]
-                ));
-        stats.put("categoryStatistics", categoryCounts);
+        stats.put("categoryStatistics", toDisplayCounts(
+                dailyRollupRepository.getCategoryStatistics(thirtyDaysAgo), arr -> ((AuditCategory) arr[0]).getDisplayName()));
         
         // Severity statistics
-        List<Object[]> severityStats = auditRepository.getSeverityStatistics(thirtyDaysAgo);
-        Map<String, Long> severityCounts = severityStats.stream()
-                .collect(Collectors.toMap(
-                        arr -> ((AuditSeverity) arr[0]).getDisplayName(),
-                        arr -> (Long) arr[1]
-                ));
-        stats.put("severityStatistics", severityCounts);
+        stats.put("severityStatistics", toDisplayCounts(
+                dailyRollupRepository.getSeverityStatistics(thirtyDaysAgo), arr -> ((AuditSeverity) arr[0]).getDisplayName()));
+        
+        // Risk level statistics
+        stats.put("riskLevelStatistics", toDisplayCounts(
+                dailyRollupRepository.getRiskLevelStatistics(thirtyDaysAgo), arr -> ((RiskLevel) arr[0]).getDisplayName()));
         
         // Daily activity
-        List<Object[]> dailyStats = auditRepository.getDailyActivityStatistics(thirtyDaysAgo);
-        Map<String, Long> dailyActivity = dailyStats.stream()
-                .collect(Collectors.toMap(
-                        arr -> arr[0].toString(),
-                        arr -> (Long) arr[1]
-                ));
-        stats.put("dailyActivity", dailyActivity);
+        stats.put("dailyActivity", toDisplayCounts(
+                dailyRollupRepository.getDailyActivityStatistics(thirtyDaysAgo),
+                arr -> ((LocalDateTime) arr[0]).toLocalDate().toString()));
         
-        // Most active users
-        List<Object[]> userStats = auditRepository.getMostActiveUsers(thirtyDaysAgo);
-        Map<String, Long> userActivity = userStats.stream()
-                .limit(10) // Top 10 users
-                .collect(Collectors.toMap(
-                        arr -> {
-                            User user = (User) arr[0];
-                            return user.getFirstName() + " " + user.getLastName();
-                        },
-                        arr -> (Long) arr[1]
-                ));
-        stats.put("mostActiveUsers", userActivity);
+        // Hourly activity (last 24 hours)
+        stats.put("hourlyActivity", toDisplayCounts(
+                hourlyRollupRepository.getHourlyActivityStatistics(twentyFourHoursAgo), arr -> arr[0].toString()));
+        
+        // Most active users (top 10)
+        List<Object[]> userStats = dailyRollupRepository.getMostActiveUsers(thirtyDaysAgo, PageRequest.of(0, 10));
+        Map<Long, User> users = userRepository.findAllById(
+                        userStats.stream().map(arr -> (Long) arr[0]).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        stats.put("mostActiveUsers", toDisplayCounts(userStats, arr -> {
+            User user = users.get((Long) arr[0]);
+            return user != null ? user.getFirstName() + " " + user.getLastName() : "User #" + arr[0];
+        }));
         
         return stats;
     }
     
+    /**
+     * Rebuild audit statistics rollups from the audit table
+     */
+    public void rebuildAuditStatistics() {
+        rollupService.rebuild(archiveStore.getArchivedBefore());
+    }
+    
     /**
      * Get employee-specific statistics
      */
@@ -310,35 +432,190 @@ public class EmployeeAuditService {
     /**
      * Get GDPR-relevant events for data subject requests
      */
-    public List<EmployeeAuditTrail> getGdprRelevantEvents() {
-        return auditRepository.findGdprRelevantEvents();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getGdprRelevantEvents() {
+        return auditRepository.findGdprRelevantResponses();
     }
     
     /**
      * Get sensitive data events
      */
-    public List<EmployeeAuditTrail> getSensitiveDataEvents() {
-        return auditRepository.findSensitiveDataEvents();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getSensitiveDataEvents() {
+        return auditRepository.findSensitiveDataResponses();
     }
     
     /**
      * Get compliance events
      */
-    public List<EmployeeAuditTrail> getComplianceEvents() {
-        return auditRepository.findComplianceEvents();
+    @Transactional(readOnly = true)
+    public List<AuditTrailResponse> getComplianceEvents() {
+        return auditRepository.findComplianceResponses();
+    }
+    
+    /**
+     * Data retention cleanup (chunked purge, see AuditRetentionJob)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long cleanupExpiredEvents() {
+        return retentionJob.purgeExpiredEvents();
     }
     
     /**
-     * Data retention cleanup
+     * Cold archival of aged events (see AuditArchiveJob)
      */
-    public int cleanupExpiredEvents() {
-        List<EmployeeAuditTrail> expiredEvents = auditRepository.findExpiredRetentionEvents();
-        auditRepository.deleteAll(expiredEvents);
-        return expiredEvents.size();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long archiveAgedEvents() {
+        try {
+            return archiveJob.archiveAgedEvents();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write audit archive segment: " + e.getMessage(), e);
+        }
     }
     
     // Helper methods
     
+    /**
+     * One set-based UPDATE over the still-pending ids, then one lookup explaining the
+     * ids it skipped. Only the approver's id is written; the user is never loaded.
+     */
+    private Map<String, Object> decideEvents(Collection<Long> auditIds, Long approverId, String notes,
+                                             ApprovalStatus decision) {
+        if (auditIds == null || auditIds.isEmpty()) {
+            throw new BadRequestException("auditIds must not be empty");
+        }
+        Long[] ids = new LinkedHashSet<>(auditIds).toArray(new Long[0]);
+        if (ids.length > maxBulkSize) {
+            throw new BadRequestException("At most " + maxBulkSize + " audit events can be decided at once");
+        }
+        if (approverId == null || !userRepository.existsById(approverId)) {
+            throw new ResourceNotFoundException("User", "id", approverId);
+        }
+        
+        Timestamp decidedAt = Timestamp.valueOf(LocalDateTime.now());
+        Set<Long> updated = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BULK_DECISION_SQL);
+            ps.setString(1, decision.name());
+            ps.setLong(2, approverId);
+            ps.setTimestamp(3, decidedAt);
+            ps.setString(4, notes);
+            ps.setArray(5, connection.createArrayOf("bigint", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+        
+        Map<Long, String> skippedStatus = new HashMap<>();
+        Long[] skipped = Arrays.stream(ids).filter(id -> !updated.contains(id)).toArray(Long[]::new);
+        if (skipped.length > 0) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(DECISION_STATUS_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", skipped));
+                return ps;
+            }, rs -> {
+                skippedStatus.put(rs.getLong(1), rs.getString(2));
+            });
+        }
+        
+        List<Map<String, Object>> outcomes = new ArrayList<>(ids.length);
+        for (Long id : ids) {
+            Map<String, Object> outcome = new LinkedHashMap<>();
+            outcome.put("auditId", id);
+            if (updated.contains(id)) {
+                outcome.put("outcome", decision.name());
+            } else if (skippedStatus.containsKey(id)) {
+                outcome.put("outcome", "NOT_PENDING");
+                outcome.put("approvalStatus", skippedStatus.get(id));
+            } else {
+                outcome.put("outcome", "NOT_FOUND");
+            }
+            outcomes.add(outcome);
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("decision", decision.name());
+        result.put("requested", ids.length);
+        result.put("updated", updated.size());
+        result.put("outcomes", outcomes);
+        return result;
+    }
+    
+    private Map<String, Long> toDisplayCounts(List<Object[]> rows, Function<Object[], String> label) {
+        return rows.stream()
+                .collect(Collectors.toMap(
+                        label,
+                        arr -> ((Number) arr[1]).longValue(),
+                        Long::sum,
+                        LinkedHashMap::new
+                ));
+    }
+    
+    /**
+     * Append archived events after the hot rows of a page. Archived events are always
+     * older than hot ones, so they continue the newest-first order past the hot total;
+     * the archive is only read for pages that run past it. Only the newest max-results
+     * archived events can be paged to, so the total stops there and the page is marked
+     * archiveCapped when more of them match.
+     */
+    private Page<AuditTrailResponse> withArchived(Page<AuditTrailResponse> hot, Pageable pageable, Long employeeId,
+                                                  LocalDateTime startDate, LocalDateTime endDate,
+                                                  Predicate<ArchivedAuditEvent> filter) {
+        long archivedTotal = archiveStore.count(employeeId, startDate, endDate, filter);
+        if (archivedTotal == 0) {
+            return hot;
+        }
+        long reachable = Math.min(archivedTotal, archiveStore.getMaxResults());
+        List<AuditTrailResponse> content = new ArrayList<>(hot.getContent());
+        int missing = pageable.getPageSize() - content.size();
+        // Archived events only fill pages that run past the hot rows
+        if (missing > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            int limit = (int) Math.min(reachable, archiveOffset + missing);
+            archiveStore.find(employeeId, startDate, endDate, filter, limit)
+                    .stream()
+                    .skip(archiveOffset)
+                    .forEach(event -> content.add(convertToResponse(event)));
+        }
+        return new AuditTrailPage(content, pageable, hot.getTotalElements() + reachable, reachable < archivedTotal);
+    }
+    
+    /**
+     * Map an entity whose users were fetched with it (see EmployeeAuditTrailSpecifications)
+     */
+    private AuditTrailResponse convertToResponse(EmployeeAuditTrail audit) {
+        User approver = audit.getApprovedBy();
+        return new AuditTrailResponse(audit.getId(),
+                audit.getEmployee().getId(), audit.getEmployee().getFullName(),
+                audit.getAction(), audit.getCategory(), audit.getDescription(),
+                audit.getFieldName(), audit.getOldValue(), audit.getNewValue(),
+                audit.getPerformedBy().getId(), audit.getPerformedBy().getFullName(),
+                audit.getPerformedAt(), audit.getIpAddress(), audit.getSeverity(), audit.getRiskLevel(),
+                audit.getApprovalRequired(), audit.getApprovalStatus(),
+                approver != null ? approver.getId() : null, approver != null ? approver.getFullName() : null,
+                audit.getApprovedAt(), audit.getApprovalNotes(),
+                audit.getIsSensitiveData(), audit.getGdprRelevant());
+    }
+    
+    /**
+     * Map an archived event; segments keep employee and performer names but not the approver's
+     */
+    private AuditTrailResponse convertToResponse(ArchivedAuditEvent event) {
+        return new AuditTrailResponse(event.getId(),
+                event.getEmployeeId(), fullName(event.getEmployeeFirstName(), event.getEmployeeLastName()),
+                event.getAction(), event.getCategory(), event.getDescription(),
+                event.getFieldName(), event.getOldValue(), event.getNewValue(),
+                event.getPerformedById(), fullName(event.getPerformedByFirstName(), event.getPerformedByLastName()),
+                event.getPerformedAt(), event.getIpAddress(), event.getSeverity(), event.getRiskLevel(),
+                event.getApprovalRequired(), event.getApprovalStatus(),
+                event.getApprovedById(), null, event.getApprovedAt(), event.getApprovalNotes(),
+                event.getSensitiveData(), event.getGdprRelevant());
+    }
+    
+    private String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        return (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+    }
+    
     private AuditCategory getCategoryForAction(AuditAction action) {
         if (action.isSecurityRelated()) return AuditCategory.SECURITY;
         if (action.isPersonalDataRelated()) return AuditCategory.PERSONAL_DATA;
@@ -350,13 +627,13 @@ public class EmployeeAuditService {
     private AuditAction getActionForFieldChange(String fieldName) {
         return switch (fieldName.toLowerCase()) {
             case "firstname", "lastname", "dateofbirth", "personalid" -> AuditAction.PERSONAL_INFO_UPDATED;
-            case "email", "phonenumber", "emergencycontact" -> AuditAction.CONTACT_INFO_UPDATED;
+            case "email", "phonenumber", "emergencycontact", "emergencycontactname", "emergencycontactphone" -> AuditAction.CONTACT_INFO_UPDATED;
             case "address", "city", "postalcode" -> AuditAction.ADDRESS_UPDATED;
             case "bankdetails", "accountnumber", "taxnumber" -> AuditAction.BANK_DETAILS_UPDATED;
-            case "status", "employmentstatus" -> AuditAction.STATUS_CHANGED;
+            case "status", "employmentstatus", "employeestatus" -> AuditAction.STATUS_CHANGED;
             case "securitylevel", "clearancelevel" -> AuditAction.SECURITY_LEVEL_CHANGED;
             case "salary", "basicsalary", "allowances" -> AuditAction.SALARY_ADJUSTMENT;
-            case "position", "jobTitle", "department" -> AuditAction.POSITION_CHANGE;
+            case "position", "jobtitle", "department", "departmententity" -> AuditAction.POSITION_CHANGE;
             case "reportingmanager", "supervisor" -> AuditAction.MANAGER_CHANGED;
             default -> AuditAction.EMPLOYEE_UPDATED;
         };
@@ -365,11 +642,13 @@ public class EmployeeAuditService {
     private boolean isFieldSensitive(String fieldName) {
         return Set.of("personalid", "dateofbirth", "salary", "basicsalary", 
                      "bankdetails", "accountnumber", "taxnumber", "emergencycontact",
+                     "emergencycontactname", "emergencycontactphone",
                      "securitylevel", "clearancelevel").contains(fieldName.toLowerCase());
     }
     
     private boolean isFieldGdprRelevant(String fieldName) {
         return Set.of("firstname", "lastname", "email", "phonenumber", "address", 
-                     "personalid", "dateofbirth", "emergencycontact").contains(fieldName.toLowerCase());
+                     "personalid", "dateofbirth", "emergencycontact",
+                     "emergencycontactname", "emergencycontactphone").contains(fieldName.toLowerCase());
     }
 }
\ No newline at end of file
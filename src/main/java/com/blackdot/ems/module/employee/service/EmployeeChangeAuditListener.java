@@ -0,0 +1,222 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditEventRecord;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.AuditCategory;
+import com.blackdot.ems.shared.entity.User;
+import com.blackdot.ems.shared.util.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Employee Change Audit Listener
+ * Hibernate post-update listener that turns the dirty properties of every flushed
+ * User update into field-change audit records, using the field mapping rules of
+ * EmployeeAuditService. Old values come from the loaded state Hibernate already
+ * holds, so no extra reads are needed. All records of one transaction are queued
+ * back to back after commit, so the asynchronous writer inserts them in one JDBC
+ * batch; rolled-back changes are never audited. Committed field changes also count
+ * towards the employee's next history snapshot (see EmployeeHistoryService).
+ */
+@Component
+public class EmployeeChangeAuditListener implements PostUpdateEventListener {
+
+    // Bookkeeping columns that change on every login or save
+    private static final Set<String> IGNORED_PROPERTIES = Set.of(
+            "createdAt", "updatedAt", "lastLogin", "failedLoginAttempts", "accountLockedUntil",
+            "statusChangeDate", "statusChangedBy");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeAuditService auditService;
+
+    @Autowired
+    private AsyncAuditWriter auditWriter;
+
+    @Autowired
+    private EmployeeHistoryService historyService;
+
+    @Value("${app.audit.entity-changes.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void register() {
+        if (!enabled) {
+            return;
+        }
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof User user) || event.getOldState() == null) {
+            return;
+        }
+
+        EntityPersister persister = event.getPersister();
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] oldState = event.getOldState();
+        Object[] newState = event.getState();
+
+        Long performedBy = currentUserId(user);
+        String ipAddress = null;
+        String userAgent = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            ipAddress = request.getRemoteAddr();
+            userAgent = request.getHeader("User-Agent");
+        }
+
+        List<AuditEventRecord> records = new ArrayList<>();
+        for (int index : dirtyProperties(event, oldState, newState)) {
+            String name = names[index];
+            if (IGNORED_PROPERTIES.contains(name) || types[index].isCollectionType()) {
+                continue;
+            }
+
+            AuditEventRecord record;
+            if ("password".equals(name)) {
+                // Never store password hashes in the audit trail
+                record = new AuditEventRecord(user.getId(), AuditAction.PASSWORD_CHANGED,
+                        AuditCategory.SECURITY, "Password changed", performedBy);
+                record.setSeverity(AuditAction.PASSWORD_CHANGED.getDefaultSeverity());
+                record.setRiskLevel(AuditAction.PASSWORD_CHANGED.getDefaultRiskLevel());
+            } else {
+                record = auditService.fieldChangeRecord(user.getId(), name,
+                        format(event, oldState[index], types[index]),
+                        format(event, newState[index], types[index]), performedBy);
+            }
+            record.setIpAddress(ipAddress);
+            record.setUserAgent(userAgent);
+            records.add(record);
+        }
+
+        if (records.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingRecords().addAll(records);
+        } else {
+            submit(records);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Helper methods
+
+    /**
+     * Records collected so far in the current transaction. Every flush of the
+     * transaction, including the one at commit, adds to the same list; after commit
+     * the whole list is queued back to back.
+     */
+    @SuppressWarnings("unchecked")
+    private List<AuditEventRecord> pendingRecords() {
+        List<AuditEventRecord> pending = (List<AuditEventRecord>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditEventRecord> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeChangeAuditListener.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    /**
+     * Queue committed records and count the field changes per employee towards the
+     * next history snapshot
+     */
+    private void submit(List<AuditEventRecord> records) {
+        Map<Long, Integer> changesPerEmployee = new HashMap<>();
+        for (AuditEventRecord record : records) {
+            auditWriter.submitImmediately(record);
+            if (record.getFieldName() != null) {
+                changesPerEmployee.merge(record.getEmployeeId(), 1, Integer::sum);
+            }
+        }
+        changesPerEmployee.forEach(historyService::recordChanges);
+    }
+
+    private int[] dirtyProperties(PostUpdateEvent event, Object[] oldState, Object[] newState) {
+        if (event.getDirtyProperties() != null) {
+            return event.getDirtyProperties();
+        }
+        List<Integer> dirty = new ArrayList<>();
+        for (int i = 0; i < newState.length; i++) {
+            if (!Objects.equals(oldState[i], newState[i])) {
+                dirty.add(i);
+            }
+        }
+        return dirty.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private String format(PostUpdateEvent event, Object value, Type type) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isEntityType()) {
+            // Record associations by id; never initialize a proxy during flush
+            Object id = value instanceof HibernateProxy proxy
+                    ? proxy.getHibernateLazyInitializer().getIdentifier()
+                    : event.getSession().getEntityPersister(null, value).getIdentifier(value, event.getSession());
+            return String.valueOf(id);
+        }
+        return value.toString();
+    }
+
+    private Long currentUserId(User user) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+            return principal.getId();
+        }
+        // Changes made outside a request (jobs, startup) are attributed to whoever set the
+        // status last, else to the employee record itself
+        return user.getStatusChangedBy() != null ? user.getStatusChangedBy() : user.getId();
+    }
+}
@@ -0,0 +1,316 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.ArchivedAuditEvent;
+import com.blackdot.ems.module.employee.dto.EmployeeResponse;
+import com.blackdot.ems.module.employee.repository.EmployeeStateSnapshotRepository;
+import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.shared.entity.EmployeeStateSnapshot;
+import com.blackdot.ems.shared.entity.User;
+import com.blackdot.ems.shared.exception.BadRequestException;
+import com.blackdot.ems.shared.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Employee History Service
+ * Answers "what did this employee record look like at time T" from the field-change
+ * audit trail. Every snapshot-interval field changes of an employee a full snapshot of
+ * the record is stored; a point-in-time query starts from the nearest snapshot and
+ * replays only the changes between it and T: forward (new values) from an earlier
+ * snapshot, or backward (old values) from a later snapshot or the current record.
+ *
+ * Properties the change listener does not audit (last login, lock-out counters and
+ * other bookkeeping) keep the value of the snapshot the replay started from.
+ */
+@Service
+public class EmployeeHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeHistoryService.class);
+
+    private static final TypeReference<Map<String, String>> STATE_TYPE = new TypeReference<>() {};
+
+    // Earliest bound for counting changes of employees without any snapshot
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String CHANGES_SQL = "SELECT field_name, old_value, new_value, performed_at " +
+            "FROM employee_audit_trail WHERE employee_id = ? AND field_name IS NOT NULL " +
+            "AND performed_at > ? AND performed_at <= ? ORDER BY performed_at, id";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM employee_audit_trail " +
+            "WHERE employee_id = ? AND field_name IS NOT NULL AND performed_at > ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmployeeStateSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AuditArchiveStore archiveStore;
+
+    @Value("${app.employee.history.snapshot-interval:50}")
+    private int snapshotInterval;
+
+    // Field changes since the last snapshot, per employee; seeded from the audit trail on first
+    // use and dropped once a snapshot is taken, so only employees between snapshots are held
+    private final Map<Long, AtomicInteger> changesSinceSnapshot = new ConcurrentHashMap<>();
+
+    private EntityPersister persister;
+    private TransactionTemplate snapshotTemplate;
+
+    @PostConstruct
+    public void init() {
+        persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(User.class);
+        // Snapshots are taken after the triggering commit, so they need their own transaction
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rebuild an employee record as it was at the given time
+     */
+    @Transactional(readOnly = true)
+    public EmployeeResponse getEmployeeAsOf(Long employeeId, LocalDateTime asOf) {
+        User current = userRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", employeeId));
+        LocalDateTime now = LocalDateTime.now();
+        if (!asOf.isBefore(now)) {
+            return employeeService.convertToResponse(current);
+        }
+        if (current.getCreatedAt() != null && asOf.isBefore(current.getCreatedAt())) {
+            throw new BadRequestException("Employee " + employeeId + " did not exist at " + asOf);
+        }
+
+        Map<String, String> state;
+        Optional<EmployeeStateSnapshot> before = snapshotRepository
+                .findFirstByEmployeeIdAndTakenAtLessThanEqualOrderByTakenAtDesc(employeeId, asOf);
+        if (before.isPresent()) {
+            state = readState(before.get());
+            for (ArchivedAuditEvent change : changesBetween(employeeId, before.get().getTakenAt(), asOf)) {
+                state.put(change.getFieldName(), change.getNewValue());
+            }
+        } else {
+            Optional<EmployeeStateSnapshot> after = snapshotRepository
+                    .findFirstByEmployeeIdAndTakenAtGreaterThanOrderByTakenAtAsc(employeeId, asOf);
+            state = after.isPresent() ? readState(after.get()) : captureState(current);
+            List<ArchivedAuditEvent> changes = changesBetween(employeeId, asOf,
+                    after.map(EmployeeStateSnapshot::getTakenAt).orElse(now));
+            Collections.reverse(changes);
+            for (ArchivedAuditEvent change : changes) {
+                state.put(change.getFieldName(), change.getOldValue());
+            }
+        }
+
+        User past = toUser(state, current);
+        EmployeeResponse response = employeeService.convertToResponse(past);
+
+        // Date-relative flags are evaluated on the as-of date, not today
+        LocalDate day = asOf.toLocalDate();
+        response.setInProbation(past.getProbationEndDate() != null && past.getProbationEndDate().isAfter(day));
+        response.setContractExpiringSoon(past.getContractEndDate() != null
+                && past.getContractEndDate().isBefore(day.plusDays(30)));
+        response.setRequiresBackgroundCheckRenewal(past.getClearanceLevel() == null
+                || past.getBackgroundCheckDate() == null
+                || past.getBackgroundCheckDate().plusMonths(past.getClearanceLevel().getReviewPeriodMonths()).isBefore(day));
+        return response;
+    }
+
+    /**
+     * Count committed field changes of an employee and store a snapshot once
+     * snapshot-interval of them have accumulated. Called after commit; failures are
+     * logged only, a missing snapshot just makes later reconstructions replay more.
+     */
+    public void recordChanges(Long employeeId, int changes) {
+        if (snapshotInterval <= 0 || changes <= 0) {
+            return;
+        }
+        try {
+            AtomicInteger count = changesSinceSnapshot.get(employeeId);
+            if (count == null) {
+                // Seeded outside the map, so the query never runs under a map bin lock
+                AtomicInteger seeded = new AtomicInteger(
+                        snapshotTemplate.execute(status -> countChangesSinceSnapshot(employeeId)));
+                AtomicInteger existing = changesSinceSnapshot.putIfAbsent(employeeId, seeded);
+                count = existing != null ? existing : seeded;
+            }
+            if (count.addAndGet(changes) < snapshotInterval) {
+                return;
+            }
+            try {
+                snapshotTemplate.executeWithoutResult(status -> takeSnapshot(employeeId));
+            } finally {
+                // The next change reseeds from the audit trail; a failed snapshot is retried then
+                changesSinceSnapshot.remove(employeeId, count);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to snapshot employee {}: {}", employeeId, e.getMessage());
+        }
+    }
+
+    // Helper methods
+
+    private int countChangesSinceSnapshot(Long employeeId) {
+        LocalDateTime since = snapshotRepository.findFirstByEmployeeIdOrderByTakenAtDesc(employeeId)
+                .map(EmployeeStateSnapshot::getTakenAt)
+                .orElse(BEGINNING);
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, employeeId, Timestamp.valueOf(since));
+        return count != null ? (int) Math.min(count, Integer.MAX_VALUE) : 0;
+    }
+
+    private void takeSnapshot(Long employeeId) {
+        userRepository.findById(employeeId).ifPresent(user -> {
+            try {
+                String state = objectMapper.writeValueAsString(captureState(user));
+                snapshotRepository.save(new EmployeeStateSnapshot(employeeId, LocalDateTime.now(), state));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialize employee state: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Field changes of an employee with from < performed_at <= to, oldest first,
+     * including any that have already moved to the cold archive
+     */
+    private List<ArchivedAuditEvent> changesBetween(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedAuditEvent> changes = new ArrayList<>();
+        if (archiveStore.reaches(from)) {
+            List<ArchivedAuditEvent> archived = archiveStore.find(employeeId, from, to,
+                    event -> event.getFieldName() != null, archiveStore.getMaxResults());
+            // Archive bounds are inclusive and newest first
+            for (int i = archived.size() - 1; i >= 0; i--) {
+                if (archived.get(i).getPerformedAt().isAfter(from)) {
+                    changes.add(archived.get(i));
+                }
+            }
+        }
+        jdbcTemplate.query(CHANGES_SQL, rs -> {
+            ArchivedAuditEvent change = new ArchivedAuditEvent();
+            change.setEmployeeId(employeeId);
+            change.setFieldName(rs.getString("field_name"));
+            change.setOldValue(rs.getString("old_value"));
+            change.setNewValue(rs.getString("new_value"));
+            change.setPerformedAt(rs.getTimestamp("performed_at").toLocalDateTime());
+            changes.add(change);
+        }, employeeId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return changes;
+    }
+
+    /**
+     * Current values of every audited property, formatted the way the change listener
+     * records them: associations by id, everything else by toString. Collections and
+     * the password hash are never captured.
+     */
+    private Map<String, String> captureState(User user) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, String> state = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType() || "password".equals(names[i])) {
+                continue;
+            }
+            Object value = persister.getValue(user, i);
+            if (value == null) {
+                state.put(names[i], null);
+            } else if (types[i].isEntityType()) {
+                state.put(names[i], String.valueOf(entityManagerFactory.getPersistenceUnitUtil().getIdentifier(value)));
+            } else {
+                state.put(names[i], value.toString());
+            }
+        }
+        return state;
+    }
+
+    private Map<String, String> readState(EmployeeStateSnapshot snapshot) {
+        try {
+            return new LinkedHashMap<>(objectMapper.readValue(snapshot.getState(), STATE_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Corrupt employee snapshot " + snapshot.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Detached User carrying the reconstructed values. Properties missing from the
+     * state (collections, the password, columns added after the snapshot) keep their
+     * current values; the result is only read, never persisted.
+     */
+    private User toUser(Map<String, String> state, User current) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] values = persister.getValues(current);
+        for (int i = 0; i < names.length; i++) {
+            if (!types[i].isCollectionType() && state.containsKey(names[i])) {
+                values[i] = parse(names[i], state.get(names[i]), types[i]);
+            }
+        }
+        User past = new User();
+        persister.setValues(past, values);
+        past.setId(current.getId());
+        return past;
+    }
+
+    private Object parse(String name, String value, Type type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (type.isEntityType()) {
+                return entityManager.find(type.getReturnedClass(), Long.valueOf(value));
+            }
+            return objectMapper.convertValue(value, type.getReturnedClass());
+        } catch (IllegalArgumentException e) {
+            logger.debug("Cannot restore {}='{}' of employee history: {}", name, value, e.getMessage());
+            return null;
+        }
+    }
+}
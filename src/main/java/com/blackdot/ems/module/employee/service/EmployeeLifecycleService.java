@@ -1,23 +1,42 @@
 package com.blackdot.ems.module.employee.service;
 
 import com.blackdot.ems.shared.entity.*;
+import com.blackdot.ems.module.employee.dto.LifecycleEventSummary;
 import com.blackdot.ems.module.employee.repository.EmployeeLifecycleEventRepository;
 import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.scheduler.AnnualReviewCycleJob;
+import com.blackdot.ems.module.employee.scheduler.ContractRenewalReminderJob;
+import com.blackdot.ems.shared.exception.BadRequestException;
 import com.blackdot.ems.shared.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Employee Lifecycle Management Service
@@ -33,6 +52,48 @@ public class EmployeeLifecycleService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private AnnualReviewCycleJob annualReviewCycleJob;
+    
+    @Autowired
+    private ContractRenewalReminderJob contractRenewalReminderJob;
+    
+    @Autowired
+    private LifecycleOverdueTimer overdueTimer;
+    
+    @Autowired
+    private WorkflowTemplateService workflowTemplateService;
+    
+    @Autowired
+    private EmployeeTimelineService timelineService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.lifecycle.workflow.max-cohort-size:1000}")
+    private int maxCohortSize;
+    
+    @Value("${app.lifecycle.list.max-page-size:100}")
+    private int maxPageSize;
+    
+    @Value("${app.lifecycle.statistics.cache-ttl-seconds:30}")
+    private long statisticsCacheTtlSeconds;
+    
+    // Bumped on every lifecycle write; guards against caching statistics computed across a write
+    private final AtomicLong statisticsVersion = new AtomicLong();
+    
+    private volatile CachedStatistics cachedStatistics;
+    
+    private static final String COHORT_EMPLOYEES_SQL = "SELECT id, first_name, last_name, hire_date FROM users WHERE id = ANY(?)";
+    
+    // One statement for the whole cohort; RETURNING yields exactly the rows this request inserted
+    private static final String COHORT_INSERT_SQL = "INSERT INTO employee_lifecycle_events " +
+            "(employee_id, event_type, event_date, due_date, status, description, priority, created_at, created_by, cycle_key) " +
+            "SELECT t.employee_id, t.event_type, t.event_date, t.due_date, ?, t.description, t.priority, ?, ?, t.cycle_key " +
+            "FROM unnest(?::bigint[], ?::varchar[], ?::date[], ?::date[], ?::text[], ?::integer[], ?::varchar[]) " +
+            "    AS t(employee_id, event_type, event_date, due_date, description, priority, cycle_key) " +
+            "ON CONFLICT DO NOTHING RETURNING id";
+    
     private static final List<EventStatus> ACTIVE_STATUSES = Arrays.asList(
             EventStatus.PENDING, EventStatus.IN_PROGRESS, EventStatus.OVERDUE, EventStatus.POSTPONED
     );
@@ -49,6 +110,16 @@ public class EmployeeLifecycleService {
             LifecycleEventType.GOAL_SETTING
     );
     
+    @PostConstruct
+    public void init() {
+        // Review cycle chunks, contract reminders and overdue transitions are written outside this service
+        annualReviewCycleJob.addChunkListener(this::invalidateStatistics);
+        annualReviewCycleJob.addChunkListener(overdueTimer::requestResync);
+        contractRenewalReminderJob.addRunListener(this::invalidateStatistics);
+        contractRenewalReminderJob.addRunListener(overdueTimer::requestResync);
+        overdueTimer.addOverdueListener(this::invalidateStatistics);
+    }
+    
     // Employee Lifecycle Event Management
     
     /**
@@ -72,7 +143,7 @@ public class EmployeeLifecycleService {
         // Set priority based on event type
         event.setPriority(eventType.isHighPriority() ? 1 : 2);
         
-        return lifecycleEventRepository.save(event);
+        return saveEvent(event);
     }
     
     /**
@@ -90,7 +161,7 @@ public class EmployeeLifecycleService {
             event.setCompletedDate(LocalDate.now());
         }
         
-        return lifecycleEventRepository.save(event);
+        return saveEvent(event);
     }
     
     /**
@@ -100,6 +171,27 @@ public class EmployeeLifecycleService {
         return updateEventStatus(eventId, EventStatus.COMPLETED, notes, completedBy);
     }
     
+    /**
+     * Move the due date of a lifecycle event; an overdue event due again in the future
+     * goes back to pending
+     */
+    public EmployeeLifecycleEvent rescheduleEvent(Long eventId, LocalDate newDueDate, String notes, Long updatedBy) {
+        EmployeeLifecycleEvent event = lifecycleEventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lifecycle Event", "id", eventId));
+        
+        event.setDueDate(newDueDate);
+        if (notes != null && !notes.isEmpty()) {
+            event.setNotes(notes);
+        }
+        event.setUpdatedAt(LocalDateTime.now());
+        
+        if (event.getStatus() == EventStatus.OVERDUE && !newDueDate.isBefore(LocalDate.now())) {
+            event.setStatus(EventStatus.PENDING);
+        }
+        
+        return saveEvent(event);
+    }
+    
     // Onboarding Workflow
     
     /**
@@ -109,34 +201,16 @@ public class EmployeeLifecycleService {
         User employee = userRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
         
-        List<EmployeeLifecycleEvent> onboardingEvents = Arrays.asList(
-            createOnboardingEvent(employee, LifecycleEventType.FIRST_DAY, startDate, createdBy),
-            createOnboardingEvent(employee, LifecycleEventType.ORIENTATION_SCHEDULED, startDate, createdBy),
-            createOnboardingEvent(employee, LifecycleEventType.IT_SETUP_COMPLETED, startDate.minusDays(1), createdBy),
-            createOnboardingEvent(employee, LifecycleEventType.WORKSPACE_ASSIGNED, startDate.minusDays(1), createdBy),
-            createOnboardingEvent(employee, LifecycleEventType.BUDDY_ASSIGNED, startDate, createdBy)
-        );
+        List<EmployeeLifecycleEvent> onboardingEvents = new ArrayList<>(
+                buildWorkflowEvents(workflowTemplateService.getTemplate(WorkflowTemplateService.ONBOARDING), employee, startDate, createdBy));
         
         // Initialize probation workflow if applicable
         if (employee.getProbationEndDate() != null) {
-            onboardingEvents.addAll(initializeProbationWorkflow(employeeId, startDate, createdBy));
-        }
-        
-        return lifecycleEventRepository.saveAll(onboardingEvents);
-    }
-    
-    private EmployeeLifecycleEvent createOnboardingEvent(User employee, LifecycleEventType eventType, LocalDate eventDate, Long createdBy) {
-        EmployeeLifecycleEvent event = new EmployeeLifecycleEvent(employee, eventType, eventDate);
-        event.setDescription(eventType.getDescription());
-        event.setCreatedBy(createdBy);
-        
-        int defaultDueDays = eventType.getDefaultDueDays();
-        if (defaultDueDays > 0) {
-            event.setDueDate(eventDate.plusDays(defaultDueDays));
+            onboardingEvents.addAll(
+                    buildWorkflowEvents(workflowTemplateService.getTemplate(WorkflowTemplateService.PROBATION), employee, startDate, createdBy));
         }
         
-        event.setPriority(eventType.isHighPriority() ? 1 : 2);
-        return event;
+        return saveEvents(onboardingEvents);
     }
     
     // Probation Management
@@ -145,26 +219,7 @@ public class EmployeeLifecycleService {
      * Initialize probation workflow
      */
     public List<EmployeeLifecycleEvent> initializeProbationWorkflow(Long employeeId, LocalDate startDate, Long createdBy) {
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
-        
-        List<EmployeeLifecycleEvent> probationEvents = Arrays.asList(
-            createProbationEvent(employee, LifecycleEventType.PROBATION_STARTED, startDate, createdBy),
-            createProbationEvent(employee, LifecycleEventType.PROBATION_REVIEW_30, startDate.plusDays(30), createdBy),
-            createProbationEvent(employee, LifecycleEventType.PROBATION_REVIEW_60, startDate.plusDays(60), createdBy),
-            createProbationEvent(employee, LifecycleEventType.PROBATION_REVIEW_90, startDate.plusDays(90), createdBy)
-        );
-        
-        return lifecycleEventRepository.saveAll(probationEvents);
-    }
-    
-    private EmployeeLifecycleEvent createProbationEvent(User employee, LifecycleEventType eventType, LocalDate eventDate, Long createdBy) {
-        EmployeeLifecycleEvent event = new EmployeeLifecycleEvent(employee, eventType, eventDate);
-        event.setDescription("Probation review for " + employee.getFullName());
-        event.setDueDate(eventDate);
-        event.setCreatedBy(createdBy);
-        event.setPriority(1); // High priority for probation reviews
-        return event;
+        return instantiateWorkflow(WorkflowTemplateService.PROBATION, employeeId, startDate, createdBy);
     }
     
     /**
@@ -187,7 +242,7 @@ public class EmployeeLifecycleService {
         completionEvent.setCompletedDate(LocalDate.now());
         completionEvent.setCreatedBy(completedBy);
         
-        return lifecycleEventRepository.save(completionEvent);
+        return saveEvent(completionEvent);
     }
     
     // Performance Management
@@ -206,62 +261,33 @@ public class EmployeeLifecycleService {
         reviewEvent.setCreatedBy(createdBy);
         reviewEvent.setPriority(1);
         
-        return lifecycleEventRepository.save(reviewEvent);
+        return saveEvent(reviewEvent);
     }
     
     /**
-     * Create annual performance review cycle for all employees
+     * Start generating the annual performance review cycle for all active employees in
+     * the background (see AnnualReviewCycleJob); returns the initial progress
      */
-    public List<EmployeeLifecycleEvent> createAnnualPerformanceReviewCycle(LocalDate reviewPeriodStart, Long createdBy) {
-        List<User> activeEmployees = userRepository.findAll().stream()
-                .filter(user -> user.getEmployeeStatus() == EmployeeStatus.ACTIVE)
-                .collect(Collectors.toList());
-        
-        List<EmployeeLifecycleEvent> reviewEvents = activeEmployees.stream()
-                .map(employee -> {
-                    // Schedule review based on hire date anniversary
-                    LocalDate reviewDate = reviewPeriodStart.plusDays(
-                            (employee.getHireDate().getDayOfYear() % 365));
-                    
-                    EmployeeLifecycleEvent event = new EmployeeLifecycleEvent(
-                            employee, LifecycleEventType.PERFORMANCE_REVIEW_DUE, reviewDate);
-                    event.setDescription("Annual performance review");
-                    event.setDueDate(reviewDate);
-                    event.setCreatedBy(createdBy);
-                    event.setPriority(2);
-                    return event;
-                })
-                .collect(Collectors.toList());
-        
-        return lifecycleEventRepository.saveAll(reviewEvents);
+    public Map<String, Object> createAnnualPerformanceReviewCycle(LocalDate reviewPeriodStart, Long createdBy) {
+        return annualReviewCycleJob.start(reviewPeriodStart, createdBy);
+    }
+    
+    /**
+     * Progress of the current or last annual review cycle run
+     */
+    public Map<String, Object> getAnnualReviewCycleStatus() {
+        return annualReviewCycleJob.getStatus();
     }
     
     // Contract Management
     
     /**
-     * Create contract renewal reminders
+     * Create contract renewal reminders for contracts that entered the reminder window
+     * since the last run (see ContractRenewalReminderJob)
      */
     public List<EmployeeLifecycleEvent> createContractRenewalReminders(Long createdBy) {
-        List<User> contractEmployees = userRepository.findAll().stream()
-                .filter(user -> user.getContractEndDate() != null && 
-                               user.getContractEndDate().isAfter(LocalDate.now()))
-                .collect(Collectors.toList());
-        
-        List<EmployeeLifecycleEvent> renewalEvents = contractEmployees.stream()
-                .filter(employee -> employee.isContractExpiringSoon())
-                .map(employee -> {
-                    EmployeeLifecycleEvent event = new EmployeeLifecycleEvent(
-                            employee, LifecycleEventType.CONTRACT_RENEWAL_DUE, 
-                            employee.getContractEndDate().minusDays(30));
-                    event.setDescription("Contract renewal required for " + employee.getFullName());
-                    event.setDueDate(employee.getContractEndDate().minusDays(30));
-                    event.setCreatedBy(createdBy);
-                    event.setPriority(1);
-                    return event;
-                })
-                .collect(Collectors.toList());
-        
-        return lifecycleEventRepository.saveAll(renewalEvents);
+        List<Long> createdIds = contractRenewalReminderJob.generateReminders(createdBy);
+        return createdIds.isEmpty() ? Collections.emptyList() : lifecycleEventRepository.findAllById(createdIds);
     }
     
     // Reporting and Analytics
@@ -283,17 +309,21 @@ public class EmployeeLifecycleService {
     /**
      * Get overdue events
      */
-    public List<EmployeeLifecycleEvent> getOverdueEvents() {
-        return lifecycleEventRepository.findOverdueEvents(LocalDate.now(), ACTIVE_STATUSES);
+    public Page<LifecycleEventSummary> getOverdueEvents(int page, int size) {
+        // The overdue timer keeps the status current; without it fall back to the date check
+        if (overdueTimer.isEnabled()) {
+            return withNames(lifecycleEventRepository.findSummariesByStatus(EventStatus.OVERDUE, pageRequest(page, size)));
+        }
+        return withNames(lifecycleEventRepository.findOverdueSummaries(LocalDate.now(), ACTIVE_STATUSES, pageRequest(page, size)));
     }
     
     /**
      * Get events due soon (next 7 days)
      */
-    public List<EmployeeLifecycleEvent> getEventsDueSoon(int days) {
+    public Page<LifecycleEventSummary> getEventsDueSoon(int days, int page, int size) {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(days);
-        return lifecycleEventRepository.findEventsDueSoon(startDate, endDate, ACTIVE_STATUSES);
+        return withNames(lifecycleEventRepository.findSummariesDueBetween(startDate, endDate, ACTIVE_STATUSES, pageRequest(page, size)));
     }
     
     /**
@@ -306,70 +336,320 @@ public class EmployeeLifecycleService {
     /**
      * Get probation events requiring attention
      */
-    public List<EmployeeLifecycleEvent> getProbationEventsRequiringAttention() {
-        return lifecycleEventRepository.findProbationEvents(PROBATION_EVENT_TYPES);
+    public Page<LifecycleEventSummary> getProbationEventsRequiringAttention(int page, int size) {
+        return withNames(lifecycleEventRepository.findProbationSummaries(PROBATION_EVENT_TYPES, pageRequest(page, size)));
     }
     
     /**
      * Get performance reviews due
      */
-    public List<EmployeeLifecycleEvent> getPerformanceReviewsDue() {
-        return lifecycleEventRepository.findPerformanceReviewsDue(PERFORMANCE_EVENT_TYPES, ACTIVE_STATUSES);
+    public Page<LifecycleEventSummary> getPerformanceReviewsDue(int page, int size) {
+        return withNames(lifecycleEventRepository.findSummariesByEventTypes(PERFORMANCE_EVENT_TYPES, ACTIVE_STATUSES, pageRequest(page, size)));
     }
     
     /**
      * Get contract renewals due soon
      */
-    public List<EmployeeLifecycleEvent> getContractRenewalsDue() {
+    public Page<LifecycleEventSummary> getContractRenewalsDue(int page, int size) {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(60); // Next 60 days
-        return lifecycleEventRepository.findContractRenewalsDue(
-                LifecycleEventType.CONTRACT_RENEWAL_DUE, startDate, endDate, ACTIVE_STATUSES);
+        return withNames(lifecycleEventRepository.findSummariesByEventTypeDueBetween(
+                LifecycleEventType.CONTRACT_RENEWAL_DUE, startDate, endDate, ACTIVE_STATUSES, pageRequest(page, size)));
     }
     
     /**
-     * Get lifecycle statistics
+     * Get lifecycle statistics (cached for a short time, dropped on every lifecycle write)
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getLifecycleStatistics() {
+        CachedStatistics cached = cachedStatistics;
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt) {
+            return cached.stats;
+        }
+        
+        long version = statisticsVersion.get();
+        Map<String, Object> stats = Collections.unmodifiableMap(computeLifecycleStatistics());
+        // Only cache if no write invalidated the statistics while they were being computed
+        if (statisticsVersion.get() == version) {
+            cachedStatistics = new CachedStatistics(stats, System.currentTimeMillis() + statisticsCacheTtlSeconds * 1000L);
+        }
+        return stats;
+    }
+    
+    private Map<String, Object> computeLifecycleStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        // Event status counts
-        Map<EventStatus, Long> statusCounts = Arrays.stream(EventStatus.values())
-                .collect(Collectors.toMap(
-                        status -> status,
-                        status -> lifecycleEventRepository.countByStatus(status)
-                ));
+        // Event status counts (one GROUP BY; statuses without events count as 0)
+        Map<EventStatus, Long> statusCounts = new EnumMap<>(EventStatus.class);
+        for (EventStatus status : EventStatus.values()) {
+            statusCounts.put(status, 0L);
+        }
+        for (Object[] row : lifecycleEventRepository.countGroupedByStatus()) {
+            statusCounts.put((EventStatus) row[0], (Long) row[1]);
+        }
         
+        LocalDate today = LocalDate.now();
         stats.put("statusCounts", statusCounts);
-        stats.put("overdueCount", lifecycleEventRepository.countOverdueEvents(LocalDate.now(), ACTIVE_STATUSES));
-        stats.put("dueSoonCount", getEventsDueSoon(7).size());
-        stats.put("probationCount", getProbationEventsRequiringAttention().size());
-        stats.put("performanceReviewCount", getPerformanceReviewsDue().size());
-        stats.put("contractRenewalCount", getContractRenewalsDue().size());
+        stats.put("overdueCount", overdueTimer.isEnabled()
+                ? statusCounts.get(EventStatus.OVERDUE)
+                : lifecycleEventRepository.countOverdueEvents(today, ACTIVE_STATUSES));
+        stats.put("dueSoonCount", lifecycleEventRepository.countEventsDueSoon(today, today.plusDays(7), ACTIVE_STATUSES));
+        stats.put("probationCount", lifecycleEventRepository.countProbationEvents(PROBATION_EVENT_TYPES));
+        stats.put("performanceReviewCount", lifecycleEventRepository.countPerformanceReviewsDue(
+                PERFORMANCE_EVENT_TYPES, ACTIVE_STATUSES));
+        stats.put("contractRenewalCount", lifecycleEventRepository.countContractRenewalsDue(
+                LifecycleEventType.CONTRACT_RENEWAL_DUE, today, today.plusDays(60), ACTIVE_STATUSES));
         
         return stats;
     }
     
+    /**
+     * Save an event, keeping the statistics cache, the overdue timer and the timeline cache in step
+     */
+    private EmployeeLifecycleEvent saveEvent(EmployeeLifecycleEvent event) {
+        invalidateStatistics();
+        EmployeeLifecycleEvent saved = lifecycleEventRepository.save(event);
+        overdueTimer.schedule(saved.getId(), saved.getDueDate(), saved.getStatus());
+        timelineService.recordLifecycleEvent(saved);
+        return saved;
+    }
+    
+    private List<EmployeeLifecycleEvent> saveEvents(List<EmployeeLifecycleEvent> events) {
+        invalidateStatistics();
+        List<EmployeeLifecycleEvent> saved = lifecycleEventRepository.saveAll(events);
+        saved.forEach(event -> {
+            overdueTimer.schedule(event.getId(), event.getDueDate(), event.getStatus());
+            timelineService.recordLifecycleEvent(event);
+        });
+        return saved;
+    }
+    
+    /**
+     * Drop cached statistics now and again after the current transaction commits, so a
+     * read racing the write cannot keep pre-commit counts cached
+     */
+    private void invalidateStatistics() {
+        statisticsVersion.incrementAndGet();
+        cachedStatistics = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statisticsVersion.incrementAndGet();
+                    cachedStatistics = null;
+                }
+            });
+        }
+    }
+    
+    /**
+     * Have the overdue timer reload its schedule once the current transaction commits, so
+     * the reload sees rows inserted without going through schedule()
+     */
+    private void resyncOverdueTimerAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    overdueTimer.requestResync();
+                }
+            });
+        } else {
+            overdueTimer.requestResync();
+        }
+    }
+    
+    private static final class CachedStatistics {
+        private final Map<String, Object> stats;
+        private final long expiresAt;
+        
+        private CachedStatistics(Map<String, Object> stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    // Workflow Templates
+    
+    /**
+     * Create the events of a workflow template for one employee, anchored on the given
+     * date. Steps already created for the same template and anchor date are skipped.
+     */
+    public List<EmployeeLifecycleEvent> instantiateWorkflow(String templateCode, Long employeeId, LocalDate anchorDate, Long createdBy) {
+        User employee = userRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", employeeId));
+        WorkflowTemplate template = workflowTemplateService.getTemplate(templateCode);
+        return saveEvents(buildWorkflowEvents(template, employee, anchorDate, createdBy));
+    }
+    
+    /**
+     * Create the events of a workflow template for a whole cohort in one statement.
+     * Each employee is anchored on the given date, or on their own hire date when none
+     * is given; employees that do not exist or have no anchor date are skipped. The
+     * cycle key makes a repeated request insert nothing twice.
+     */
+    public Map<String, Object> instantiateWorkflowForCohort(String templateCode, List<Long> employeeIds,
+                                                            LocalDate anchorDate, Long createdBy) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new BadRequestException("At least one employee id is required");
+        }
+        Long[] ids = employeeIds.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (ids.length > maxCohortSize) {
+            throw new BadRequestException("A cohort can have at most " + maxCohortSize + " employees");
+        }
+        WorkflowTemplate template = workflowTemplateService.getTemplate(templateCode);
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // employee id, event type, event date, due date, description, priority, cycle key
+        List<Object[]> batch = new ArrayList<>();
+        Set<Long> found = new HashSet<>();
+        List<Long> skipped = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(COHORT_EMPLOYEES_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> {
+            long employeeId = rs.getLong("id");
+            found.add(employeeId);
+            Date hireDate = rs.getDate("hire_date");
+            LocalDate anchor = anchorDate != null ? anchorDate : (hireDate != null ? hireDate.toLocalDate() : null);
+            if (anchor == null) {
+                skipped.add(employeeId);
+                return;
+            }
+            String employeeName = rs.getString("first_name") + " " + rs.getString("last_name");
+            String cycleKey = workflowTemplateService.cycleKey(template, anchor);
+            for (WorkflowTemplateStep step : template.getSteps()) {
+                LocalDate eventDate = workflowTemplateService.eventDate(step, anchor);
+                LocalDate dueDate = workflowTemplateService.dueDate(step, eventDate);
+                batch.add(new Object[] {
+                        employeeId, step.getEventType().name(), Date.valueOf(eventDate),
+                        dueDate != null ? Date.valueOf(dueDate) : null,
+                        workflowTemplateService.description(step, employeeName),
+                        workflowTemplateService.priority(step), cycleKey
+                });
+            }
+        });
+        for (Long id : ids) {
+            if (!found.contains(id)) {
+                skipped.add(id);
+            }
+        }
+        
+        long created = 0;
+        if (!batch.isEmpty()) {
+            invalidateStatistics();
+            List<Long> inserted = jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(COHORT_INSERT_SQL);
+                ps.setString(1, EventStatus.PENDING.name());
+                ps.setTimestamp(2, now);
+                ps.setObject(3, createdBy, Types.BIGINT);
+                ps.setArray(4, connection.createArrayOf("bigint", column(batch, 0)));
+                ps.setArray(5, connection.createArrayOf("varchar", column(batch, 1)));
+                ps.setArray(6, connection.createArrayOf("date", column(batch, 2)));
+                ps.setArray(7, connection.createArrayOf("date", column(batch, 3)));
+                ps.setArray(8, connection.createArrayOf("text", column(batch, 4)));
+                ps.setArray(9, connection.createArrayOf("integer", column(batch, 5)));
+                ps.setArray(10, connection.createArrayOf("varchar", column(batch, 6)));
+                return ps;
+            }, (rs, rowNum) -> rs.getLong("id"));
+            created = inserted.size();
+            if (created > 0) {
+                resyncOverdueTimerAfterCommit();
+                // Deferred to after commit by the timeline service itself
+                found.forEach(timelineService::evict);
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("template", template.getCode());
+        result.put("employees", ids.length - skipped.size());
+        result.put("eventsPlanned", batch.size());
+        result.put("eventsCreated", created);
+        result.put("skippedEmployeeIds", skipped);
+        return result;
+    }
+    
+    private static Object[] column(List<Object[]> rows, int index) {
+        return rows.stream().map(row -> row[index]).toArray();
+    }
+    
+    /**
+     * Build the events of a template for one employee, leaving out steps that already
+     * exist for the same anchor date
+     */
+    private List<EmployeeLifecycleEvent> buildWorkflowEvents(WorkflowTemplate template, User employee,
+                                                            LocalDate anchorDate, Long createdBy) {
+        String cycleKey = workflowTemplateService.cycleKey(template, anchorDate);
+        List<LifecycleEventType> existing = lifecycleEventRepository.findEventTypesInCycle(employee.getId(), cycleKey);
+        
+        List<EmployeeLifecycleEvent> events = new ArrayList<>();
+        for (WorkflowTemplateStep step : template.getSteps()) {
+            if (existing.contains(step.getEventType())) {
+                continue;
+            }
+            LocalDate eventDate = workflowTemplateService.eventDate(step, anchorDate);
+            EmployeeLifecycleEvent event = new EmployeeLifecycleEvent(employee, step.getEventType(), eventDate);
+            event.setDescription(workflowTemplateService.description(step, employee.getFullName()));
+            event.setDueDate(workflowTemplateService.dueDate(step, eventDate));
+            event.setPriority(workflowTemplateService.priority(step));
+            event.setCreatedBy(createdBy);
+            event.setCycleKey(cycleKey);
+            events.add(event);
+        }
+        return events;
+    }
+    
     /**
      * Search lifecycle events
      */
-    public List<EmployeeLifecycleEvent> searchEvents(String searchTerm) {
-        return lifecycleEventRepository.searchEvents(searchTerm);
+    public Page<LifecycleEventSummary> searchEvents(String searchTerm, int page, int size) {
+        return withNames(lifecycleEventRepository.searchSummaries(searchTerm, pageRequest(page, size)));
     }
     
     /**
      * Get all events with pagination
      */
-    public Page<EmployeeLifecycleEvent> getAllEvents(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return lifecycleEventRepository.findAllByOrderByCreatedAtDesc(pageable);
+    public Page<LifecycleEventSummary> getAllEvents(int page, int size) {
+        return withNames(lifecycleEventRepository.findSummaries(pageRequest(page, size)));
     }
     
     /**
      * Get events by status with pagination
      */
-    public Page<EmployeeLifecycleEvent> getEventsByStatus(EventStatus status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return lifecycleEventRepository.findByStatusOrderByDueDateAsc(status, pageable);
+    public Page<LifecycleEventSummary> getEventsByStatus(EventStatus status, int page, int size) {
+        return withNames(lifecycleEventRepository.findSummariesByStatus(status, pageRequest(page, size)));
+    }
+    
+    private Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)));
+    }
+    
+    /**
+     * Fill in assignee and creator names for a page of summaries with one lookup
+     */
+    private Page<LifecycleEventSummary> withNames(Page<LifecycleEventSummary> page) {
+        Set<Long> userIds = new HashSet<>();
+        for (LifecycleEventSummary summary : page.getContent()) {
+            if (summary.getAssignedTo() != null) {
+                userIds.add(summary.getAssignedTo());
+            }
+            if (summary.getCreatedBy() != null) {
+                userIds.add(summary.getCreatedBy());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return page;
+        }
+        
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : userRepository.findNamesByIdIn(userIds)) {
+            names.put((Long) row[0], row[1] + " " + row[2]);
+        }
+        for (LifecycleEventSummary summary : page.getContent()) {
+            summary.setAssignedToName(names.get(summary.getAssignedTo()));
+            summary.setCreatedByName(names.get(summary.getCreatedBy()));
+        }
+        return page;
     }
 }
\ No newline at end of file
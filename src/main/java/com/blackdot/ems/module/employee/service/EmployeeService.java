@@ -361,7 +361,11 @@ public class EmployeeService {
         }
     }
     
-    private EmployeeResponse convertToResponse(User user) {
+    /**
+     * Convert a User to its response (also used for reconstructed, detached users by
+     * EmployeeHistoryService)
+     */
+    public EmployeeResponse convertToResponse(User user) {
         Set<String> roleNames = user.getRoles().stream()
                 .map(role -> role.getName().name().replace("ROLE_", ""))
                 .collect(Collectors.toSet());
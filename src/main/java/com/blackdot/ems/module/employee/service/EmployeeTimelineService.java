@@ -0,0 +1,287 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.dto.AuditFeedEvent;
+import com.blackdot.ems.module.employee.dto.TimelineEntry;
+import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.scheduler.AnnualReviewCycleJob;
+import com.blackdot.ems.module.employee.scheduler.ContractRenewalReminderJob;
+import com.blackdot.ems.shared.entity.AssessmentResult;
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.blackdot.ems.shared.entity.EmployeeLifecycleEvent;
+import com.blackdot.ems.shared.entity.LifecycleEventType;
+import com.blackdot.ems.shared.entity.Task;
+import com.blackdot.ems.shared.entity.TaskStatus;
+import com.blackdot.ems.shared.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employee Timeline Service
+ * Merges an employee's lifecycle events, status changes, completed assessments and
+ * completed tasks into one list, newest first, capped at the most recent entries.
+ * Timelines are built with a single bounded query and kept in an LRU cache. Writes
+ * through the lifecycle, task and assessment services and committed status-change
+ * audits update cached timelines in place after commit; bulk writers that bypass
+ * those services (review cycle, contract reminders, overdue timer) evict instead.
+ */
+@Service
+public class EmployeeTimelineService {
+
+    // Each source contributes at most the limit, so the merge never reads more than 4x the limit
+    private static final String TIMELINE_SQL =
+            "(SELECT 'LIFECYCLE_EVENT' AS source, e.id AS reference_id, CAST(e.event_date AS timestamp) AS occurred_at," +
+            "        e.event_type AS title, e.description AS description, e.status AS status" +
+            "   FROM employee_lifecycle_events e WHERE e.employee_id = ?" +
+            "   ORDER BY e.event_date DESC, e.id DESC LIMIT ?) " +
+            "UNION ALL " +
+            "(SELECT 'STATUS_CHANGE', a.id, a.performed_at, a.action, a.description, NULL" +
+            "   FROM employee_audit_trail a WHERE a.employee_id = ? AND a.action = 'STATUS_CHANGED'" +
+            "   ORDER BY a.performed_at DESC LIMIT ?) " +
+            "UNION ALL " +
+            "(SELECT 'ASSESSMENT', r.id, r.completed_at, s.title, 'Score ' || COALESCE(r.score, 0) || '%'," +
+            "        CASE WHEN r.passed THEN 'PASSED' ELSE 'FAILED' END" +
+            "   FROM assessment_results r JOIN assessments s ON s.id = r.assessment_id" +
+            "   WHERE r.user_id = ? AND r.completed_at IS NOT NULL" +
+            "   ORDER BY r.completed_at DESC LIMIT ?) " +
+            "UNION ALL " +
+            "(SELECT 'TASK', t.id, t.completed_at, t.title, t.description, t.status" +
+            "   FROM tasks t WHERE t.assigned_to_id = ? AND t.status = 'COMPLETED' AND t.completed_at IS NOT NULL" +
+            "   ORDER BY t.completed_at DESC LIMIT ?) " +
+            "ORDER BY occurred_at DESC, reference_id DESC LIMIT ?";
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntry::getOccurredAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TimelineEntry::getReferenceId, Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditEventBuffer auditEventBuffer;
+
+    @Autowired
+    private AnnualReviewCycleJob annualReviewCycleJob;
+
+    @Autowired
+    private ContractRenewalReminderJob contractRenewalReminderJob;
+
+    @Autowired
+    private LifecycleOverdueTimer overdueTimer;
+
+    @Value("${app.lifecycle.timeline.max-entries:200}")
+    private int maxEntries;
+
+    @Value("${app.lifecycle.timeline.cache-size:1000}")
+    private int cacheSize;
+
+    // Guarded by itself; access-ordered, so the least recently viewed timeline goes first
+    private final Map<Long, List<TimelineEntry>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<TimelineEntry>> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    // Bumped on every change; a timeline loaded across a change is returned but not cached
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        auditEventBuffer.addListener(this::onAuditEvents);
+        annualReviewCycleJob.addChunkListener(this::evictAll);
+        contractRenewalReminderJob.addRunListener(this::evictAll);
+        overdueTimer.addOverdueListener(this::evictAll);
+    }
+
+    /**
+     * Get an employee's timeline, newest first
+     */
+    public List<TimelineEntry> getTimeline(Long employeeId) {
+        synchronized (cache) {
+            List<TimelineEntry> cached = cache.get(employeeId);
+            if (cached != null) {
+                return Collections.unmodifiableList(new ArrayList<>(cached));
+            }
+        }
+        if (!userRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee", "id", employeeId);
+        }
+
+        long loadVersion = version.get();
+        List<TimelineEntry> loaded = load(employeeId);
+        synchronized (cache) {
+            if (version.get() == loadVersion) {
+                cache.put(employeeId, loaded);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(loaded));
+    }
+
+    /**
+     * Reflect a saved lifecycle event in the employee's timeline after commit
+     */
+    public void recordLifecycleEvent(EmployeeLifecycleEvent event) {
+        TimelineEntry entry = new TimelineEntry(TimelineEntry.LIFECYCLE_EVENT, event.getId(),
+                event.getEventDate().atStartOfDay(), event.getEventType().getDisplayName(),
+                event.getDescription(), event.getStatus() != null ? event.getStatus().name() : null);
+        Long employeeId = event.getEmployee().getId();
+        afterCommit(() -> upsert(employeeId, entry));
+    }
+
+    /**
+     * Reflect a saved task in its assignee's timeline after commit; only completed
+     * tasks appear on the timeline
+     */
+    public void recordTask(Task task) {
+        if (task.getAssignedTo() == null) {
+            return;
+        }
+        Long employeeId = task.getAssignedTo().getId();
+        if (task.getStatus() == TaskStatus.COMPLETED && task.getCompletedAt() != null) {
+            TimelineEntry entry = new TimelineEntry(TimelineEntry.TASK, task.getId(), task.getCompletedAt(),
+                    task.getTitle(), task.getDescription(), task.getStatus().name());
+            afterCommit(() -> upsert(employeeId, entry));
+        } else {
+            afterCommit(() -> remove(employeeId, TimelineEntry.TASK, task.getId()));
+        }
+    }
+
+    /**
+     * Drop a deleted task from its assignee's timeline after commit
+     */
+    public void removeTask(Task task) {
+        if (task.getAssignedTo() != null) {
+            Long employeeId = task.getAssignedTo().getId();
+            afterCommit(() -> remove(employeeId, TimelineEntry.TASK, task.getId()));
+        }
+    }
+
+    /**
+     * Reflect a completed assessment in the employee's timeline after commit
+     */
+    public void recordAssessmentResult(AssessmentResult result) {
+        if (result.getCompletedAt() == null) {
+            return;
+        }
+        TimelineEntry entry = new TimelineEntry(TimelineEntry.ASSESSMENT, result.getId(), result.getCompletedAt(),
+                result.getAssessment().getTitle(),
+                "Score " + (result.getScore() != null ? result.getScore() : 0) + "%",
+                Boolean.TRUE.equals(result.getPassed()) ? "PASSED" : "FAILED");
+        Long employeeId = result.getUser().getId();
+        afterCommit(() -> upsert(employeeId, entry));
+    }
+
+    /**
+     * Drop an employee's cached timeline (after writes that are not reflected entry by entry)
+     */
+    public void evict(Long employeeId) {
+        afterCommit(() -> {
+            version.incrementAndGet();
+            synchronized (cache) {
+                cache.remove(employeeId);
+            }
+        });
+    }
+
+    public void evictAll() {
+        version.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    // Helper methods
+
+    private List<TimelineEntry> load(Long employeeId) {
+        List<TimelineEntry> entries = new ArrayList<>();
+        jdbcTemplate.query(TIMELINE_SQL, rs -> {
+            String source = rs.getString("source");
+            String title = rs.getString("title");
+            if (TimelineEntry.LIFECYCLE_EVENT.equals(source)) {
+                title = LifecycleEventType.valueOf(title).getDisplayName();
+            } else if (TimelineEntry.STATUS_CHANGE.equals(source)) {
+                title = AuditAction.valueOf(title).getDisplayName();
+            }
+            Timestamp occurredAt = rs.getTimestamp("occurred_at");
+            entries.add(new TimelineEntry(source, rs.getLong("reference_id"),
+                    occurredAt != null ? occurredAt.toLocalDateTime() : null,
+                    title, rs.getString("description"), rs.getString("status")));
+        }, employeeId, maxEntries, employeeId, maxEntries, employeeId, maxEntries, employeeId, maxEntries, maxEntries);
+        return entries;
+    }
+
+    private void onAuditEvents(List<AuditFeedEvent> events) {
+        for (AuditFeedEvent event : events) {
+            if (event.getAction() == AuditAction.STATUS_CHANGED && event.getEmployeeId() != null) {
+                upsert(event.getEmployeeId(), new TimelineEntry(TimelineEntry.STATUS_CHANGE, event.getId(),
+                        event.getPerformedAt(), AuditAction.STATUS_CHANGED.getDisplayName(),
+                        event.getDescription(), null));
+            }
+        }
+    }
+
+    /**
+     * Replace or insert an entry in a cached timeline, keeping the order and the cap
+     */
+    private void upsert(Long employeeId, TimelineEntry entry) {
+        version.incrementAndGet();
+        synchronized (cache) {
+            List<TimelineEntry> entries = cache.get(employeeId);
+            if (entries == null) {
+                return;
+            }
+            entries.removeIf(existing -> existing.isSameItem(entry.getSource(), entry.getReferenceId()));
+            int index = Collections.binarySearch(entries, entry, NEWEST_FIRST);
+            entries.add(index < 0 ? -index - 1 : index, entry);
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.size() - 1);
+            }
+        }
+    }
+
+    private void remove(Long employeeId, String source, Long referenceId) {
+        version.incrementAndGet();
+        synchronized (cache) {
+            List<TimelineEntry> entries = cache.get(employeeId);
+            if (entries == null) {
+                return;
+            }
+            boolean full = entries.size() >= maxEntries;
+            if (entries.removeIf(existing -> existing.isSameItem(source, referenceId)) && full) {
+                // An older entry beyond the cap would now be visible; reload it next time
+                cache.remove(employeeId);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
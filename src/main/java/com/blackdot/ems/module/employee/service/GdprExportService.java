@@ -0,0 +1,213 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.shared.entity.AuditAction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GDPR Export Service
+ * Streams everything held about one employee as NDJSON: profile and roles, audit
+ * trail (hot and archived), lifecycle events, history snapshots, assessment results, answers and tasks.
+ * Every section is read through a server-side cursor inside one read-only
+ * repeatable-read transaction, so the export is a consistent snapshot and memory use
+ * does not depend on how much history the employee has.
+ *
+ * Each line is {"type": ..., "data": {...}}; the first line is the export header and
+ * the last one a summary with per-section counts. Rows about other employees that the
+ * subject only performed, approved or assigned are reduced to the subject's role and time.
+ */
+@Service
+public class GdprExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GdprExportService.class);
+
+    // Never exported: credentials and derived search data
+    private static final Set<String> EXCLUDED_COLUMNS = Set.of("password", "search_vector");
+
+    private static final String PROFILE_SQL = "SELECT * FROM users WHERE id = ?";
+
+    private static final String ROLES_SQL = "SELECT r.name AS role FROM user_roles ur " +
+            "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = ?";
+
+    private static final String AUDIT_SQL = "SELECT * FROM employee_audit_trail " +
+            "WHERE employee_id = ? ORDER BY performed_at, id";
+
+    // Changes to other employees made or approved by the subject: only the subject's role and
+    // when they acted, never the other employee's values
+    private static final String AUDIT_ACTOR_SQL =
+            "SELECT id AS audit_id, 'PERFORMED' AS role, performed_at AS acted_at FROM employee_audit_trail " +
+            "WHERE performed_by = ? AND employee_id <> ? " +
+            "UNION ALL " +
+            "SELECT id, 'APPROVED', approved_at FROM employee_audit_trail " +
+            "WHERE approved_by = ? AND employee_id <> ? " +
+            "ORDER BY acted_at, audit_id";
+
+    private static final String LIFECYCLE_SQL = "SELECT * FROM employee_lifecycle_events " +
+            "WHERE employee_id = ? ORDER BY event_date, id";
+
+    private static final String SNAPSHOTS_SQL = "SELECT * FROM employee_state_snapshots " +
+            "WHERE employee_id = ? ORDER BY taken_at, id";
+
+    private static final String RESULTS_SQL = "SELECT * FROM assessment_results WHERE user_id = ? ORDER BY id";
+
+    private static final String ANSWERS_SQL = "SELECT ua.* FROM user_answers ua " +
+            "JOIN assessment_results ar ON ar.id = ua.assessment_result_id WHERE ar.user_id = ? ORDER BY ua.id";
+
+    private static final String TASKS_SQL = "SELECT * FROM tasks WHERE assigned_to_id = ? ORDER BY id";
+
+    // Tasks the subject assigned to someone else: only the subject's role and when
+    private static final String TASKS_ASSIGNED_SQL =
+            "SELECT id AS task_id, 'ASSIGNED' AS role, created_at AS acted_at FROM tasks " +
+            "WHERE assigned_by_id = ? AND (assigned_to_id IS NULL OR assigned_to_id <> ?) ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditArchiveStore archiveStore;
+
+    @Autowired
+    private EmployeeAuditService auditService;
+
+    @Value("${app.gdpr.export.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorTemplate;
+    private TransactionTemplate snapshotTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Fetch size only turns into a Postgres cursor inside a transaction
+        cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursorTemplate.setFetchSize(fetchSize);
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Build the export body for an employee. The request is audited up front, which
+     * checks the employee exists, so a missing employee is a 404, not a truncated stream.
+     */
+    public StreamingResponseBody exportEmployee(Long employeeId, Long requestedById) {
+        auditService.recordEmployeeAction(employeeId, AuditAction.GDPR_REQUEST,
+                "GDPR data-subject export generated", requestedById, null, null, null);
+
+        return outputStream -> writeExport(employeeId, outputStream);
+    }
+
+    // Helper methods
+
+    private void writeExport(Long employeeId, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null); // lines are separated by '\n' only
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("employeeId", employeeId);
+        header.put("generatedAt", LocalDateTime.now());
+        writeLine(generator, "export", header);
+
+        Map<String, Object> counts = new LinkedHashMap<>();
+        try {
+            snapshotTemplate.executeWithoutResult(status -> {
+                counts.put("profile", streamRows(generator, "profile", PROFILE_SQL, employeeId));
+                counts.put("role", streamRows(generator, "role", ROLES_SQL, employeeId));
+                counts.put("audit", streamRows(generator, "audit", AUDIT_SQL, employeeId));
+                counts.put("audit_action_by_subject", streamRows(generator, "audit_action_by_subject",
+                        AUDIT_ACTOR_SQL, employeeId, employeeId, employeeId, employeeId));
+                counts.put("lifecycle_event", streamRows(generator, "lifecycle_event", LIFECYCLE_SQL, employeeId));
+                counts.put("state_snapshot", streamRows(generator, "state_snapshot", SNAPSHOTS_SQL, employeeId));
+                counts.put("assessment_result", streamRows(generator, "assessment_result", RESULTS_SQL, employeeId));
+                counts.put("answer", streamRows(generator, "answer", ANSWERS_SQL, employeeId));
+                counts.put("task", streamRows(generator, "task", TASKS_SQL, employeeId));
+                counts.put("task_assigned_by_subject", streamRows(generator, "task_assigned_by_subject",
+                        TASKS_ASSIGNED_SQL, employeeId, employeeId));
+            });
+            counts.put("audit_archived", archiveStore.forEachEmployeeEvent(employeeId,
+                    event -> writeLine(generator, "audit_archived", event)));
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream; the transaction has already been rolled back
+            logger.warn("GDPR export for employee {} aborted: {}", employeeId, e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        writeLine(generator, "summary", counts);
+        generator.flush();
+    }
+
+    private long streamRows(JsonGenerator generator, String type, String sql, Object... args) {
+        long[] count = {0};
+        cursorTemplate.query(sql, rs -> {
+            writeLine(generator, type, toRow(rs));
+            count[0]++;
+        }, args);
+        return count[0];
+    }
+
+    private Map<String, Object> toRow(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            String name = metaData.getColumnLabel(column);
+            if (EXCLUDED_COLUMNS.contains(name)) {
+                continue;
+            }
+            Object value = rs.getObject(column);
+            if (value instanceof Timestamp timestamp) {
+                value = timestamp.toLocalDateTime();
+            } else if (value instanceof Date date) {
+                value = date.toLocalDate();
+            } else if (value != null && !(value instanceof Number) && !(value instanceof Boolean)
+                    && !(value instanceof String)) {
+                value = value.toString();
+            }
+            row.put(name, value);
+        }
+        return row;
+    }
+
+    private void writeLine(JsonGenerator generator, String type, Object data) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeFieldName("data");
+            generator.writeObject(data);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
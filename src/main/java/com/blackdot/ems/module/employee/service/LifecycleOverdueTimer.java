@@ -0,0 +1,358 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.shared.entity.EventStatus;
+import com.blackdot.ems.shared.entity.LifecycleEventType;
+import com.blackdot.ems.shared.entity.TaskPriority;
+import com.blackdot.ems.shared.entity.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Lifecycle Overdue Timer
+ * Keeps every PENDING, IN_PROGRESS or POSTPONED lifecycle event with a due date in memory,
+ * bucketed by the day it becomes overdue (the day after its due date). A single timer
+ * thread sleeps until the next bucket opens, then moves that bucket's events to
+ * OVERDUE in small batched UPDATEs and opens an in-app task for each assignee.
+ *
+ * The lifecycle service reschedules or cancels entries after each committed write.
+ * The UPDATE re-checks status and due date, so a stale entry can never mark an event
+ * wrongly. A periodic resync from the table picks up rows written outside the
+ * service, such as the annual review cycle's batch inserts; changes scheduled while
+ * it reads the table are replayed over the snapshot rather than lost.
+ */
+@Component
+public class LifecycleOverdueTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleOverdueTimer.class);
+
+    private static final String LOAD_SQL = "SELECT id, due_date FROM employee_lifecycle_events " +
+            "WHERE status IN ('PENDING', 'IN_PROGRESS', 'POSTPONED') AND due_date IS NOT NULL";
+
+    private static final String MARK_OVERDUE_SQL = "UPDATE employee_lifecycle_events SET status = 'OVERDUE', updated_at = ? " +
+            "WHERE id = ANY(?) AND status IN ('PENDING', 'IN_PROGRESS', 'POSTPONED') AND due_date < ? " +
+            "RETURNING id, employee_id, event_type, due_date, assigned_to, created_by";
+
+    private static final String NOTIFY_SQL = "INSERT INTO tasks " +
+            "(title, description, priority, status, due_date, assigned_to_id, assigned_by_id, created_at) " +
+            "SELECT ?, ? || ' for ' || u.first_name || ' ' || u.last_name || ' was due on ' || ?, ?, ?, ?, ?, ?, ? " +
+            "FROM users u WHERE u.id = ?";
+
+    // Minimum gap between resyncs requested by bulk writers
+    private static final long RESYNC_DEBOUNCE_MS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.lifecycle.overdue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.lifecycle.overdue.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.lifecycle.overdue.resync-minutes:60}")
+    private long resyncMinutes;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock: overdue-from day -> event ids, and event id -> its overdue-from day
+    private final TreeMap<LocalDate, Set<Long>> wheel = new TreeMap<>();
+    private final Map<Long, LocalDate> scheduled = new HashMap<>();
+    private boolean resyncRequested;
+    private long lastResyncMillis;
+
+    // Guarded by lock: while a resync reads the table, the latest schedule change per
+    // event (null overdue-from day = untracked), replayed over the loaded snapshot
+    private Map<Long, LocalDate> changedDuringLoad;
+
+    private final List<Runnable> overdueListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread timerThread;
+    private TransactionTemplate transactionTemplate;
+    private Counter overdueCounter;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        overdueCounter = meterRegistry.counter("ems.lifecycle.events.overdue");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        timerThread = new Thread(this::runTimer, "lifecycle-overdue-timer");
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (timerThread != null) {
+            timerThread.interrupt();
+        }
+    }
+
+    /**
+     * Called after events were moved to OVERDUE (used to drop cached lifecycle statistics)
+     */
+    public void addOverdueListener(Runnable listener) {
+        overdueListeners.add(listener);
+    }
+
+    /**
+     * Track (or re-track) an event after its creation, status change or reschedule.
+     * Inside a transaction the change applies after commit.
+     */
+    public void schedule(Long eventId, LocalDate dueDate, EventStatus status) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        LocalDate overdueFrom = dueDate != null && status != null && status.isActive() && status != EventStatus.OVERDUE
+                ? dueDate.plusDays(1) : null;
+        afterCommit(() -> {
+            synchronized (lock) {
+                track(eventId, overdueFrom);
+                if (changedDuringLoad != null) {
+                    changedDuringLoad.put(eventId, overdueFrom);
+                }
+                if (overdueFrom != null && overdueFrom.equals(wheel.firstKey())) {
+                    lock.notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reload all entries from the table soon (after writes that bypass the service)
+     */
+    public void requestResync() {
+        synchronized (lock) {
+            resyncRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Helper methods
+
+    private void runTimer() {
+        // lastResyncMillis starts at 0, so the first pass loads the table
+        while (running) {
+            try {
+                boolean resyncDue;
+                synchronized (lock) {
+                    long waitMillis = millisUntilNextWork();
+                    if (waitMillis > 0) {
+                        lock.wait(waitMillis);
+                    }
+                    long now = System.currentTimeMillis();
+                    resyncDue = (resyncRequested && now - lastResyncMillis >= RESYNC_DEBOUNCE_MS)
+                            || now - lastResyncMillis >= Duration.ofMinutes(resyncMinutes).toMillis();
+                }
+                if (resyncDue) {
+                    resync();
+                }
+                fireDueBuckets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error occurred in the lifecycle overdue timer", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    // Caller holds lock
+    private long millisUntilNextWork() {
+        long now = System.currentTimeMillis();
+        long next = lastResyncMillis + Duration.ofMinutes(resyncMinutes).toMillis();
+        if (resyncRequested) {
+            next = Math.min(next, lastResyncMillis + RESYNC_DEBOUNCE_MS);
+        }
+        if (!wheel.isEmpty()) {
+            LocalDateTime opensAt = wheel.firstKey().atStartOfDay();
+            next = Math.min(next, now + Math.max(0, Duration.between(LocalDateTime.now(), opensAt).toMillis()));
+        }
+        return Math.max(0, next - now);
+    }
+
+    private void resync() {
+        Map<Long, LocalDate> loaded = new HashMap<>();
+        synchronized (lock) {
+            changedDuringLoad = new HashMap<>();
+        }
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                loaded.put(rs.getLong("id"), rs.getDate("due_date").toLocalDate().plusDays(1));
+            });
+            synchronized (lock) {
+                wheel.clear();
+                scheduled.clear();
+                loaded.forEach(this::track);
+                // Changes committed while the snapshot was read are at least as new as it
+                changedDuringLoad.forEach(this::track);
+                resyncRequested = false;
+                lastResyncMillis = System.currentTimeMillis();
+            }
+        } finally {
+            synchronized (lock) {
+                changedDuringLoad = null;
+            }
+        }
+        logger.debug("Lifecycle overdue timer tracking {} events", loaded.size());
+    }
+
+    private void fireDueBuckets() {
+        LocalDate today = LocalDate.now();
+        List<Long> due = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<Map.Entry<LocalDate, Set<Long>>> buckets = wheel.headMap(today, true).entrySet().iterator();
+            while (buckets.hasNext()) {
+                Set<Long> ids = buckets.next().getValue();
+                due.addAll(ids);
+                ids.forEach(scheduled::remove);
+                buckets.remove();
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int marked = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            Integer count = transactionTemplate.execute(status -> markOverdue(batch, today));
+            marked += count != null ? count : 0;
+        }
+        if (marked > 0) {
+            overdueCounter.increment(marked);
+            overdueListeners.forEach(Runnable::run);
+            logger.info("Marked {} lifecycle events overdue", marked);
+        }
+    }
+
+    /**
+     * Move one batch to OVERDUE and open a task for every assignee, in one transaction
+     */
+    private int markOverdue(List<Long> batch, LocalDate today) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long[] ids = batch.toArray(new Long[0]);
+        List<Object[]> notifications = new ArrayList<>();
+        int[] marked = {0};
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(MARK_OVERDUE_SQL);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, connection.createArrayOf("bigint", ids));
+            ps.setDate(3, Date.valueOf(today));
+            return ps;
+        }, rs -> {
+            marked[0]++;
+            long assignedTo = rs.getLong("assigned_to");
+            if (rs.wasNull()) {
+                return;
+            }
+            long createdBy = rs.getLong("created_by");
+            Long assignedBy = rs.wasNull() ? assignedTo : createdBy;
+            String eventName = LifecycleEventType.valueOf(rs.getString("event_type")).getDisplayName();
+            notifications.add(new Object[] {
+                    "Overdue: " + eventName, eventName, rs.getDate("due_date").toString(),
+                    TaskPriority.HIGH.name(), TaskStatus.PENDING.name(), now, assignedTo, assignedBy, now,
+                    rs.getLong("employee_id")
+            });
+        });
+
+        if (!notifications.isEmpty()) {
+            jdbcTemplate.batchUpdate(NOTIFY_SQL, notifications);
+        }
+        return marked[0];
+    }
+
+    // Caller holds lock; a null day only untracks the event
+    private void track(Long eventId, LocalDate overdueFrom) {
+        untrack(eventId);
+        if (overdueFrom != null) {
+            wheel.computeIfAbsent(overdueFrom, day -> new HashSet<>()).add(eventId);
+            scheduled.put(eventId, overdueFrom);
+        }
+    }
+
+    // Caller holds lock
+    private void untrack(Long eventId) {
+        LocalDate overdueFrom = scheduled.remove(eventId);
+        if (overdueFrom != null) {
+            Set<Long> bucket = wheel.get(overdueFrom);
+            if (bucket != null && bucket.remove(eventId) && bucket.isEmpty()) {
+                wheel.remove(overdueFrom);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
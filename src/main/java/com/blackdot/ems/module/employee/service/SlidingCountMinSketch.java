@@ -0,0 +1,71 @@
+package com.blackdot.ems.module.employee.service;
+
+import java.util.Arrays;
+
+/**
+ * Sliding Count-Min Sketch
+ * Approximate per-key event counts over a sliding time window in fixed memory. The
+ * window is split into sub-buckets, each a count-min sketch with the same hash rows;
+ * the oldest bucket is cleared as time moves on. Estimates never undercount and
+ * overcount by at most ~e/width of the window's total events with high probability.
+ * Not thread-safe; callers synchronize.
+ */
+final class SlidingCountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long bucketMillis;
+    private final int[][][] buckets; // [bucket][row][column]
+    private final long[] bucketEpochs;
+
+    SlidingCountMinSketch(int depth, int width, int bucketCount, long bucketMillis) {
+        this.depth = depth;
+        this.width = width;
+        this.bucketMillis = bucketMillis;
+        this.buckets = new int[bucketCount][depth][width];
+        this.bucketEpochs = new long[bucketCount];
+        Arrays.fill(bucketEpochs, -1);
+    }
+
+    /**
+     * Count one event for the key and return the estimated count over the window
+     */
+    long addAndEstimate(long key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int current = (int) (epoch % buckets.length);
+        if (bucketEpochs[current] != epoch) {
+            for (int[] row : buckets[current]) {
+                Arrays.fill(row, 0);
+            }
+            bucketEpochs[current] = epoch;
+        }
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = column(key, row);
+            buckets[current][row][column]++;
+
+            long sum = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                if (epoch - bucketEpochs[bucket] < buckets.length) {
+                    sum += buckets[bucket][row][column];
+                }
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    long windowMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    // Independent hash per row: splitmix64 finalizer over the key and a row seed
+    private int column(long key, int row) {
+        long z = key + (row + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) Long.remainderUnsigned(z, width);
+    }
+}
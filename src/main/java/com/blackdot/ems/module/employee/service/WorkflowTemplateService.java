@@ -0,0 +1,179 @@
+package com.blackdot.ems.module.employee.service;
+
+import com.blackdot.ems.module.employee.repository.WorkflowTemplateRepository;
+import com.blackdot.ems.shared.entity.LifecycleCategory;
+import com.blackdot.ems.shared.entity.LifecycleEventType;
+import com.blackdot.ems.shared.entity.WorkflowTemplate;
+import com.blackdot.ems.shared.entity.WorkflowTemplateStep;
+import com.blackdot.ems.shared.exception.BadRequestException;
+import com.blackdot.ems.shared.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Workflow Template Service
+ * Manages the lifecycle workflow templates and plans their events for an anchor date.
+ * The built-in onboarding, probation and offboarding templates are created on first
+ * startup and can then be edited like any other template.
+ */
+@Service
+@Transactional
+public class WorkflowTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowTemplateService.class);
+
+    public static final String ONBOARDING = "ONBOARDING";
+    public static final String PROBATION = "PROBATION";
+    public static final String OFFBOARDING = "OFFBOARDING";
+
+    @Autowired
+    private WorkflowTemplateRepository templateRepository;
+
+    /**
+     * Create the built-in templates that do not exist yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedDefaultTemplates() {
+        try {
+            if (!templateRepository.existsByCode(ONBOARDING)) {
+                // Anchor: first day at work
+                WorkflowTemplate onboarding = new WorkflowTemplate(ONBOARDING, "Onboarding",
+                        LifecycleCategory.ONBOARDING, "First-day and onboarding events for a new hire");
+                onboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.IT_SETUP_COMPLETED, -1));
+                onboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.WORKSPACE_ASSIGNED, -1));
+                onboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.FIRST_DAY, 0));
+                onboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.ORIENTATION_SCHEDULED, 0));
+                onboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.BUDDY_ASSIGNED, 0));
+                templateRepository.save(onboarding);
+            }
+            if (!templateRepository.existsByCode(PROBATION)) {
+                // Anchor: probation start (usually the first day)
+                WorkflowTemplate probation = new WorkflowTemplate(PROBATION, "Probation",
+                        LifecycleCategory.PROBATION_TRAINING, "Probation start and 30/60/90-day reviews");
+                String description = "Probation review for {employee}";
+                probation.addStep(new WorkflowTemplateStep(LifecycleEventType.PROBATION_STARTED, 0, 0, 1, description));
+                probation.addStep(new WorkflowTemplateStep(LifecycleEventType.PROBATION_REVIEW_30, 30, 0, 1, description));
+                probation.addStep(new WorkflowTemplateStep(LifecycleEventType.PROBATION_REVIEW_60, 60, 0, 1, description));
+                probation.addStep(new WorkflowTemplateStep(LifecycleEventType.PROBATION_REVIEW_90, 90, 0, 1, description));
+                templateRepository.save(probation);
+            }
+            if (!templateRepository.existsByCode(OFFBOARDING)) {
+                // Anchor: last working day
+                WorkflowTemplate offboarding = new WorkflowTemplate(OFFBOARDING, "Offboarding",
+                        LifecycleCategory.EXIT_PROCESS, "Handover, exit interview, access and settlement before and after the last day");
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.HANDOVER_INITIATED, -14, 13, null, null));
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.EXIT_INTERVIEW_SCHEDULED, -7, 5, null, null));
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.HANDOVER_COMPLETED, -1, 0, null, null));
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.IT_EQUIPMENT_RETURNED, 0, 0, null, null));
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.ACCESS_REVOKED, 0, 0, 1, null));
+                offboarding.addStep(new WorkflowTemplateStep(LifecycleEventType.FINAL_SETTLEMENT, 0, 30, null, null));
+                templateRepository.save(offboarding);
+            }
+        } catch (Exception e) {
+            logger.error("Error occurred while creating the default workflow templates", e);
+        }
+    }
+
+    /**
+     * Get all workflow templates
+     */
+    @Transactional(readOnly = true)
+    public List<WorkflowTemplate> getAllTemplates() {
+        return templateRepository.findAllByOrderByCodeAsc();
+    }
+
+    /**
+     * Get an active workflow template by code
+     */
+    @Transactional(readOnly = true)
+    public WorkflowTemplate getTemplate(String code) {
+        WorkflowTemplate template = templateRepository.findByCode(code.toUpperCase())
+                .orElseThrow(() -> new ResourceNotFoundException("Workflow Template", "code", code));
+        if (!Boolean.TRUE.equals(template.getIsActive())) {
+            throw new BadRequestException("Workflow template " + template.getCode() + " is inactive");
+        }
+        return template;
+    }
+
+    /**
+     * Create or replace a workflow template and its steps
+     */
+    public WorkflowTemplate saveTemplate(String code, String name, String description, LifecycleCategory category,
+                                         Boolean isActive, List<WorkflowTemplateStep> steps) {
+        if (steps == null || steps.isEmpty()) {
+            throw new BadRequestException("A workflow template needs at least one step");
+        }
+        // Instances are deduplicated per employee, event type and cycle, so a repeated
+        // type would silently create only its first step
+        Set<LifecycleEventType> eventTypes = EnumSet.noneOf(LifecycleEventType.class);
+        for (WorkflowTemplateStep step : steps) {
+            if (step.getEventType() == null) {
+                throw new BadRequestException("Every workflow template step needs an event type");
+            }
+            if (!eventTypes.add(step.getEventType())) {
+                throw new BadRequestException("Workflow template steps must have distinct event types, "
+                        + step.getEventType() + " appears more than once");
+            }
+        }
+        String normalizedCode = code.toUpperCase();
+        WorkflowTemplate template = templateRepository.findByCode(normalizedCode)
+                .orElseGet(() -> new WorkflowTemplate(normalizedCode, name, category, description));
+        template.setName(name != null ? name : template.getName());
+        template.setDescription(description);
+        template.setCategory(category);
+        template.setIsActive(isActive == null || isActive);
+        template.getSteps().clear();
+        steps.forEach(template::addStep);
+        return templateRepository.save(template);
+    }
+
+    /**
+     * Event date of a step for the given anchor date
+     */
+    public LocalDate eventDate(WorkflowTemplateStep step, LocalDate anchorDate) {
+        return anchorDate.plusDays(step.getOffsetDays() != null ? step.getOffsetDays() : 0);
+    }
+
+    /**
+     * Due date of a step's event; null when neither the step nor the event type sets one
+     */
+    public LocalDate dueDate(WorkflowTemplateStep step, LocalDate eventDate) {
+        if (step.getDueOffsetDays() != null) {
+            return eventDate.plusDays(step.getDueOffsetDays());
+        }
+        int defaultDueDays = step.getEventType().getDefaultDueDays();
+        return defaultDueDays > 0 ? eventDate.plusDays(defaultDueDays) : null;
+    }
+
+    public int priority(WorkflowTemplateStep step) {
+        if (step.getPriority() != null) {
+            return step.getPriority();
+        }
+        return step.getEventType().isHighPriority() ? 1 : 2;
+    }
+
+    public String description(WorkflowTemplateStep step, String employeeName) {
+        if (step.getDescription() == null) {
+            return step.getEventType().getDescription();
+        }
+        return step.getDescription().replace("{employee}", employeeName != null ? employeeName : "employee");
+    }
+
+    /**
+     * Cycle key of events generated from a template, so the same workflow is never
+     * created twice for an employee and anchor date
+     */
+    public String cycleKey(WorkflowTemplate template, LocalDate anchorDate) {
+        return template.getCode() + ":" + anchorDate;
+    }
+}
@@ -2,6 +2,7 @@ package com.blackdot.ems.module.task.service;
 
 import com.blackdot.ems.module.department.repository.DepartmentRepository;
 import com.blackdot.ems.module.employee.repository.UserRepository;
+import com.blackdot.ems.module.employee.service.EmployeeTimelineService;
 import com.blackdot.ems.module.task.dto.CreateTaskRequest;
 import com.blackdot.ems.module.task.dto.TaskResponse;
 import com.blackdot.ems.module.task.dto.UpdateTaskRequest;
@@ -31,6 +32,9 @@ public class TaskService {
     @Autowired
     private DepartmentRepository departmentRepository;
     
+    @Autowired
+    private EmployeeTimelineService timelineService;
+    
     @Transactional
     public TaskResponse createTask(CreateTaskRequest request, User assignedBy) {
         Task task = new Task();
@@ -56,6 +60,7 @@ public class TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        timelineService.recordTask(savedTask);
         return convertToResponse(savedTask);
     }
     
@@ -87,19 +92,25 @@ public class TaskService {
         if (request.getAssignedToId() != null) {
             User assignedTo = userRepository.findById(request.getAssignedToId())
                     .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getAssignedToId()));
+            if (task.getAssignedTo() != null && !task.getAssignedTo().getId().equals(assignedTo.getId())) {
+                // Reads the previous assignee now; the entry leaves their timeline after commit
+                timelineService.removeTask(task);
+            }
             task.setAssignedTo(assignedTo);
         }
         
-        Task updatedTask = taskRepository.save(task);
+        // Flush so @PreUpdate stamps completedAt before the timeline sees the task
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        timelineService.recordTask(updatedTask);
         return convertToResponse(updatedTask);
     }
     
     @Transactional
     public void deleteTask(Long taskId) {
-        if (!taskRepository.existsById(taskId)) {
-            throw new RuntimeException("Task not found with id: " + taskId);
-        }
-        taskRepository.deleteById(taskId);
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+        taskRepository.delete(task);
+        timelineService.removeTask(task);
     }
     
     public TaskResponse getTaskById(Long taskId) {
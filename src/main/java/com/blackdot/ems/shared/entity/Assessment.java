@@ -47,6 +47,11 @@ public class Assessment {
     @Column
     private LocalDateTime deadline;
     
+    // Bumped whenever questions change; the answer key and question payload caches are keyed on it.
+    // Only the bulk increment writes it, so saving a stale entity cannot roll a bump back.
+    @Column(name = "content_version", updatable = false)
+    private Long contentVersion = 0L;
+    
     @OneToMany(mappedBy = "assessment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Question> questions = new HashSet<>();
     
@@ -100,6 +105,9 @@ public class Assessment {
     public LocalDateTime getDeadline() { return deadline; }
     public void setDeadline(LocalDateTime deadline) { this.deadline = deadline; }
     
+    public Long getContentVersion() { return contentVersion; }
+    public void setContentVersion(Long contentVersion) { this.contentVersion = contentVersion; }
+    
     public Set<Question> getQuestions() { return questions; }
     public void setQuestions(Set<Question> questions) { this.questions = questions; }
     
@@ -8,7 +8,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "assessment_results")
+@Table(name = "assessment_results", indexes = {
+        @Index(name = "idx_assessment_results_user_completed_at", columnList = "user_id, completed_at"),
+        @Index(name = "idx_assessment_results_assessment_user", columnList = "assessment_id, user_id")
+})
 public class AssessmentResult {
     
     @Id
@@ -0,0 +1,82 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Assessment Statistics
+ * Running question and attempt counters of one assessment. Updated with atomic increments
+ * in the same transaction as the questions and results they count, and checked against
+ * assessment_results by a periodic reconciliation.
+ */
+@Entity
+@Table(name = "assessment_statistics")
+public class AssessmentStatistics {
+
+    @Id
+    @Column(name = "assessment_id")
+    private Long assessmentId;
+
+    @Column(name = "question_count", nullable = false)
+    private Long questionCount = 0L;
+
+    // Every result row, including assigned or started attempts that are not completed yet
+    @Column(name = "total_attempts", nullable = false)
+    private Long totalAttempts = 0L;
+
+    @Column(name = "passed_attempts", nullable = false)
+    private Long passedAttempts = 0L;
+
+    @Column(name = "completed_attempts", nullable = false)
+    private Long completedAttempts = 0L;
+
+    @Column(name = "pending_attempts", nullable = false)
+    private Long pendingAttempts = 0L;
+
+    // Distinct users with at least one result
+    @Column(name = "employees_taken", nullable = false)
+    private Long employeesTaken = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public AssessmentStatistics() {
+    }
+
+    public AssessmentStatistics(Long assessmentId) {
+        this.assessmentId = assessmentId;
+    }
+
+    /**
+     * Percentage of attempts that passed (0 when there are no attempts)
+     */
+    public double getPassRate() {
+        return totalAttempts > 0 ? (passedAttempts * 100.0) / totalAttempts : 0.0;
+    }
+
+    // Getters and Setters
+    public Long getAssessmentId() { return assessmentId; }
+    public void setAssessmentId(Long assessmentId) { this.assessmentId = assessmentId; }
+
+    public Long getQuestionCount() { return questionCount; }
+    public void setQuestionCount(Long questionCount) { this.questionCount = questionCount; }
+
+    public Long getTotalAttempts() { return totalAttempts; }
+    public void setTotalAttempts(Long totalAttempts) { this.totalAttempts = totalAttempts; }
+
+    public Long getPassedAttempts() { return passedAttempts; }
+    public void setPassedAttempts(Long passedAttempts) { this.passedAttempts = passedAttempts; }
+
+    public Long getCompletedAttempts() { return completedAttempts; }
+    public void setCompletedAttempts(Long completedAttempts) { this.completedAttempts = completedAttempts; }
+
+    public Long getPendingAttempts() { return pendingAttempts; }
+    public void setPendingAttempts(Long pendingAttempts) { this.pendingAttempts = pendingAttempts; }
+
+    public Long getEmployeesTaken() { return employeesTaken; }
+    public void setEmployeesTaken(Long employeesTaken) { this.employeesTaken = employeesTaken; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
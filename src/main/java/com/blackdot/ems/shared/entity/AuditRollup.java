@@ -0,0 +1,67 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Audit Statistics Rollup
+ * Pre-aggregated audit event counts for one time bucket, keyed by action, category,
+ * severity, risk level and performer. Maintained incrementally as audit rows are written.
+ */
+@MappedSuperclass
+public abstract class AuditRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private AuditAction action;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private AuditCategory category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AuditSeverity severity;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "risk_level", nullable = false, length = 20)
+    private RiskLevel riskLevel;
+    
+    @Column(name = "performed_by", nullable = false)
+    private Long performedById;
+    
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+    
+    public AuditCategory getCategory() { return category; }
+    public void setCategory(AuditCategory category) { this.category = category; }
+    
+    public AuditSeverity getSeverity() { return severity; }
+    public void setSeverity(AuditSeverity severity) { this.severity = severity; }
+    
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+    
+    public Long getPerformedById() { return performedById; }
+    public void setPerformedById(Long performedById) { this.performedById = performedById; }
+    
+    public Long getEventCount() { return eventCount; }
+    public void setEventCount(Long eventCount) { this.eventCount = eventCount; }
+}
@@ -0,0 +1,13 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Daily audit statistics rollup (bucket_start truncated to the day)
+ */
+@Entity
+@Table(name = "audit_rollup_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_rollup_daily_key",
+               columnNames = {"bucket_start", "action", "category", "severity", "risk_level", "performed_by"}))
+public class AuditRollupDaily extends AuditRollup {
+}
@@ -0,0 +1,13 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Hourly audit statistics rollup (bucket_start truncated to the hour)
+ */
+@Entity
+@Table(name = "audit_rollup_hourly",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_rollup_hourly_key",
+               columnNames = {"bucket_start", "action", "category", "severity", "risk_level", "performed_by"}))
+public class AuditRollupHourly extends AuditRollup {
+}
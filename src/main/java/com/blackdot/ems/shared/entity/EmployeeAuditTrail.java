@@ -2,13 +2,20 @@ package com.blackdot.ems.shared.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Professional Audit Trail Entity
  * Tracks all significant changes and actions within the employee management system
  */
 @Entity
-@Table(name = "employee_audit_trail")
+@Table(name = "employee_audit_trail", indexes = {
+        @Index(name = "idx_audit_employee_performed_at", columnList = "employee_id, performed_at"),
+        @Index(name = "idx_audit_performer_performed_at", columnList = "performed_by, performed_at"),
+        @Index(name = "idx_audit_category_performed_at", columnList = "category, performed_at"),
+        // Includes the partition key so it can stay unique once the table is partitioned
+        @Index(name = "idx_audit_event_uid", columnList = "event_uid, performed_at", unique = true)
+})
 public class EmployeeAuditTrail {
     
     @Id
@@ -104,6 +111,10 @@ public class EmployeeAuditTrail {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // Set on rows written by the asynchronous audit writer, so replays insert them once
+    @Column(name = "event_uid", updatable = false)
+    private UUID eventUid;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -358,6 +369,14 @@ public class EmployeeAuditTrail {
         this.createdAt = createdAt;
     }
     
+    public UUID getEventUid() {
+        return eventUid;
+    }
+    
+    public void setEventUid(UUID eventUid) {
+        this.eventUid = eventUid;
+    }
+    
     // Utility methods
     public boolean isHighRisk() {
         return riskLevel == RiskLevel.HIGH || riskLevel == RiskLevel.CRITICAL;
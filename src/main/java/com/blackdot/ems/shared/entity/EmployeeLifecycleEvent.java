@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * Tracks all significant events in an employee's lifecycle
  */
 @Entity
-@Table(name = "employee_lifecycle_events")
+@Table(name = "employee_lifecycle_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_lifecycle_event_cycle",
+               columnNames = {"employee_id", "event_type", "cycle_key"}))
 public class EmployeeLifecycleEvent {
     
     @Id
@@ -58,6 +60,11 @@ public class EmployeeLifecycleEvent {
     @Column(name = "created_by")
     private Long createdBy;
     
+    // Identifies the generation run of recurring events (e.g. the annual review cycle start
+    // date); null for one-off events, which the unique key then does not restrict
+    @Column(name = "cycle_key", length = 50)
+    private String cycleKey;
+    
     // Constructors
     public EmployeeLifecycleEvent() {
         this.createdAt = LocalDateTime.now();
@@ -115,6 +122,9 @@ public class EmployeeLifecycleEvent {
     public Long getCreatedBy() { return createdBy; }
     public void setCreatedBy(Long createdBy) { this.createdBy = createdBy; }
     
+    public String getCycleKey() { return cycleKey; }
+    public void setCycleKey(String cycleKey) { this.cycleKey = cycleKey; }
+    
     // Utility methods
     public boolean isOverdue() {
         return dueDate != null && dueDate.isBefore(LocalDate.now()) && status != EventStatus.COMPLETED;
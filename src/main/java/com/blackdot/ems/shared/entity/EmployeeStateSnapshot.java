@@ -0,0 +1,54 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Employee State Snapshot Entity
+ * Full copy of an employee record at one point in time, stored as a JSON map of User
+ * property names to the same string values the field-change audit trail records.
+ * Point-in-time queries start from the nearest snapshot and replay field changes.
+ */
+@Entity
+@Table(name = "employee_state_snapshots", indexes = {
+        @Index(name = "idx_snapshot_employee_taken_at", columnList = "employee_id, taken_at")
+})
+public class EmployeeStateSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Plain id rather than an association, like the audit archive
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+    
+    @Column(name = "state", nullable = false, columnDefinition = "TEXT")
+    private String state;
+    
+    // Constructors
+    public EmployeeStateSnapshot() {
+    }
+    
+    public EmployeeStateSnapshot(Long employeeId, LocalDateTime takenAt, String state) {
+        this.employeeId = employeeId;
+        this.takenAt = takenAt;
+        this.state = state;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    
+    public LocalDateTime getTakenAt() { return takenAt; }
+    public void setTakenAt(LocalDateTime takenAt) { this.takenAt = takenAt; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+}
@@ -0,0 +1,61 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Job Checkpoint Entity
+ * Persists the progress of long-running background jobs so they can resume after a restart
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+    
+    // Next primary key (or other numeric cursor) the job will process
+    @Column(name = "position")
+    private Long position;
+    
+    // Free-form cursor for jobs that track something other than an id (dates, cycle keys)
+    @Column(name = "marker", length = 255)
+    private String marker;
+    
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public JobCheckpoint() {
+    }
+    
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+    
+    // Getters and Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+    
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    
+    public String getMarker() { return marker; }
+    public void setMarker(String marker) { this.marker = marker; }
+    
+    public LocalDateTime getRunStartedAt() { return runStartedAt; }
+    public void setRunStartedAt(LocalDateTime runStartedAt) { this.runStartedAt = runStartedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
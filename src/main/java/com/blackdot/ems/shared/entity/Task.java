@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_assigned_to_completed_at", columnList = "assigned_to_id, completed_at")
+})
 public class Task {
     
     @Id
@@ -13,7 +13,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_contract_end_date", columnList = "contract_end_date")
+})
 public class User {
     
     @Id
@@ -0,0 +1,99 @@
+package com.blackdot.ems.shared.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Workflow Template Entity
+ * Named set of lifecycle events (onboarding, probation, offboarding, ...) placed
+ * relative to an anchor date such as the start date or last working day
+ */
+@Entity
+@Table(name = "workflow_templates")
+public class WorkflowTemplate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Stable key used by the API and as the prefix of generated events' cycle key
+    @Column(name = "code", nullable = false, unique = true, length = 50)
+    private String code;
+    
+    @Column(name = "name", nullable = false)
+    private String name;
+    
+    @Column(name = "description", length = 500)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category")
+    private LifecycleCategory category;
+    
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+    
+    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OrderBy("offsetDays ASC, id ASC")
+    private List<WorkflowTemplateStep> steps = new ArrayList<>();
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public WorkflowTemplate() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public WorkflowTemplate(String code, String name, LifecycleCategory category, String description) {
+        this();
+        this.code = code;
+        this.name = name;
+        this.category = category;
+        this.description = description;
+    }
+    
+    // Utility methods
+    public void addStep(WorkflowTemplateStep step) {
+        step.setTemplate(this);
+        steps.add(step);
+    }
+    
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public LifecycleCategory getCategory() { return category; }
+    public void setCategory(LifecycleCategory category) { this.category = category; }
+    
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    
+    public List<WorkflowTemplateStep> getSteps() { return steps; }
+    public void setSteps(List<WorkflowTemplateStep> steps) { this.steps = steps; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,81 @@
+package com.blackdot.ems.shared.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * Workflow Template Step Entity
+ * One lifecycle event of a workflow template, offset in days from the anchor date
+ */
+@Entity
+@Table(name = "workflow_template_steps")
+public class WorkflowTemplateStep {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id", nullable = false)
+    private WorkflowTemplate template;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private LifecycleEventType eventType;
+    
+    // Event date = anchor date + offset (negative offsets fall before the anchor)
+    @Column(name = "offset_days", nullable = false)
+    private Integer offsetDays = 0;
+    
+    // Due date = event date + due offset; null uses the event type's default due days
+    @Column(name = "due_offset_days")
+    private Integer dueOffsetDays;
+    
+    // 1 = High, 2 = Medium, 3 = Low; null derives it from the event type
+    @Column(name = "priority")
+    private Integer priority;
+    
+    // Null uses the event type's description; "{employee}" is replaced by the full name
+    @Column(name = "description", length = 500)
+    private String description;
+    
+    // Constructors
+    public WorkflowTemplateStep() {
+    }
+    
+    public WorkflowTemplateStep(LifecycleEventType eventType, int offsetDays) {
+        this.eventType = eventType;
+        this.offsetDays = offsetDays;
+    }
+    
+    public WorkflowTemplateStep(LifecycleEventType eventType, int offsetDays, Integer dueOffsetDays,
+                                Integer priority, String description) {
+        this(eventType, offsetDays);
+        this.dueOffsetDays = dueOffsetDays;
+        this.priority = priority;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public WorkflowTemplate getTemplate() { return template; }
+    public void setTemplate(WorkflowTemplate template) { this.template = template; }
+    
+    public LifecycleEventType getEventType() { return eventType; }
+    public void setEventType(LifecycleEventType eventType) { this.eventType = eventType; }
+    
+    public Integer getOffsetDays() { return offsetDays; }
+    public void setOffsetDays(Integer offsetDays) { this.offsetDays = offsetDays; }
+    
+    public Integer getDueOffsetDays() { return dueOffsetDays; }
+    public void setDueOffsetDays(Integer dueOffsetDays) { this.dueOffsetDays = dueOffsetDays; }
+    
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -39,8 +39,8 @@ async function loadAssessment() {
         
         assessment = await assessmentResponse.json();
         
-        // Get questions
-        const questionsResponse = await fetch(`/api/assessments/${assessmentId}/questions`, {
+        // Get questions (delivery payload, without correct answers)
+        const questionsResponse = await fetch(`/api/assessments/${assessmentId}/questions/delivery`, {
             credentials: 'include'
         });
         
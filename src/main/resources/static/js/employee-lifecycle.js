@@ -149,8 +149,8 @@ async function loadOverdueEvents() {
         });
         
         if (response.ok) {
-            const events = await response.json();
-            displayEventsList(events, 'overdueEventsList', 'overdue');
+            const data = await response.json();
+            displayEventsList(data.content || [], 'overdueEventsList', 'overdue');
         }
     } catch (error) {
         console.error('Error loading overdue events:', error);
@@ -168,8 +168,8 @@ async function loadDueSoonEvents() {
         });
         
         if (response.ok) {
-            const events = await response.json();
-            displayEventsList(events, 'dueSoonEventsList', 'due-soon');
+            const data = await response.json();
+            displayEventsList(data.content || [], 'dueSoonEventsList', 'due-soon');
         }
     } catch (error) {
         console.error('Error loading due soon events:', error);
@@ -226,7 +226,7 @@ function createEventItemHTML(event, type) {
                 <div class="flex-grow-1">
                     <div class="d-flex align-items-center mb-2">
                         <div class="me-3">
-                            <h6 class="mb-0">${event.employee?.firstName || 'Unknown'} ${event.employee?.lastName || 'Employee'}</h6>
+                            <h6 class="mb-0">${event.employeeName || 'Unknown Employee'}</h6>
                             <small class="text-muted">${typeInfo.displayName || event.eventType}</small>
                         </div>
                         <span class="badge ${statusInfo.badgeClass || 'bg-secondary'} ms-auto">
@@ -405,9 +405,9 @@ function createTableRowHTML(event) {
         <tr data-event-id="${event.id}">
             <td>
                 <div>
-                    <strong>${event.employee?.firstName || 'Unknown'} ${event.employee?.lastName || 'Employee'}</strong>
+                    <strong>${event.employeeName || 'Unknown Employee'}</strong>
                     <br>
-                    <small class="text-muted">${event.employee?.email || 'No email'}</small>
+                    <small class="text-muted">${event.employeeEmail || 'No email'}</small>
                 </div>
             </td>
             <td>
@@ -418,8 +418,8 @@ function createTableRowHTML(event) {
             <td>
                 <div>
                     ${formatDate(event.dueDate)}
-                    ${event.isOverdue ? '<br><span class="badge bg-danger">Overdue</span>' : ''}
-                    ${event.isDueSoon ? '<br><span class="badge bg-warning">Due Soon</span>' : ''}
+                    ${event.overdue ? '<br><span class="badge bg-danger">Overdue</span>' : ''}
+                    ${event.dueSoon ? '<br><span class="badge bg-warning">Due Soon</span>' : ''}
                 </div>
             </td>
             <td>
@@ -431,7 +431,7 @@ function createTableRowHTML(event) {
                 <span class="badge ${getPriorityBadgeClass(event.priority)}">${event.priority || 'MEDIUM'}</span>
             </td>
             <td>
-                ${event.assignedTo ? `${event.assignedTo.firstName} ${event.assignedTo.lastName}` : 'Unassigned'}
+                ${event.assignedToName || 'Unassigned'}
             </td>
             <td>
                 <div class="btn-group btn-group-sm">
@@ -564,7 +564,8 @@ async function handleSearch() {
             });
             
             if (response.ok) {
-                lifecycleData.events = await response.json();
+                const data = await response.json();
+                lifecycleData.events = data.content || [];
                 displayEventsTable();
                 document.getElementById('eventsPagination').innerHTML = '';
             }
@@ -804,9 +805,8 @@ async function createAnnualReviewCycle() {
         });
         
         if (response.ok) {
-            const events = await response.json();
-            showSuccessAlert(`Annual review cycle created with ${events.length} events`);
-            refreshDashboard();
+            showSuccessAlert('Annual review cycle started, events are being created in the background');
+            pollAnnualReviewCycle();
         } else {
             throw new Error('Failed to create annual review cycle');
         }
@@ -816,6 +816,32 @@ async function createAnnualReviewCycle() {
     }
 }
 
+/**
+ * Poll annual review cycle progress until the background run finishes
+ */
+async function pollAnnualReviewCycle() {
+    try {
+        const response = await fetch('/api/lifecycle/performance/annual-cycle/status', {
+            headers: getAuthHeaders()
+        });
+        if (!response.ok) {
+            throw new Error('Failed to load annual review cycle status');
+        }
+        
+        const status = await response.json();
+        if (status.state === 'RUNNING') {
+            setTimeout(pollAnnualReviewCycle, 2000);
+        } else if (status.state === 'COMPLETED') {
+            showSuccessAlert(`Annual review cycle ${status.cycle} created: ${status.eventsInCycle} review events`);
+            refreshDashboard();
+        } else if (status.state === 'FAILED') {
+            showErrorAlert(`Annual review cycle stopped after ${status.processedEmployees} employees and will resume on retry`);
+        }
+    } catch (error) {
+        console.error('Error loading annual review cycle status:', error);
+    }
+}
+
 /**
  * Create contract renewal reminders
  */